@@ -1,6 +1,7 @@
 package io.github.sinri.keel.cache;
 
 import io.github.sinri.keel.cache.impl.KeelCacheGimel;
+import io.github.sinri.keel.cache.impl.KeelCacheVav;
 import io.vertx.core.Future;
 
 import javax.annotation.Nonnull;
@@ -17,6 +18,14 @@ public interface KeelAsyncEverlastingCacheInterface<K, V> {
         return new KeelCacheGimel<>();
     }
 
+    /**
+     * @return A new instance with wait-free reads and copy-on-write, for rarely written caches.
+     * @since 3.2.3
+     */
+    static <K, V> KeelAsyncEverlastingCacheInterface<K, V> createReadMostlyInstance() {
+        return new KeelCacheVav<>();
+    }
+
     default long getLockWaitMs() {
         return 100;
     }
@@ -1,11 +1,13 @@
 package io.github.sinri.keel.cache;
 
 import io.github.sinri.keel.cache.impl.KeelCacheAlef;
+import io.github.sinri.keel.cache.impl.KeelCacheDalet;
 import io.github.sinri.keel.cache.impl.KeelCacheDummy;
 import io.github.sinri.keel.facade.async.KeelAsyncKit;
 import io.vertx.core.Future;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
@@ -26,6 +28,26 @@ public interface KeelCacheInterface<K, V> {
         return new KeelCacheAlef<>();
     }
 
+    /**
+     * @param maximumSize the maximum count of entries kept in cache
+     * @return A new instance of KeelCacheInterface with bounded size, evicting by W-TinyLFU.
+     * @since 3.2.3
+     */
+    static <K, V> KeelCacheInterface<K, V> createBoundedInstance(long maximumSize) {
+        return new KeelCacheDalet<>(maximumSize);
+    }
+
+    /**
+     * @param maximumSize   the maximum count of entries kept in cache
+     * @param maximumWeight the maximum total weight of entries kept in cache, such as bytes
+     * @param weigher       to calculate the weight of one entry
+     * @return A new instance of KeelCacheInterface with bounded size and weight, evicting by W-TinyLFU.
+     * @since 3.2.3
+     */
+    static <K, V> KeelCacheInterface<K, V> createBoundedInstance(long maximumSize, long maximumWeight, @Nullable KeelCacheDalet.Weigher<K, V> weigher) {
+        return new KeelCacheDalet<>(maximumSize, maximumWeight, weigher);
+    }
+
     /**
      * @since 2.6
      */
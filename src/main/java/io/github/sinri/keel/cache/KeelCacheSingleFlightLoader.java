@@ -0,0 +1,128 @@
+package io.github.sinri.keel.cache;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import static io.github.sinri.keel.facade.KeelInstance.Keel;
+
+/**
+ * Coordinate the generating of values for cache misses, so that concurrent misses of one key share one in-flight
+ * generating, i.e. single flight, to avoid cache stampede.
+ * <p>
+ * The value generated is saved into cache before the in-flight generating is finished,
+ * so that the later readers would find it cached.
+ * A failed generating is shared by its waiters, and not cached unless {@code failureLifeInMillis} set.
+ * <p>
+ * Optionally, with {@code refreshAheadRatio} set, an alive cached value which has lived over the ratio of its life
+ * would still be served, while one generating runs in background to refresh it.
+ *
+ * @param <K> class for key
+ * @param <V> class for value
+ * @since 3.2.3
+ */
+public class KeelCacheSingleFlightLoader<K, V> {
+    private final ConcurrentMap<K, Future<V>> inFlightMap;
+    private double refreshAheadRatio = 0;
+    private long failureLifeInMillis = 0;
+
+    public KeelCacheSingleFlightLoader() {
+        this.inFlightMap = new ConcurrentHashMap<>();
+    }
+
+    public double getRefreshAheadRatio() {
+        return refreshAheadRatio;
+    }
+
+    /**
+     * @param refreshAheadRatio in (0,1) to refresh the cached value in background once it has lived so long;
+     *                          0 (by default) or not less than 1 to disable.
+     */
+    public KeelCacheSingleFlightLoader<K, V> setRefreshAheadRatio(double refreshAheadRatio) {
+        this.refreshAheadRatio = refreshAheadRatio;
+        return this;
+    }
+
+    public long getFailureLifeInMillis() {
+        return failureLifeInMillis;
+    }
+
+    /**
+     * @param failureLifeInMillis keep a failed generating for a while, to fail the readers in this period directly;
+     *                            0 (by default) for not cached.
+     */
+    public KeelCacheSingleFlightLoader<K, V> setFailureLifeInMillis(long failureLifeInMillis) {
+        this.failureLifeInMillis = failureLifeInMillis;
+        return this;
+    }
+
+    /**
+     * @return the count of keys being generated now.
+     */
+    public int getInFlightCount() {
+        return inFlightMap.size();
+    }
+
+    /**
+     * Read a value for a cache miss, by the in-flight generating for this key or a new one.
+     *
+     * @param key       key
+     * @param generator function to generate a value for given key
+     * @param saver     function to save the generated value into cache
+     * @return the generated value
+     */
+    public Future<V> load(@Nonnull K key, @Nonnull Function<K, Future<V>> generator, @Nonnull Function<V, Future<Void>> saver) {
+        Future<V> inFlight = inFlightMap.get(key);
+        if (inFlight != null) {
+            return inFlight;
+        }
+        Promise<V> promise = Promise.promise();
+        Future<V> future = promise.future();
+        inFlight = inFlightMap.putIfAbsent(key, future);
+        if (inFlight != null) {
+            return inFlight;
+        }
+
+        Future.succeededFuture()
+                .compose(v -> generator.apply(key))
+                .compose(v -> saver.apply(v).map(saved -> v))
+                .onComplete(ar -> {
+                    if (ar.failed() && failureLifeInMillis > 0) {
+                        Keel.getVertx().setTimer(failureLifeInMillis, timerID -> inFlightMap.remove(key, future));
+                    } else {
+                        inFlightMap.remove(key, future);
+                    }
+                    promise.handle(ar);
+                });
+        return future;
+    }
+
+    /**
+     * Serve the alive cached value, and start a background refresh (at most one per key) when it is old enough.
+     *
+     * @param key          key
+     * @param valueWrapper the alive cached value wrapper
+     * @param generator    function to generate a value for given key
+     * @param saver        function to save the generated value into cache
+     * @return the cached value
+     */
+    public V serve(@Nonnull K key, @Nonnull ValueWrapper<V> valueWrapper, @Nonnull Function<K, Future<V>> generator, @Nonnull Function<V, Future<Void>> saver) {
+        if (shouldRefreshAhead(valueWrapper)) {
+            load(key, generator, saver);
+        }
+        return valueWrapper.getValue();
+    }
+
+    private boolean shouldRefreshAhead(@Nonnull ValueWrapper<V> valueWrapper) {
+        if (refreshAheadRatio <= 0 || refreshAheadRatio >= 1) {
+            return false;
+        }
+        long life = valueWrapper.getDeath() - valueWrapper.getBirth();
+        long age = System.currentTimeMillis() - valueWrapper.getBirth();
+        return age >= life * refreshAheadRatio;
+    }
+}
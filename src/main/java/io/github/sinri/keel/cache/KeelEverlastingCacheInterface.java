@@ -1,5 +1,6 @@
 package io.github.sinri.keel.cache;
 
+import io.github.sinri.keel.cache.impl.KeelCacheHe;
 import io.github.sinri.keel.cache.impl.KeelCacheVet;
 
 import javax.annotation.Nonnull;
@@ -16,6 +17,14 @@ public interface KeelEverlastingCacheInterface<K, V> {
         return new KeelCacheVet<>();
     }
 
+    /**
+     * @return A new instance with wait-free reads and copy-on-write, for rarely written caches.
+     * @since 3.2.3
+     */
+    static <K, V> KeelEverlastingCacheInterface<K, V> createReadMostlyInstance() {
+        return new KeelCacheHe<>();
+    }
+
     /**
      * Save the item to cache.
      */
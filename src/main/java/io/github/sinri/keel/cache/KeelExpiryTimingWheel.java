@@ -0,0 +1,262 @@
+package io.github.sinri.keel.cache;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel to find the expired entries of caches using {@link ValueWrapper}, in seconds.
+ * <p>
+ * There are 4 levels of 64 buckets, each bucket of level N spans 64^N seconds,
+ * so that deadlines in about 194 days are placed directly;
+ * the further ones wait in the last level and are cascaded again when due.
+ * A call of {@link KeelExpiryTimingWheel#advance(Consumer)} only visits the buckets passed since the last call
+ * and the entries in them, i.e. in time proportional to the count of expiring entries, not the whole cache.
+ * <p>
+ * The cache keeps the {@link Timeout} on its entry, and calls {@link Timeout#cancel()}
+ * when the cached item is overwritten, removed or evicted; the timeout is unlinked from its bucket in O(1),
+ * so the wheel never holds more than the entries alive in the cache, whether {@code advance} runs or not.
+ * <p>
+ * Each bucket is guarded by its own lock, scheduling and cancelling could run in any thread;
+ * advancing is done by only one thread at a time, others return immediately.
+ *
+ * @param <K> class for key
+ * @param <P> class for value
+ * @since 3.2.3
+ */
+public class KeelExpiryTimingWheel<K, P> {
+    private static final int BITS_PER_LEVEL = 6;
+    private static final int BUCKETS_PER_LEVEL = 1 << BITS_PER_LEVEL;
+    private static final int BUCKET_MASK = BUCKETS_PER_LEVEL - 1;
+    private static final int LEVELS = 4;
+
+    /**
+     * The buckets of all levels, the one of index i in level N is at {@code N * BUCKETS_PER_LEVEL + i}.
+     */
+    private final List<Bucket<K, P>> buckets;
+    private final AtomicBoolean advancing = new AtomicBoolean(false);
+    /**
+     * The last second that all buckets up to it have been handled.
+     */
+    private volatile long currentSecond;
+
+    public KeelExpiryTimingWheel() {
+        this.buckets = new ArrayList<>(LEVELS * BUCKETS_PER_LEVEL);
+        for (int i = 0; i < LEVELS * BUCKETS_PER_LEVEL; i++) {
+            this.buckets.add(new Bucket<>());
+        }
+        this.currentSecond = System.currentTimeMillis() / 1000L;
+    }
+
+    /**
+     * @return the first second at which the value wrapper is dead for sure.
+     */
+    private static long deadlineSecondOf(@Nonnull ValueWrapper<?> valueWrapper) {
+        long death = valueWrapper.getDeath();
+        return death / 1000L + (death % 1000L == 0 ? 0 : 1);
+    }
+
+    private Bucket<K, P> bucketAt(int level, int index) {
+        return buckets.get(level * BUCKETS_PER_LEVEL + index);
+    }
+
+    /**
+     * Register a timeout to be reported by {@link KeelExpiryTimingWheel#advance(Consumer)} once its value wrapper dead.
+     * A timeout cancelled before or while being scheduled is never kept.
+     */
+    public void schedule(@Nonnull Timeout<K, P> timeout) {
+        place(timeout, currentSecond + 1);
+    }
+
+    /**
+     * @param nextSecond the first second whose bucket is not handled yet; overdue entries are placed there.
+     */
+    private void place(@Nonnull Timeout<K, P> timeout, long nextSecond) {
+        long deadlineSecond = Math.max(deadlineSecondOf(timeout.valueWrapper), nextSecond);
+        long delta = deadlineSecond - nextSecond;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < (1L << (BITS_PER_LEVEL * (level + 1)))) {
+                int index = (int) ((deadlineSecond >>> (BITS_PER_LEVEL * level)) & BUCKET_MASK);
+                bucketAt(level, index).add(timeout);
+                return;
+            }
+        }
+        // beyond the range of the top level: wait in the farthest bucket and be cascaded again.
+        int topLevel = LEVELS - 1;
+        long farthest = nextSecond + (1L << (BITS_PER_LEVEL * LEVELS)) - 1;
+        int index = (int) ((farthest >>> (BITS_PER_LEVEL * topLevel)) & BUCKET_MASK);
+        bucketAt(topLevel, index).add(timeout);
+    }
+
+    /**
+     * Handle all the buckets due till now, call the handler for each timeout whose value wrapper is dead.
+     *
+     * @param expiredHandler receives the timeout that was scheduled, not cancelled, and is dead now.
+     */
+    public void advance(@Nonnull Consumer<Timeout<K, P>> expiredHandler) {
+        if (!advancing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long nowSecond = System.currentTimeMillis() / 1000L;
+            long second = currentSecond;
+            while (second < nowSecond) {
+                second++;
+                for (int level = LEVELS - 1; level > 0; level--) {
+                    long span = 1L << (BITS_PER_LEVEL * level);
+                    if (second % span == 0) {
+                        int index = (int) ((second >>> (BITS_PER_LEVEL * level)) & BUCKET_MASK);
+                        cascade(bucketAt(level, index), second);
+                    }
+                }
+                currentSecond = second;
+                drain(bucketAt(0, (int) (second & BUCKET_MASK)), second, expiredHandler);
+            }
+        } finally {
+            advancing.set(false);
+        }
+    }
+
+    private void cascade(@Nonnull Bucket<K, P> bucket, long nextSecond) {
+        for (Timeout<K, P> timeout : bucket.takeAll()) {
+            if (!timeout.cancelled) {
+                place(timeout, nextSecond);
+            }
+        }
+    }
+
+    private void drain(@Nonnull Bucket<K, P> bucket, long second, @Nonnull Consumer<Timeout<K, P>> expiredHandler) {
+        for (Timeout<K, P> timeout : bucket.takeAll()) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (deadlineSecondOf(timeout.valueWrapper) > second) {
+                // scheduled concurrently with an advance and landed one round early, wait again.
+                place(timeout, second + 1);
+            } else {
+                expiredHandler.accept(timeout);
+            }
+        }
+    }
+
+    /**
+     * Remove all the scheduled entries.
+     */
+    public void clear() {
+        for (Bucket<K, P> bucket : buckets) {
+            bucket.takeAll();
+        }
+    }
+
+    /**
+     * A cached value wrapper with its key, to be kept on the cache entry and scheduled in the wheel.
+     */
+    public static final class Timeout<K, P> {
+        private final K key;
+        private final ValueWrapper<P> valueWrapper;
+        /**
+         * The bucket linking it, or null when not linked.
+         * Written with the lock of the bucket held, and read by {@link Timeout#cancel()} without.
+         */
+        @Nullable
+        private volatile Bucket<K, P> bucket;
+        private volatile boolean cancelled = false;
+        private Timeout<K, P> prev;
+        private Timeout<K, P> next;
+
+        public Timeout(@Nonnull K key, @Nonnull ValueWrapper<P> valueWrapper) {
+            this.key = key;
+            this.valueWrapper = valueWrapper;
+        }
+
+        /**
+         * For the sentinel of a bucket.
+         */
+        private Timeout() {
+            this.key = null;
+            this.valueWrapper = null;
+        }
+
+        @Nonnull
+        public K getKey() {
+            return key;
+        }
+
+        @Nonnull
+        public ValueWrapper<P> getValueWrapper() {
+            return valueWrapper;
+        }
+
+        /**
+         * Unlink from the wheel and never be reported; called when the cached item is overwritten, removed or evicted.
+         */
+        public void cancel() {
+            // the flag is set before reading the bucket, and a bucket checks it after linking,
+            // so a timeout being moved between buckets is unlinked by one side or the other.
+            cancelled = true;
+            Bucket<K, P> linkedBucket = bucket;
+            if (linkedBucket != null) {
+                linkedBucket.remove(this);
+            }
+        }
+    }
+
+    /**
+     * A doubly linked list of timeouts with a sentinel, guarded by itself.
+     */
+    private static final class Bucket<K, P> {
+        private final Timeout<K, P> sentinel = new Timeout<>();
+
+        Bucket() {
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+        }
+
+        synchronized void add(@Nonnull Timeout<K, P> timeout) {
+            timeout.prev = sentinel.prev;
+            timeout.next = sentinel;
+            sentinel.prev.next = timeout;
+            sentinel.prev = timeout;
+            timeout.bucket = this;
+            if (timeout.cancelled) {
+                unlink(timeout);
+            }
+        }
+
+        synchronized void remove(@Nonnull Timeout<K, P> timeout) {
+            if (timeout.bucket == this) {
+                unlink(timeout);
+            }
+        }
+
+        /**
+         * Unlink all the timeouts in this bucket.
+         */
+        synchronized List<Timeout<K, P>> takeAll() {
+            List<Timeout<K, P>> list = new ArrayList<>();
+            Timeout<K, P> timeout = sentinel.next;
+            while (timeout != sentinel) {
+                Timeout<K, P> next = timeout.next;
+                timeout.prev = null;
+                timeout.next = null;
+                timeout.bucket = null;
+                list.add(timeout);
+                timeout = next;
+            }
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return list;
+        }
+
+        private void unlink(@Nonnull Timeout<K, P> timeout) {
+            timeout.prev.next = timeout.next;
+            timeout.next.prev = timeout.prev;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package io.github.sinri.keel.cache.impl;
 
 import io.github.sinri.keel.cache.KeelCacheInterface;
+import io.github.sinri.keel.cache.KeelCacheSingleFlightLoader;
+import io.github.sinri.keel.cache.KeelExpiryTimingWheel;
 import io.github.sinri.keel.cache.ValueWrapper;
+import io.vertx.core.Future;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 /**
  * An implementation of KeelCacheInterface, using ConcurrentHashMap.
@@ -13,11 +18,37 @@ import java.util.concurrent.ConcurrentMap;
  * @since 2.5
  */
 public class KeelCacheAlef<K, V> implements KeelCacheInterface<K, V> {
-    private final ConcurrentMap<K, ValueWrapper<V>> map;
+    /**
+     * @since 3.2.3 the value wrapper is kept in the timeout of the expiry timing wheel, to cancel it in O(1).
+     */
+    private final ConcurrentMap<K, KeelExpiryTimingWheel.Timeout<K, V>> map;
+    /**
+     * @since 3.2.3
+     */
+    private final KeelExpiryTimingWheel<K, V> expiryTimingWheel;
+    /**
+     * @since 3.2.3
+     */
+    private final KeelCacheSingleFlightLoader<K, V> singleFlightLoader;
     private long defaultLifeInSeconds = 1000L;
 
     public KeelCacheAlef() {
         this.map = new ConcurrentHashMap<>();
+        this.expiryTimingWheel = new KeelExpiryTimingWheel<>();
+        this.singleFlightLoader = new KeelCacheSingleFlightLoader<>();
+    }
+
+    @Nullable
+    private static <K, V> ValueWrapper<V> valueWrapperOf(@Nullable KeelExpiryTimingWheel.Timeout<K, V> timeout) {
+        return timeout == null ? null : timeout.getValueWrapper();
+    }
+
+    /**
+     * @return the loader used by {@link KeelCacheAlef#read(Object, Function, long)}, to configure refresh-ahead, etc.
+     * @since 3.2.3
+     */
+    public KeelCacheSingleFlightLoader<K, V> getSingleFlightLoader() {
+        return singleFlightLoader;
     }
 
     @Override
@@ -33,12 +64,18 @@ public class KeelCacheAlef<K, V> implements KeelCacheInterface<K, V> {
 
     @Override
     public void save(@Nonnull K key, V value, long lifeInSeconds) {
-        this.map.put(key, new ValueWrapper<>(value, lifeInSeconds));
+        ValueWrapper<V> valueWrapper = new ValueWrapper<>(value, lifeInSeconds);
+        KeelExpiryTimingWheel.Timeout<K, V> timeout = new KeelExpiryTimingWheel.Timeout<>(key, valueWrapper);
+        KeelExpiryTimingWheel.Timeout<K, V> replaced = this.map.put(key, timeout);
+        if (replaced != null) {
+            replaced.cancel();
+        }
+        this.expiryTimingWheel.schedule(timeout);
     }
 
     @Override
     public V read(@Nonnull K key, V fallbackValue) {
-        ValueWrapper<V> vw = this.map.get(key);
+        ValueWrapper<V> vw = valueWrapperOf(this.map.get(key));
         if (vw == null) {
             return fallbackValue;
         }
@@ -49,26 +86,43 @@ public class KeelCacheAlef<K, V> implements KeelCacheInterface<K, V> {
         }
     }
 
+    /**
+     * @since 3.2.3 concurrent misses of one key share one generating.
+     */
+    @Override
+    public Future<V> read(@Nonnull K key, Function<K, Future<V>> generator, long lifeInSeconds) {
+        ValueWrapper<V> vw = valueWrapperOf(this.map.get(key));
+        Function<V, Future<Void>> saver = v -> {
+            this.save(key, v, lifeInSeconds);
+            return Future.succeededFuture();
+        };
+        if (vw != null && vw.isAliveNow()) {
+            return Future.succeededFuture(singleFlightLoader.serve(key, vw, generator, saver));
+        } else {
+            return singleFlightLoader.load(key, generator, saver);
+        }
+    }
+
     @Override
     public void remove(@Nonnull K key) {
-        this.map.remove(key);
+        KeelExpiryTimingWheel.Timeout<K, V> removed = this.map.remove(key);
+        if (removed != null) {
+            removed.cancel();
+        }
     }
 
     @Override
     public void removeAll() {
         this.map.clear();
+        this.expiryTimingWheel.clear();
     }
 
+    /**
+     * @since 3.2.3 only the entries due in the expiry timing wheel are checked, instead of scanning all keys.
+     */
     @Override
     public void cleanUp() {
-        this.map.keySet().forEach(key -> {
-            ValueWrapper<V> vw = this.map.get(key);
-            if (vw != null) {
-                if (!vw.isAliveNow()) {
-                    this.map.remove(key, vw);
-                }
-            }
-        });
+        this.expiryTimingWheel.advance(timeout -> this.map.remove(timeout.getKey(), timeout));
     }
 
     @Override
@@ -76,7 +130,7 @@ public class KeelCacheAlef<K, V> implements KeelCacheInterface<K, V> {
     public ConcurrentMap<K, V> getSnapshotMap() {
         ConcurrentMap<K, V> snapshot = new ConcurrentHashMap<>();
         this.map.keySet().forEach(key -> {
-            ValueWrapper<V> vw = this.map.get(key);
+            ValueWrapper<V> vw = valueWrapperOf(this.map.get(key));
             if (vw != null) {
                 if (vw.isAliveNow()) {
                     snapshot.put(key, vw.getValue());
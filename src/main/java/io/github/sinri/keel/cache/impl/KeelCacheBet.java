@@ -1,30 +1,65 @@
 package io.github.sinri.keel.cache.impl;
 
 import io.github.sinri.keel.cache.KeelAsyncCacheInterface;
+import io.github.sinri.keel.cache.KeelCacheSingleFlightLoader;
+import io.github.sinri.keel.cache.KeelExpiryTimingWheel;
 import io.github.sinri.keel.cache.ValueWrapper;
 import io.vertx.core.Future;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
 public class KeelCacheBet<K, V> implements KeelAsyncCacheInterface<K, V> {
-    private final ConcurrentMap<K, ValueWrapper<V>> map;
+    /**
+     * @since 3.2.3 the value wrapper is kept in the timeout of the expiry timing wheel, to cancel it in O(1).
+     */
+    private final ConcurrentMap<K, KeelExpiryTimingWheel.Timeout<K, V>> map;
+    /**
+     * @since 3.2.3
+     */
+    private final KeelExpiryTimingWheel<K, V> expiryTimingWheel;
+    /**
+     * @since 3.2.3
+     */
+    private final KeelCacheSingleFlightLoader<K, V> singleFlightLoader;
 
     public KeelCacheBet() {
         this.map = new ConcurrentHashMap<>();
+        this.expiryTimingWheel = new KeelExpiryTimingWheel<>();
+        this.singleFlightLoader = new KeelCacheSingleFlightLoader<>();
+    }
+
+    @Nullable
+    private static <K, V> ValueWrapper<V> valueWrapperOf(@Nullable KeelExpiryTimingWheel.Timeout<K, V> timeout) {
+        return timeout == null ? null : timeout.getValueWrapper();
+    }
+
+    /**
+     * @return the loader used by {@link KeelCacheBet#read(Object, Function, long)}, to configure refresh-ahead, etc.
+     * @since 3.2.3
+     */
+    public KeelCacheSingleFlightLoader<K, V> getSingleFlightLoader() {
+        return singleFlightLoader;
     }
 
     @Override
     public Future<Void> save(@Nonnull K key, V value, long lifeInSeconds) {
-        this.map.put(key, new ValueWrapper<>(value, lifeInSeconds));
+        ValueWrapper<V> valueWrapper = new ValueWrapper<>(value, lifeInSeconds);
+        KeelExpiryTimingWheel.Timeout<K, V> timeout = new KeelExpiryTimingWheel.Timeout<>(key, valueWrapper);
+        KeelExpiryTimingWheel.Timeout<K, V> replaced = this.map.put(key, timeout);
+        if (replaced != null) {
+            replaced.cancel();
+        }
+        this.expiryTimingWheel.schedule(timeout);
         return Future.succeededFuture();
     }
 
     @Override
     public Future<V> read(@Nonnull K key) {
-        ValueWrapper<V> vw = this.map.get(key);
+        ValueWrapper<V> vw = valueWrapperOf(this.map.get(key));
         if (vw == null || !vw.isAliveNow()) {
             return Future.failedFuture(new NotCached(key.toString()));
         }
@@ -33,7 +68,7 @@ public class KeelCacheBet<K, V> implements KeelAsyncCacheInterface<K, V> {
 
     @Override
     public Future<V> read(@Nonnull K key, V fallbackValue) {
-        ValueWrapper<V> vw = this.map.get(key);
+        ValueWrapper<V> vw = valueWrapperOf(this.map.get(key));
         if (vw == null) {
             return Future.succeededFuture(fallbackValue);
         } else {
@@ -45,46 +80,41 @@ public class KeelCacheBet<K, V> implements KeelAsyncCacheInterface<K, V> {
         }
     }
 
+    /**
+     * @since 3.2.3 concurrent misses of one key share one generating.
+     */
     @Override
     public Future<V> read(@Nonnull K key, Function<K, Future<V>> generator, long lifeInSeconds) {
-        // i.e. computeIfAbsent
-        ValueWrapper<V> vw = this.map.get(key);
+        ValueWrapper<V> vw = valueWrapperOf(this.map.get(key));
         if (vw != null && vw.isAliveNow()) {
-            return Future.succeededFuture(vw.getValue());
+            return Future.succeededFuture(singleFlightLoader.serve(key, vw, generator, v -> save(key, v, lifeInSeconds)));
         } else {
-            return generator.apply(key)
-                    .compose(v -> {
-                        return save(key, v, lifeInSeconds)
-                                .compose(saved -> {
-                                    return Future.succeededFuture(v);
-                                });
-                    });
-
+            return singleFlightLoader.load(key, generator, v -> save(key, v, lifeInSeconds));
         }
     }
 
     @Override
     public Future<Void> remove(@Nonnull K key) {
-        this.map.remove(key);
+        KeelExpiryTimingWheel.Timeout<K, V> removed = this.map.remove(key);
+        if (removed != null) {
+            removed.cancel();
+        }
         return Future.succeededFuture();
     }
 
     @Override
     public Future<Void> removeAll() {
         this.map.clear();
+        this.expiryTimingWheel.clear();
         return Future.succeededFuture();
     }
 
+    /**
+     * @since 3.2.3 only the entries due in the expiry timing wheel are checked, instead of scanning all keys.
+     */
     @Override
     public Future<Void> cleanUp() {
-        this.map.keySet().forEach(key -> {
-            ValueWrapper<V> vw = this.map.get(key);
-            if (vw != null) {
-                if (!vw.isAliveNow()) {
-                    this.map.remove(key, vw);
-                }
-            }
-        });
+        this.expiryTimingWheel.advance(timeout -> this.map.remove(timeout.getKey(), timeout));
         return Future.succeededFuture();
     }
 
@@ -92,7 +122,7 @@ public class KeelCacheBet<K, V> implements KeelAsyncCacheInterface<K, V> {
     public Future<ConcurrentMap<K, V>> getSnapshotMap() {
         ConcurrentMap<K, V> snapshot = new ConcurrentHashMap<>();
         this.map.keySet().forEach(key -> {
-            ValueWrapper<V> vw = this.map.get(key);
+            ValueWrapper<V> vw = valueWrapperOf(this.map.get(key));
             if (vw != null) {
                 if (vw.isAliveNow()) {
                     snapshot.put(key, vw.getValue());
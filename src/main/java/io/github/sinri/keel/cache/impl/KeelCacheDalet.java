@@ -0,0 +1,664 @@
+package io.github.sinri.keel.cache.impl;
+
+import io.github.sinri.keel.cache.KeelCacheInterface;
+import io.github.sinri.keel.cache.KeelCacheSingleFlightLoader;
+import io.github.sinri.keel.cache.KeelExpiryTimingWheel;
+import io.github.sinri.keel.cache.ValueWrapper;
+import io.vertx.core.Future;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A bounded implementation of KeelCacheInterface, with W-TinyLFU eviction.
+ * <p>
+ * Entries are looked up in a ConcurrentHashMap without locking;
+ * the eviction policy is split into segments by key hash, each guarded by its own lock.
+ * Every segment keeps a small admission window (LRU), a probation space and a protected space (segmented LRU),
+ * and a 4-bit Count-Min sketch of key access frequency.
+ * When a segment is over its budget, the candidate leaving the window competes with the probation victim,
+ * and the one accessed less frequently is evicted.
+ * <p>
+ * A read hit records the access only if its segment lock is free at that moment (lossy, never blocks);
+ * writes always take the segment lock. All operations are O(1) amortized.
+ * <p>
+ * The budget is defined by a maximum count of entries, and optionally a maximum total weight with a weigher,
+ * such as an estimated byte size of the value.
+ *
+ * @since 3.2.3
+ */
+public class KeelCacheDalet<K, V> implements KeelCacheInterface<K, V> {
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_ENTRIES_PER_SEGMENT = 64;
+
+    private final ConcurrentMap<K, Node<K, V>> map;
+    private final KeelExpiryTimingWheel<K, V> expiryTimingWheel;
+    private final KeelCacheSingleFlightLoader<K, V> singleFlightLoader;
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final long maximumSize;
+    private final long maximumWeight;
+    @Nullable
+    private final Weigher<K, V> weigher;
+    private long defaultLifeInSeconds = 1000L;
+
+    /**
+     * @param maximumSize the maximum count of entries kept in cache
+     */
+    public KeelCacheDalet(long maximumSize) {
+        this(maximumSize, 0, null);
+    }
+
+    /**
+     * @param maximumSize   the maximum count of entries kept in cache
+     * @param maximumWeight the maximum total weight of entries kept in cache, works only when weigher provided
+     * @param weigher       to calculate the weight of one entry; null for no weight limit
+     */
+    public KeelCacheDalet(long maximumSize, long maximumWeight, @Nullable Weigher<K, V> weigher) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize should be positive");
+        }
+        if (weigher != null && maximumWeight < 1) {
+            throw new IllegalArgumentException("maximumWeight should be positive when weigher provided");
+        }
+        this.maximumSize = maximumSize;
+        this.maximumWeight = weigher == null ? Long.MAX_VALUE : maximumWeight;
+        this.weigher = weigher;
+
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && (long) segmentCount * 2 * MIN_ENTRIES_PER_SEGMENT <= maximumSize) {
+            segmentCount <<= 1;
+        }
+        this.segmentMask = segmentCount - 1;
+        this.map = new ConcurrentHashMap<>((int) Math.min(maximumSize, 1 << 16));
+        this.expiryTimingWheel = new KeelExpiryTimingWheel<>();
+        this.singleFlightLoader = new KeelCacheSingleFlightLoader<>();
+
+        @SuppressWarnings("unchecked")
+        Segment<K, V>[] array = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            long segmentSize = maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0);
+            long segmentWeight = weigher == null
+                    ? Long.MAX_VALUE
+                    : Math.max(1, maximumWeight / segmentCount + (i < maximumWeight % segmentCount ? 1 : 0));
+            array[i] = new Segment<>(segmentSize, segmentWeight);
+        }
+        this.segments = array;
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 17;
+        h *= 0xed5ad4bb;
+        h ^= h >>> 11;
+        h *= 0xac4c1b51;
+        h ^= h >>> 15;
+        return h;
+    }
+
+    /**
+     * @return the loader used by {@link KeelCacheDalet#read(Object, Function, long)}, to configure refresh-ahead, etc.
+     */
+    public KeelCacheSingleFlightLoader<K, V> getSingleFlightLoader() {
+        return singleFlightLoader;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * @return the count of entries currently kept, including those expired but not yet removed.
+     */
+    public long estimatedSize() {
+        return map.size();
+    }
+
+    /**
+     * @return the total weight of entries currently kept; equals the count when no weigher provided.
+     */
+    public long weightedSize() {
+        long total = 0;
+        for (Segment<K, V> segment : segments) {
+            total += segment.currentWeight;
+        }
+        return total;
+    }
+
+    @Override
+    public long getDefaultLifeInSeconds() {
+        return defaultLifeInSeconds;
+    }
+
+    @Override
+    public KeelCacheInterface<K, V> setDefaultLifeInSeconds(long lifeInSeconds) {
+        defaultLifeInSeconds = lifeInSeconds;
+        return this;
+    }
+
+    private Segment<K, V> segmentFor(@Nonnull Object key) {
+        return segments[spread(key.hashCode()) & segmentMask];
+    }
+
+    private long weigh(@Nonnull K key, V value) {
+        if (weigher == null) {
+            return 1;
+        }
+        long weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("weight should not be negative");
+        }
+        return weight;
+    }
+
+    @Override
+    public void save(@Nonnull K key, V value, long lifeInSeconds) {
+        ValueWrapper<V> valueWrapper = new ValueWrapper<>(value, lifeInSeconds);
+        KeelExpiryTimingWheel.Timeout<K, V> timeout = new KeelExpiryTimingWheel.Timeout<>(key, valueWrapper);
+        long weight = weigh(key, value);
+        Segment<K, V> segment = segmentFor(key);
+        boolean admitted;
+        segment.lock.lock();
+        try {
+            admitted = segment.put(map, key, timeout, weight);
+        } finally {
+            segment.lock.unlock();
+        }
+        if (admitted) {
+            // if evicted or overwritten in the meantime, the timeout is cancelled and never linked.
+            this.expiryTimingWheel.schedule(timeout);
+        }
+    }
+
+    @Override
+    public V read(@Nonnull K key, V fallbackValue) {
+        ValueWrapper<V> vw = readAliveValueWrapper(key);
+        if (vw == null) {
+            return fallbackValue;
+        }
+        return vw.getValue();
+    }
+
+    /**
+     * @since 3.2.3 concurrent misses of one key share one generating.
+     */
+    @Override
+    public Future<V> read(@Nonnull K key, Function<K, Future<V>> generator, long lifeInSeconds) {
+        ValueWrapper<V> vw = readAliveValueWrapper(key);
+        Function<V, Future<Void>> saver = v -> {
+            this.save(key, v, lifeInSeconds);
+            return Future.succeededFuture();
+        };
+        if (vw != null) {
+            return Future.succeededFuture(singleFlightLoader.serve(key, vw, generator, saver));
+        } else {
+            return singleFlightLoader.load(key, generator, saver);
+        }
+    }
+
+    /**
+     * Find the alive value wrapper and record this access.
+     */
+    @Nullable
+    private ValueWrapper<V> readAliveValueWrapper(@Nonnull K key) {
+        Node<K, V> node = this.map.get(key);
+        Segment<K, V> segment = segmentFor(key);
+        if (node == null) {
+            if (segment.lock.tryLock()) {
+                try {
+                    segment.sketch.increment(key);
+                } finally {
+                    segment.lock.unlock();
+                }
+            }
+            return null;
+        }
+        ValueWrapper<V> vw = node.valueWrapper;
+        if (!vw.isAliveNow()) {
+            if (segment.lock.tryLock()) {
+                try {
+                    if (this.map.remove(key, node)) {
+                        segment.unlink(node);
+                    }
+                } finally {
+                    segment.lock.unlock();
+                }
+            }
+            return null;
+        }
+        if (segment.lock.tryLock()) {
+            try {
+                segment.sketch.increment(key);
+                if (node.queue != Node.DEAD) {
+                    segment.onAccess(node);
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return vw;
+    }
+
+    @Override
+    public void remove(@Nonnull K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            Node<K, V> node = this.map.remove(key);
+            if (node != null) {
+                segment.unlink(node);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.clear(map);
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        this.expiryTimingWheel.clear();
+    }
+
+    /**
+     * Remove the entries due in the expiry timing wheel, if they are still cached.
+     */
+    @Override
+    public void cleanUp() {
+        this.expiryTimingWheel.advance(timeout -> {
+            Segment<K, V> segment = segmentFor(timeout.getKey());
+            segment.lock.lock();
+            try {
+                Node<K, V> node = this.map.get(timeout.getKey());
+                if (node != null && node.timeout == timeout) {
+                    segment.evictNode(map, node);
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        });
+    }
+
+    @Override
+    @Nonnull
+    public ConcurrentMap<K, V> getSnapshotMap() {
+        ConcurrentMap<K, V> snapshot = new ConcurrentHashMap<>();
+        this.map.forEach((key, node) -> {
+            ValueWrapper<V> vw = node.valueWrapper;
+            if (vw.isAliveNow() && vw.getValue() != null) {
+                snapshot.put(key, vw.getValue());
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * To calculate the weight of an entry, which is fixed once saved.
+     */
+    @FunctionalInterface
+    public interface Weigher<K, V> {
+        long weigh(@Nonnull K key, V value);
+    }
+
+    private static final class Node<K, V> {
+        static final int DEAD = 0;
+        static final int WINDOW = 1;
+        static final int PROBATION = 2;
+        static final int PROTECTED = 3;
+
+        final K key;
+        volatile ValueWrapper<V> valueWrapper;
+        /**
+         * Of the current value wrapper, cancelled when overwritten, removed or evicted.
+         */
+        KeelExpiryTimingWheel.Timeout<K, V> timeout;
+        long weight;
+        int queue;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, ValueWrapper<V> valueWrapper, long weight) {
+            this.key = key;
+            this.valueWrapper = valueWrapper;
+            this.weight = weight;
+        }
+
+        Node(KeelExpiryTimingWheel.Timeout<K, V> timeout, long weight) {
+            this(timeout.getKey(), timeout.getValueWrapper(), weight);
+            this.timeout = timeout;
+        }
+
+        void cancelTimeout() {
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+    }
+
+    /**
+     * A doubly linked list with a sentinel, the head is the most recently used.
+     */
+    private static final class AccessOrderQueue<K, V> {
+        final Node<K, V> sentinel = new Node<>(null, null, 0);
+        long weight;
+
+        AccessOrderQueue() {
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+        }
+
+        boolean isEmpty() {
+            return sentinel.next == sentinel;
+        }
+
+        @Nullable
+        Node<K, V> peekLeastRecent() {
+            return isEmpty() ? null : sentinel.prev;
+        }
+
+        void addMostRecent(Node<K, V> node) {
+            node.next = sentinel.next;
+            node.prev = sentinel;
+            sentinel.next.prev = node;
+            sentinel.next = node;
+            weight += node.weight;
+        }
+
+        void remove(Node<K, V> node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+            weight -= node.weight;
+        }
+
+        void moveToMostRecent(Node<K, V> node) {
+            remove(node);
+            addMostRecent(node);
+        }
+
+        void clear() {
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            weight = 0;
+        }
+    }
+
+    private static final class Segment<K, V> {
+        final ReentrantLock lock = new ReentrantLock();
+        final long maximumSize;
+        final long maximumWeight;
+        final long windowMaximumWeight;
+        final long protectedMaximumWeight;
+        final AccessOrderQueue<K, V> window = new AccessOrderQueue<>();
+        final AccessOrderQueue<K, V> probation = new AccessOrderQueue<>();
+        final AccessOrderQueue<K, V> protectedQueue = new AccessOrderQueue<>();
+        final FrequencySketch sketch;
+        long currentSize;
+        long currentWeight;
+
+        Segment(long maximumSize, long maximumWeight) {
+            this.maximumSize = maximumSize;
+            this.maximumWeight = maximumWeight;
+            long budget = maximumWeight == Long.MAX_VALUE ? maximumSize : maximumWeight;
+            this.windowMaximumWeight = Math.max(1, budget / 100);
+            this.protectedMaximumWeight = (long) ((budget - windowMaximumWeight) * 0.8);
+            this.sketch = new FrequencySketch(maximumSize);
+        }
+
+        private AccessOrderQueue<K, V> queueOf(Node<K, V> node) {
+            switch (node.queue) {
+                case Node.WINDOW:
+                    return window;
+                case Node.PROBATION:
+                    return probation;
+                case Node.PROTECTED:
+                    return protectedQueue;
+                default:
+                    throw new IllegalStateException("node is not linked");
+            }
+        }
+
+        private boolean isOverflow() {
+            return currentSize > maximumSize || currentWeight > maximumWeight;
+        }
+
+        /**
+         * @return false if never admitted.
+         */
+        boolean put(ConcurrentMap<K, Node<K, V>> map, K key, KeelExpiryTimingWheel.Timeout<K, V> timeout, long weight) {
+            sketch.increment(key);
+            Node<K, V> existed = map.get(key);
+            if (existed != null) {
+                AccessOrderQueue<K, V> queue = queueOf(existed);
+                queue.remove(existed);
+                currentWeight -= existed.weight;
+                existed.cancelTimeout();
+                existed.valueWrapper = timeout.getValueWrapper();
+                existed.timeout = timeout;
+                existed.weight = weight;
+                queue.addMostRecent(existed);
+                currentWeight += weight;
+                if (existed.queue == Node.PROTECTED) {
+                    demoteProtectedOverflow();
+                }
+            } else {
+                if (weight > maximumWeight) {
+                    // never admitted, as it would flush the whole segment.
+                    return false;
+                }
+                Node<K, V> node = new Node<>(timeout, weight);
+                node.queue = Node.WINDOW;
+                window.addMostRecent(node);
+                currentSize++;
+                currentWeight += weight;
+                map.put(key, node);
+            }
+            evict(map);
+            return true;
+        }
+
+        void onAccess(Node<K, V> node) {
+            if (node.queue == Node.WINDOW) {
+                window.moveToMostRecent(node);
+            } else if (node.queue == Node.PROBATION) {
+                probation.remove(node);
+                node.queue = Node.PROTECTED;
+                protectedQueue.addMostRecent(node);
+                demoteProtectedOverflow();
+            } else if (node.queue == Node.PROTECTED) {
+                protectedQueue.moveToMostRecent(node);
+            }
+        }
+
+        private void demoteProtectedOverflow() {
+            while (protectedQueue.weight > protectedMaximumWeight) {
+                Node<K, V> demoted = protectedQueue.peekLeastRecent();
+                if (demoted == null) {
+                    break;
+                }
+                protectedQueue.remove(demoted);
+                demoted.queue = Node.PROBATION;
+                probation.addMostRecent(demoted);
+            }
+        }
+
+        /**
+         * Move the overflowed tail of window into probation as candidates,
+         * then let candidates compete with the victims at the tail of probation until the segment fits.
+         */
+        private void evict(ConcurrentMap<K, Node<K, V>> map) {
+            Node<K, V> firstCandidate = null;
+            while (window.weight > windowMaximumWeight) {
+                Node<K, V> candidate = window.peekLeastRecent();
+                if (candidate == null) {
+                    break;
+                }
+                window.remove(candidate);
+                candidate.queue = Node.PROBATION;
+                probation.addMostRecent(candidate);
+                if (firstCandidate == null) {
+                    firstCandidate = candidate;
+                }
+            }
+
+            while (isOverflow()) {
+                Node<K, V> victim = probation.peekLeastRecent();
+                Node<K, V> candidate = firstCandidate;
+                if (victim == null || candidate == null || victim == candidate || candidate.queue != Node.PROBATION) {
+                    Node<K, V> evicted = victim;
+                    if (evicted == null) {
+                        evicted = protectedQueue.peekLeastRecent();
+                    }
+                    if (evicted == null) {
+                        evicted = window.peekLeastRecent();
+                    }
+                    if (evicted == null) {
+                        break;
+                    }
+                    if (evicted == firstCandidate) {
+                        firstCandidate = null;
+                    }
+                    evictNode(map, evicted);
+                    continue;
+                }
+
+                Node<K, V> nextCandidate = candidate.prev == probation.sentinel ? null : candidate.prev;
+                if (!victim.valueWrapper.isAliveNow()) {
+                    evictNode(map, victim);
+                } else if (!candidate.valueWrapper.isAliveNow()) {
+                    evictNode(map, candidate);
+                    firstCandidate = nextCandidate;
+                } else if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                    evictNode(map, victim);
+                } else {
+                    evictNode(map, candidate);
+                    firstCandidate = nextCandidate;
+                }
+            }
+        }
+
+        void evictNode(ConcurrentMap<K, Node<K, V>> map, Node<K, V> node) {
+            map.remove(node.key, node);
+            unlink(node);
+        }
+
+        void unlink(Node<K, V> node) {
+            if (node.queue == Node.DEAD) {
+                return;
+            }
+            queueOf(node).remove(node);
+            node.queue = Node.DEAD;
+            node.cancelTimeout();
+            currentSize--;
+            currentWeight -= node.weight;
+        }
+
+        void clear(ConcurrentMap<K, Node<K, V>> map) {
+            for (AccessOrderQueue<K, V> queue : List.of(window, probation, protectedQueue)) {
+                Node<K, V> node = queue.sentinel.next;
+                while (node != queue.sentinel) {
+                    Node<K, V> next = node.next;
+                    map.remove(node.key, node);
+                    node.queue = Node.DEAD;
+                    node.cancelTimeout();
+                    node = next;
+                }
+                queue.clear();
+            }
+            currentSize = 0;
+            currentWeight = 0;
+        }
+    }
+
+    /**
+     * A Count-Min sketch with 4-bit counters, used to estimate the popularity of keys in a segment.
+     * All counters are halved once the sample size reached, so that the history ages.
+     * It is not thread-safe, and is only touched with the segment lock held.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEED = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final long ONE_MASK = 0x1111111111111111L;
+
+        private final long[] table;
+        private final int tableMask;
+        private final int sampleSize;
+        private int size;
+
+        FrequencySketch(long maximumSize) {
+            int length = 16;
+            while (length < maximumSize && length < (1 << 24)) {
+                length <<= 1;
+            }
+            this.table = new long[length];
+            this.tableMask = length - 1;
+            this.sampleSize = 10 * length;
+        }
+
+        int frequency(@Nonnull Object key) {
+            int hash = spread(key.hashCode());
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        void increment(@Nonnull Object key) {
+            int hash = spread(key.hashCode());
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                added |= incrementAt(indexOf(hash, i), start + i);
+            }
+            if (added && ++size == sampleSize) {
+                reset();
+            }
+        }
+
+        private boolean incrementAt(int i, int j) {
+            int offset = j << 2;
+            long mask = 0xfL << offset;
+            if ((table[i] & mask) != mask) {
+                table[i] += 1L << offset;
+                return true;
+            }
+            return false;
+        }
+
+        private int indexOf(int item, int i) {
+            long hash = (item + SEED[i]) * SEED[i];
+            hash += hash >>> 32;
+            return ((int) hash) & tableMask;
+        }
+
+        private void reset() {
+            int count = 0;
+            for (int i = 0; i < table.length; i++) {
+                count += Long.bitCount(table[i] & ONE_MASK);
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            size = (size - (count >>> 2)) >>> 1;
+        }
+    }
+}
@@ -40,7 +40,7 @@ public class KeelCacheGimel<K, V> implements KeelAsyncEverlastingCacheInterface<
                 .compose(ready -> {
                     try {
                         var locked = lock.tryLock(getLockWaitMs(), TimeUnit.MILLISECONDS);
-                        if (locked) {
+                        if (!locked) {
                             return Future.failedFuture("locked");
                         }
                     } catch (InterruptedException e) {
@@ -126,18 +126,23 @@ public class KeelCacheGimel<K, V> implements KeelAsyncEverlastingCacheInterface<
         return actionInLock(() -> {
             Set<K> ks = newEntries.keySet();
             map.putAll(newEntries);
-            map.keySet().forEach(k -> {
-                if (!ks.contains(k)) {
-                    map.remove(k);
-                }
-            });
+            // since 3.2.3 removing while iterating the key set directly would throw ConcurrentModificationException
+            map.keySet().retainAll(ks);
             return true;
         });
     }
 
+    /**
+     * @since 3.2.3 return a copy instead of a live view of the non-thread-safe map.
+     */
     @Override
     @Nonnull
     public Map<K, V> getSnapshotMap() {
-        return Collections.unmodifiableMap(map);
+        lock.lock();
+        try {
+            return Collections.unmodifiableMap(new HashMap<>(map));
+        } finally {
+            lock.unlock();
+        }
     }
 }
@@ -0,0 +1,123 @@
+package io.github.sinri.keel.cache.impl;
+
+import io.github.sinri.keel.cache.KeelEverlastingCacheInterface;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A copy-on-write implementation of KeelEverlastingCacheInterface, for the read-mostly cases such as configurations.
+ * <p>
+ * The entries are kept in an immutable map behind a volatile reference, so that reads are wait-free.
+ * Each write copies the map under a lock (among writers only) and publishes the new one;
+ * {@link KeelCacheHe#replaceAll(Map)} swaps the whole map at once, and readers see either the old or the new.
+ * A write costs O(n), so prefer {@link KeelCacheHe#save(Map)} to save many entries.
+ *
+ * @since 3.2.3
+ */
+public class KeelCacheHe<K, V> implements KeelEverlastingCacheInterface<K, V> {
+    private final Lock writeLock;
+    private volatile Map<K, V> map;
+
+    public KeelCacheHe() {
+        this.writeLock = new ReentrantLock();
+        this.map = Collections.emptyMap();
+    }
+
+    private void publish(@Nonnull Map<K, V> newMap) {
+        this.map = Collections.unmodifiableMap(newMap);
+    }
+
+    @Override
+    public void save(@Nonnull K k, V v) {
+        writeLock.lock();
+        try {
+            Map<K, V> copy = new HashMap<>(map);
+            copy.put(k, v);
+            publish(copy);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void save(@Nonnull Map<K, V> appendEntries) {
+        writeLock.lock();
+        try {
+            Map<K, V> copy = new HashMap<>(map);
+            copy.putAll(appendEntries);
+            publish(copy);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public V read(@Nonnull K k, V v) {
+        return map.getOrDefault(k, v);
+    }
+
+    @Override
+    public void remove(@Nonnull K key) {
+        writeLock.lock();
+        try {
+            if (map.containsKey(key)) {
+                Map<K, V> copy = new HashMap<>(map);
+                copy.remove(key);
+                publish(copy);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(@Nonnull Collection<K> keys) {
+        writeLock.lock();
+        try {
+            Map<K, V> copy = new HashMap<>(map);
+            keys.forEach(copy::remove);
+            publish(copy);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        writeLock.lock();
+        try {
+            this.map = Collections.emptyMap();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @param newEntries new map of entries, copied and swapped in atomically.
+     */
+    @Override
+    public void replaceAll(@Nonnull Map<K, V> newEntries) {
+        Map<K, V> copy = new HashMap<>(newEntries);
+        writeLock.lock();
+        try {
+            publish(copy);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return an immutable snapshot, not affected by later writes.
+     */
+    @Override
+    @Nonnull
+    public Map<K, V> getSnapshotMap() {
+        return map;
+    }
+}
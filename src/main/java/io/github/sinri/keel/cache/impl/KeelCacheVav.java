@@ -0,0 +1,69 @@
+package io.github.sinri.keel.cache.impl;
+
+import io.github.sinri.keel.cache.KeelAsyncEverlastingCacheInterface;
+import io.vertx.core.Future;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A copy-on-write implementation of KeelAsyncEverlastingCacheInterface, based on {@link KeelCacheHe}.
+ * Reads are wait-free and never fail for lock; writes never block the event loop for long as there is no lock wait.
+ *
+ * @since 3.2.3
+ */
+public class KeelCacheVav<K, V> implements KeelAsyncEverlastingCacheInterface<K, V> {
+    private final KeelCacheHe<K, V> cache;
+
+    public KeelCacheVav() {
+        this.cache = new KeelCacheHe<>();
+    }
+
+    @Override
+    public Future<Void> save(@Nonnull K k, V v) {
+        cache.save(k, v);
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<Void> save(@Nonnull Map<K, V> appendEntries) {
+        cache.save(appendEntries);
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<V> read(@Nonnull K k, V v) {
+        return Future.succeededFuture(cache.read(k, v));
+    }
+
+    @Override
+    public Future<Void> remove(@Nonnull K key) {
+        cache.remove(key);
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<Void> remove(@Nonnull Collection<K> keys) {
+        cache.remove(keys);
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<Void> removeAll() {
+        cache.removeAll();
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<Void> replaceAll(@Nonnull Map<K, V> newEntries) {
+        cache.replaceAll(newEntries);
+        return Future.succeededFuture();
+    }
+
+    @Override
+    @Nonnull
+    public Map<K, V> getSnapshotMap() {
+        return cache.getSnapshotMap();
+    }
+}
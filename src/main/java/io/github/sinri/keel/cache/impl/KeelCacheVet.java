@@ -92,19 +92,24 @@ public class KeelCacheVet<K, V> implements KeelEverlastingCacheInterface<K, V> {
         try {
             Set<K> ks = newEntries.keySet();
             map.putAll(newEntries);
-            map.keySet().forEach(k -> {
-                if (!ks.contains(k)) {
-                    map.remove(k);
-                }
-            });
+            // since 3.2.3 removing while iterating the key set directly would throw ConcurrentModificationException
+            map.keySet().retainAll(ks);
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * @since 3.2.3 return a copy instead of a live view of the non-thread-safe map.
+     */
     @Override
     @Nonnull
     public Map<K, V> getSnapshotMap() {
-        return Collections.unmodifiableMap(map);
+        lock.lock();
+        try {
+            return Collections.unmodifiableMap(new HashMap<>(map));
+        } finally {
+            lock.unlock();
+        }
     }
 }
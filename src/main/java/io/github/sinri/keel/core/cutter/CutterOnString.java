@@ -15,6 +15,7 @@ import static io.github.sinri.keel.facade.KeelInstance.Keel;
 
 /**
  * @since 3.0.19
+ * @since 3.2.3 the buffer is guarded by a local lock, not a cluster one.
  */
 @TechnicalPreview(since = "3.0.19")
 public class CutterOnString implements Cutter<String> {
@@ -53,7 +54,7 @@ public class CutterOnString implements Cutter<String> {
 
     @Override
     public void handle(Buffer piece) {
-        KeelAsyncKit.exclusivelyCall(this.cutterId, (Supplier<Future<Void>>) () -> {
+        KeelAsyncKit.exclusivelyCallLocally(this.cutterId, (Supplier<Future<Void>>) () -> {
                     buffer += piece.toString(StandardCharsets.UTF_8);
                     return Future.succeededFuture();
                 })
@@ -70,7 +71,7 @@ public class CutterOnString implements Cutter<String> {
      */
     private Future<Void> cut() {
         AtomicReference<String> component = new AtomicReference<>();
-        return KeelAsyncKit.exclusivelyCall(this.cutterId, (Supplier<Future<Void>>) () -> {
+        return KeelAsyncKit.exclusivelyCallLocally(this.cutterId, (Supplier<Future<Void>>) () -> {
                     if (buffer.length() > ptr) {
                         var rest = buffer.substring(ptr);
                         int delimiterIndex = rest.indexOf("\n\n");
@@ -1,19 +1,22 @@
 package io.github.sinri.keel.facade.async;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 
 import javax.annotation.Nonnull;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import java.util.*;
 import java.util.function.Function;
 
+import static io.github.sinri.keel.facade.KeelInstance.Keel;
+
 /**
  * @since 2.9.4
  * @since 3.0.8 Replace `CompositeFuture.XXX` with `Future.XXX`.
+ * @since 3.2.3 Add the variants with at most a certain count of items running at the same time.
  */
 public class FutureForEachParallel {
     private FutureForEachParallel() {
@@ -51,33 +54,24 @@ public class FutureForEachParallel {
     }
 
     public static <T, R> Future<ParallelResult<R>> call(@Nonnull Iterable<T> collection, @Nonnull Function<T, Future<R>> itemProcessor) {
-        // transform iterable to a temp map
-        AtomicInteger counter = new AtomicInteger(0);
-        Map<Integer, T> map = new HashMap<>();
-        collection.forEach(item -> {
-            map.put(counter.get(), item);
-            counter.getAndIncrement();
-        });
-
-        // init a ParallelResult
-        ParallelResult<R> parallelResult = new ParallelResult<>();
+        ParallelResult<R> parallelResult = new ParallelResult<>(expectedSize(collection));
 
         // each future
-        List<Future<R>> futures = new ArrayList<>();
-        map.forEach((i, e) -> {
-            Future<R> f = Future.succeededFuture()
+        List<Future<Void>> futures = new ArrayList<>();
+        int i = 0;
+        for (T e : collection) {
+            int index = i++;
+            Future<Void> f = Future.succeededFuture()
                     .compose(v -> itemProcessor.apply(e))
                     .compose(r -> {
-                        ParallelResultPart<R> rParallelResultPart = new ParallelResultPart<>(r);
-                        parallelResult.addResultPart(i, rParallelResultPart);
+                        parallelResult.addResultPart(index, new ParallelResultPart<>(r));
                         return Future.succeededFuture();
                     }, throwable -> {
-                        ParallelResultPart<R> rParallelResultPart = new ParallelResultPart<>(throwable);
-                        parallelResult.addResultPart(i, rParallelResultPart);
+                        parallelResult.addResultPart(index, new ParallelResultPart<>(throwable));
                         return Future.succeededFuture();
                     });
             futures.add(f);
-        });
+        }
 
         if (futures.isEmpty()) return Future.succeededFuture(parallelResult);
         // result
@@ -85,31 +79,103 @@ public class FutureForEachParallel {
                 .compose(c -> Future.succeededFuture(parallelResult));
     }
 
+    /**
+     * As {@link #all(Iterable, Function)}, but pull the items lazily and keep at most {@code maxInFlight} of them running;
+     * once one failed, the items not started yet are skipped and the result fails at once.
+     *
+     * @since 3.2.3
+     */
+    public static <T> Future<Void> all(@Nonnull Iterator<T> iterator, int maxInFlight, @Nonnull Function<T, Future<Void>> itemProcessor) {
+        return new BoundedParallel<>(iterator, maxInFlight, itemProcessor, BoundedParallel.Mode.ALL, null).start();
+    }
+
+    /**
+     * As {@link #any(Iterable, Function)}, but pull the items lazily and keep at most {@code maxInFlight} of them running;
+     * once one succeeded, the items not started yet are skipped and the result succeeds at once.
+     *
+     * @since 3.2.3
+     */
+    public static <T> Future<Void> any(@Nonnull Iterator<T> iterator, int maxInFlight, @Nonnull Function<T, Future<Void>> itemProcessor) {
+        return new BoundedParallel<>(iterator, maxInFlight, itemProcessor, BoundedParallel.Mode.ANY, null).start();
+    }
+
+    /**
+     * As {@link #join(Iterable, Function)}, but pull the items lazily and keep at most {@code maxInFlight} of them running;
+     * all items run, and the result fails with the first failure if any.
+     *
+     * @since 3.2.3
+     */
+    public static <T> Future<Void> join(@Nonnull Iterator<T> iterator, int maxInFlight, @Nonnull Function<T, Future<Void>> itemProcessor) {
+        return new BoundedParallel<>(iterator, maxInFlight, itemProcessor, BoundedParallel.Mode.JOIN, null).start();
+    }
+
+    /**
+     * As {@link #call(Iterable, Function)}, but pull the items lazily and keep at most {@code maxInFlight} of them running.
+     *
+     * @param expectedSize to size the result in advance, such as the size of the source collection; 0 if unknown.
+     * @since 3.2.3
+     */
+    public static <T, R> Future<ParallelResult<R>> call(@Nonnull Iterator<T> iterator, int expectedSize, int maxInFlight, @Nonnull Function<T, Future<R>> itemProcessor) {
+        ParallelResult<R> parallelResult = new ParallelResult<>(expectedSize);
+        return new BoundedParallel<>(iterator, maxInFlight, itemProcessor, BoundedParallel.Mode.RESULT, parallelResult).start()
+                .map(v -> parallelResult);
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    static int expectedSize(@Nonnull Iterable<?> iterable) {
+        if (iterable instanceof Collection) {
+            return ((Collection<?>) iterable).size();
+        }
+        return 0;
+    }
+
     /**
      * @param <R> The result type.
      * @since 3.0.8 Use a certain type R.
      */
     public static class ParallelResult<R> {
-        private final Map<Integer, ParallelResultPart<R>> map;
+        /**
+         * @since 3.2.3 an array indexed by the position of item, instead of a ConcurrentHashMap.
+         */
+        private ParallelResultPart<R>[] parts;
+        private int size;
 
         /**
          * @since 3.0.8 map changed to ConcurrentHashMap from HashMap
          */
         public ParallelResult() {
-            this.map = new ConcurrentHashMap<>();
+            this(16);
+        }
+
+        /**
+         * @param expectedSize the count of items if known, to avoid growing.
+         * @since 3.2.3
+         */
+        @SuppressWarnings("unchecked")
+        public ParallelResult(int expectedSize) {
+            this.parts = new ParallelResultPart[Math.max(1, expectedSize)];
+            this.size = 0;
         }
 
-        public int size() {
-            return this.map.size();
+        public synchronized int size() {
+            return this.size;
         }
 
-        public ParallelResult<R> addResultPart(int i, ParallelResultPart<R> parallelResultPart) {
-            this.map.put(i, parallelResultPart);
+        public synchronized ParallelResult<R> addResultPart(int i, ParallelResultPart<R> parallelResultPart) {
+            if (i >= parts.length) {
+                parts = Arrays.copyOf(parts, Math.max(i + 1, parts.length * 2));
+            }
+            if (parts[i] == null) {
+                size++;
+            }
+            parts[i] = parallelResultPart;
             return this;
         }
 
-        public ParallelResultPart<R> resultAt(int i) {
-            return this.map.get(i);
+        public synchronized ParallelResultPart<R> resultAt(int i) {
+            return i < parts.length ? parts[i] : null;
         }
 
         @Deprecated(since = "3.0.8", forRemoval = true)
@@ -148,9 +214,9 @@ public class FutureForEachParallel {
         /**
          * @since 3.0.8
          */
-        public boolean isAllSuccessful() {
-            for (var v : this.map.values()) {
-                if (v.isFailed()) {
+        public synchronized boolean isAllSuccessful() {
+            for (var v : this.parts) {
+                if (v != null && v.isFailed()) {
                     return false;
                 }
             }
@@ -187,4 +253,146 @@ public class FutureForEachParallel {
             return failed;
         }
     }
+
+    /**
+     * Run the items pulled lazily from the iterator with at most {@code maxInFlight} running,
+     * all the states touched only on the context where it started.
+     *
+     * @since 3.2.3
+     */
+    private static final class BoundedParallel<T, R> {
+        /**
+         * The most items completed synchronously in a row before yielding the context.
+         */
+        private static final int SYNC_BUDGET = 1024;
+
+        private final Iterator<T> iterator;
+        private final int maxInFlight;
+        private final Function<T, Future<R>> itemProcessor;
+        private final Mode mode;
+        private final ParallelResult<R> parallelResult;
+        private final Promise<Void> promise = Promise.promise();
+        private final Context context;
+        private int started = 0;
+        private int inFlight = 0;
+        private boolean pumping = false;
+        private boolean finished = false;
+        private Throwable firstFailure = null;
+
+        BoundedParallel(
+                @Nonnull Iterator<T> iterator,
+                int maxInFlight,
+                @Nonnull Function<T, Future<R>> itemProcessor,
+                @Nonnull Mode mode,
+                @Nullable ParallelResult<R> parallelResult
+        ) {
+            if (maxInFlight < 1) throw new IllegalArgumentException("MAX IN FLIGHT IS AT LEAST 1.");
+            this.iterator = iterator;
+            this.maxInFlight = maxInFlight;
+            this.itemProcessor = itemProcessor;
+            this.mode = mode;
+            this.parallelResult = parallelResult;
+            Context currentContext = Vertx.currentContext();
+            this.context = currentContext != null ? currentContext : Keel.getVertx().getOrCreateContext();
+        }
+
+        Future<Void> start() {
+            if (Vertx.currentContext() == context) {
+                pump();
+            } else {
+                context.runOnContext(v -> pump());
+            }
+            return promise.future();
+        }
+
+        private void pump() {
+            pumping = true;
+            try {
+                int budget = SYNC_BUDGET;
+                while (!finished && inFlight < maxInFlight && iterator.hasNext()) {
+                    if (budget-- <= 0) {
+                        context.runOnContext(v -> pump());
+                        return;
+                    }
+                    int index = started++;
+                    inFlight++;
+                    Future<R> future;
+                    try {
+                        future = itemProcessor.apply(iterator.next());
+                        if (future == null) {
+                            future = Future.failedFuture(new NullPointerException("The item processor returned null"));
+                        }
+                    } catch (Throwable throwable) {
+                        future = Future.failedFuture(throwable);
+                    }
+                    if (future.isComplete()) {
+                        settle(index, future);
+                    } else {
+                        future.onComplete(ar -> {
+                            if (Vertx.currentContext() == context) {
+                                afterSettled(index, ar);
+                            } else {
+                                context.runOnContext(v -> afterSettled(index, ar));
+                            }
+                        });
+                    }
+                }
+                if (!finished && inFlight == 0 && !iterator.hasNext()) {
+                    finish();
+                }
+            } catch (Throwable throwable) {
+                // the iterator failed
+                if (!finished) {
+                    finished = true;
+                    promise.fail(throwable);
+                }
+            } finally {
+                pumping = false;
+            }
+        }
+
+        private void afterSettled(int index, @Nonnull AsyncResult<R> ar) {
+            settle(index, ar);
+            if (!pumping) {
+                pump();
+            }
+        }
+
+        private void settle(int index, @Nonnull AsyncResult<R> ar) {
+            inFlight--;
+            if (parallelResult != null) {
+                parallelResult.addResultPart(index, ar.succeeded()
+                        ? new ParallelResultPart<>(ar.result())
+                        : new ParallelResultPart<>(ar.cause()));
+            }
+            if (finished) {
+                return;
+            }
+            if (ar.failed()) {
+                if (firstFailure == null) {
+                    firstFailure = ar.cause();
+                }
+                if (mode == Mode.ALL) {
+                    finished = true;
+                    promise.fail(ar.cause());
+                }
+            } else if (mode == Mode.ANY) {
+                finished = true;
+                promise.complete();
+            }
+        }
+
+        private void finish() {
+            finished = true;
+            if (firstFailure != null && mode != Mode.RESULT) {
+                promise.fail(firstFailure);
+            } else {
+                promise.complete();
+            }
+        }
+
+        enum Mode {
+            ALL, ANY, JOIN, RESULT
+        }
+    }
 }
@@ -1,7 +1,10 @@
 package io.github.sinri.keel.facade.async;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 
 import javax.annotation.Nonnull;
 import java.util.function.Function;
@@ -10,36 +13,100 @@ import static io.github.sinri.keel.facade.KeelInstance.Keel;
 
 
 /**
+ * Run the routine again and again until it is stopped or failed.
+ * <p>
+ * Since 3.2.3, the routines completed synchronously are run in a loop on the current context (trampolined),
+ * instead of one timer of 1 ms for each; the loop yields the context via {@code runOnContext}
+ * after a budget of iterations or time, see {@link FutureRepeat#setYieldBudget(int, long)},
+ * so that neither the stack nor the event loop is exhausted.
+ * The routines completed later continue on the context where the repeat started.
+ * A routine to wait for something should return a future completed later, such as {@link KeelAsyncKit#sleep(long)}.
+ *
  * @since 2.9.3
  */
 public class FutureRepeat {
+    private static volatile int yieldIterations = 1024;
+    private static volatile long yieldNanos = 5_000_000L;
+
     private final Function<RoutineResult, Future<Void>> routineFunction;
+    private final RoutineResult routineResult;
+    private final Promise<Void> finalPromise;
+    private final Context context;
 
-    private FutureRepeat(@Nonnull Function<RoutineResult, Future<Void>> routineFunction) {
+    private FutureRepeat(@Nonnull Function<RoutineResult, Future<Void>> routineFunction, @Nonnull Context context) {
         this.routineFunction = routineFunction;
+        this.routineResult = new RoutineResult(false);
+        this.finalPromise = Promise.promise();
+        this.context = context;
     }
 
     static Future<Void> call(@Nonnull Function<RoutineResult, Future<Void>> routineFunction) {
-        Promise<Void> promise = Promise.promise();
-        RoutineResult routineResult = new RoutineResult(false);
-        new FutureRepeat(routineFunction).routine(routineResult, promise);
-        return promise.future();
+        Context context = Vertx.currentContext();
+        if (context == null) {
+            context = Keel.getVertx().getOrCreateContext();
+        }
+        FutureRepeat futureRepeat = new FutureRepeat(routineFunction, context);
+        futureRepeat.routine();
+        return futureRepeat.finalPromise.future();
     }
 
-    private void routine(@Nonnull RoutineResult routineResult, @Nonnull Promise<Void> finalPromise) {
-        Future.succeededFuture()
-                .compose(v -> routineFunction.apply(routineResult))
-                .andThen(shouldStopAR -> {
-                    if (shouldStopAR.succeeded()) {
-                        if (routineResult.isToStop()) {
-                            finalPromise.complete();
-                        } else {
-                            Keel.getVertx().setTimer(1L, x -> routine(routineResult, finalPromise));
-                        }
+    /**
+     * @param iterations the most routines run synchronously in a row before yielding the context.
+     * @param millis     the longest time in milliseconds to run routines synchronously in a row before yielding the context.
+     * @since 3.2.3
+     */
+    public static void setYieldBudget(int iterations, long millis) {
+        yieldIterations = Math.max(1, iterations);
+        yieldNanos = Math.max(0, millis) * 1_000_000L;
+    }
+
+    private void routine() {
+        int iterationsLeft = yieldIterations;
+        long deadline = System.nanoTime() + yieldNanos;
+        while (true) {
+            Future<Void> future;
+            try {
+                future = routineFunction.apply(routineResult);
+                if (future == null) {
+                    future = Future.failedFuture(new NullPointerException("The routine returned null"));
+                }
+            } catch (Throwable throwable) {
+                future = Future.failedFuture(throwable);
+            }
+
+            if (!future.isComplete()) {
+                future.onComplete(ar -> {
+                    if (Vertx.currentContext() == context) {
+                        afterRoutine(ar);
                     } else {
-                        finalPromise.fail(shouldStopAR.cause());
+                        context.runOnContext(v -> afterRoutine(ar));
                     }
                 });
+                return;
+            }
+            if (future.failed()) {
+                finalPromise.fail(future.cause());
+                return;
+            }
+            if (routineResult.isToStop()) {
+                finalPromise.complete();
+                return;
+            }
+            if (--iterationsLeft <= 0 || System.nanoTime() >= deadline) {
+                context.runOnContext(v -> routine());
+                return;
+            }
+        }
+    }
+
+    private void afterRoutine(@Nonnull AsyncResult<Void> ar) {
+        if (ar.failed()) {
+            finalPromise.fail(ar.cause());
+        } else if (routineResult.isToStop()) {
+            finalPromise.complete();
+        } else {
+            routine();
+        }
     }
 
     public static class RoutineResult {
@@ -1,8 +1,7 @@
 package io.github.sinri.keel.facade.async;
 
-import io.github.sinri.keel.verticles.KeelVerticle;
-import io.github.sinri.keel.verticles.KeelVerticleImplPure;
 import io.vertx.core.*;
+import io.vertx.core.impl.VertxInternal;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -25,6 +24,7 @@ public interface KeelAsyncKit {
     /**
      * @since 2.9.3 callFutureRepeat
      * @since 3.0.0 repeatedlyCall
+     * @since 3.2.3 trampolined, no timer between the routines, see {@link FutureRepeat}.
      */
     static Future<Void> repeatedlyCall(@Nonnull Function<FutureRepeat.RoutineResult, Future<Void>> routineResultFutureFunction) {
         return FutureRepeat.call(routineResultFutureFunction);
@@ -134,15 +134,54 @@ public interface KeelAsyncKit {
     }
 
     /**
+     * Run the items in parallel, but at most {@code maxInFlight} at the same time, pulled from the collection lazily;
+     * fail at once with the first failure, and the items not started yet are skipped.
+     *
+     * @since 3.2.3
+     */
+    static <T> Future<Void> parallelForAllSuccess(@Nonnull Iterable<T> collection, int maxInFlight, @Nonnull Function<T, Future<Void>> itemProcessor) {
+        return FutureForEachParallel.all(collection.iterator(), maxInFlight, itemProcessor);
+    }
+
+    /**
+     * Run the items in parallel, but at most {@code maxInFlight} at the same time, pulled from the collection lazily;
+     * succeed at once with the first success, and the items not started yet are skipped.
+     *
+     * @since 3.2.3
+     */
+    static <T> Future<Void> parallelForAnySuccess(@Nonnull Iterable<T> collection, int maxInFlight, @Nonnull Function<T, Future<Void>> itemProcessor) {
+        return FutureForEachParallel.any(collection.iterator(), maxInFlight, itemProcessor);
+    }
+
+    /**
+     * Run all the items in parallel, but at most {@code maxInFlight} at the same time, pulled from the collection lazily;
+     * fail with the first failure after all completed.
+     *
+     * @since 3.2.3
+     */
+    static <T> Future<Void> parallelForAllComplete(@Nonnull Iterable<T> collection, int maxInFlight, @Nonnull Function<T, Future<Void>> itemProcessor) {
+        return FutureForEachParallel.join(collection.iterator(), maxInFlight, itemProcessor);
+    }
+
+    /**
+     * Run all the items in parallel, but at most {@code maxInFlight} at the same time, pulled from the collection lazily;
+     * the results are kept in the order of items.
+     *
+     * @since 3.2.3
+     */
+    static <T, R> Future<FutureForEachParallel.ParallelResult<R>> parallelForAllResult(@Nonnull Iterable<T> collection, int maxInFlight, @Nonnull Function<T, Future<R>> itemProcessor) {
+        return FutureForEachParallel.call(collection.iterator(), FutureForEachParallel.expectedSize(collection), maxInFlight, itemProcessor);
+    }
+
+    /**
+     * With the lock across the cluster if Vert.x is clustered;
+     * use {@link KeelAsyncKit#exclusivelyCallLocally(String, long, Supplier)} if only the state in this JVM is to protect.
+     *
      * @since 3.1.0
+     * @since 3.2.3 via {@link KeelAsyncLocks} in scope {@link KeelAsyncLocks.Scope#CLUSTER}.
      */
     static <T> Future<T> exclusivelyCall(@Nonnull String lockName, long waitTimeForLock, @Nonnull Supplier<Future<T>> exclusiveSupplier) {
-        return Keel.getVertx().sharedData()
-                .getLockWithTimeout(lockName, waitTimeForLock)
-                .compose(lock -> Future.succeededFuture()
-                        .compose(v -> exclusiveSupplier.get())
-                        .andThen(ar -> lock.release())
-                );
+        return KeelAsyncLocks.exclusivelyCall(KeelAsyncLocks.Scope.CLUSTER, lockName, waitTimeForLock, exclusiveSupplier);
     }
 
     /**
@@ -152,6 +191,22 @@ public interface KeelAsyncKit {
         return exclusivelyCall(lockName, 1000L, exclusiveSupplier);
     }
 
+    /**
+     * With the lock only within this JVM, taken at once if free, without any round trip to the cluster.
+     *
+     * @since 3.2.3
+     */
+    static <T> Future<T> exclusivelyCallLocally(@Nonnull String lockName, long waitTimeForLock, @Nonnull Supplier<Future<T>> exclusiveSupplier) {
+        return KeelAsyncLocks.exclusivelyCall(KeelAsyncLocks.Scope.LOCAL, lockName, waitTimeForLock, exclusiveSupplier);
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    static <T> Future<T> exclusivelyCallLocally(@Nonnull String lockName, @Nonnull Supplier<Future<T>> exclusiveSupplier) {
+        return exclusivelyCallLocally(lockName, 1000L, exclusiveSupplier);
+    }
+
     /**
      * @param promiseHandler execute a regular job, even if it is blocking, handle method is decided by users.
      * @since 3.0.0
@@ -211,18 +266,31 @@ public interface KeelAsyncKit {
     /**
      * @since 3.0.10 Technical Preview: instead of Vertx::executeBlocking(Handler&lt;Promise&lt;T&gt;&gt; blockingCodeHandler)
      * @since 3.0.18 Finished Technical Preview.
+     * @since 3.2.3 Run on a new worker context for each call, instead of deploying a verticle;
+     *         the callbacks chained inside the handler still resume on that worker context; not ordered.
      */
     @Nonnull
     static <T> Future<T> executeBlocking(@Nonnull Handler<Promise<T>> blockingCodeHandler) {
         Promise<T> promise = Promise.promise();
-        KeelVerticle verticle = new KeelVerticleImplPure() {
-            @Override
-            public void start() {
+        Vertx vertx = Keel.getVertx();
+        Context workerContext = vertx instanceof VertxInternal
+                ? ((VertxInternal) vertx).createWorkerContext()
+                : null;
+        if (workerContext == null) {
+            vertx.executeBlocking(() -> {
+                        blockingCodeHandler.handle(promise);
+                        return null;
+                    }, false)
+                    .onFailure(promise::tryFail);
+            return promise.future();
+        }
+        workerContext.runOnContext(v -> {
+            try {
                 blockingCodeHandler.handle(promise);
-                promise.future().onComplete(ar -> this.undeployMe());
+            } catch (Throwable throwable) {
+                promise.tryFail(throwable);
             }
-        };
-        return verticle.deployMe(new DeploymentOptions().setThreadingModel(ThreadingModel.WORKER))
-                .compose(deploymentId -> promise.future());
+        });
+        return promise.future();
     }
 }
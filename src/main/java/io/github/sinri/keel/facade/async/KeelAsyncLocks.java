@@ -0,0 +1,278 @@
+package io.github.sinri.keel.facade.async;
+
+import io.github.sinri.keel.logger.metric.KeelMetricHistogram;
+import io.github.sinri.keel.logger.metric.KeelMetricRecord;
+import io.github.sinri.keel.logger.metric.KeelMetricRecorder;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.Lock;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static io.github.sinri.keel.facade.KeelInstance.Keel;
+
+/**
+ * Named asynchronous locks in two scopes.
+ * <ul>
+ *     <li>{@link Scope#LOCAL}: only within this JVM; a queue of waiters per name, and no thread is blocked.
+ *     Taking a free lock completes at once, without any round trip or timer.</li>
+ *     <li>{@link Scope#CLUSTER}: across the cluster if Vert.x is clustered,
+ *     via {@code vertx.sharedData().getLockWithTimeout}.</li>
+ * </ul>
+ * Both count the acquisitions, the contended ones, the timeouts and the other failures, and observe the time waited,
+ * see {@link KeelAsyncLocks#getStatistics()} and {@link KeelAsyncLocks#setMetricRecorder(KeelMetricRecorder, long)}.
+ *
+ * @since 3.2.3
+ */
+public final class KeelAsyncLocks {
+    public static final String METRIC_TOPIC = "keel-lock";
+    /**
+     * A cluster lock is counted as contended when got after waiting longer than this, in milliseconds,
+     * or when timed out; as the shared data gives no sign of waiting, a round trip below it is taken as free.
+     */
+    public static final double CLUSTER_CONTENDED_WAIT_MS = 10;
+
+    private static final Map<String, LocalLockState> localLockStateMap = new ConcurrentHashMap<>();
+    private static final Map<Scope, ScopeStatistics> statisticsMap = Map.of(
+            Scope.LOCAL, new ScopeStatistics(),
+            Scope.CLUSTER, new ScopeStatistics()
+    );
+    private static long metricTimerId = -1;
+
+    private KeelAsyncLocks() {
+
+    }
+
+    /**
+     * @param waitTimeForLock in milliseconds; the future fails if the lock is not got in time.
+     */
+    public static Future<Lock> acquire(@Nonnull Scope scope, @Nonnull String lockName, long waitTimeForLock) {
+        if (scope == Scope.LOCAL) {
+            return acquireLocalLock(lockName, waitTimeForLock);
+        } else {
+            return acquireClusterLock(lockName, waitTimeForLock);
+        }
+    }
+
+    /**
+     * Run the supplier with the lock held, and release it once the supplied future completes.
+     */
+    public static <T> Future<T> exclusivelyCall(@Nonnull Scope scope, @Nonnull String lockName, long waitTimeForLock, @Nonnull Supplier<Future<T>> exclusiveSupplier) {
+        return acquire(scope, lockName, waitTimeForLock)
+                .compose(lock -> Future.succeededFuture()
+                        .compose(v -> exclusiveSupplier.get())
+                        .andThen(ar -> lock.release())
+                );
+    }
+
+    private static Future<Lock> acquireClusterLock(@Nonnull String lockName, long waitTimeForLock) {
+        ScopeStatistics statistics = statisticsMap.get(Scope.CLUSTER);
+        long start = System.nanoTime();
+        return Keel.getVertx().sharedData()
+                .getLockWithTimeout(lockName, waitTimeForLock)
+                .andThen(ar -> {
+                    double waitedMs = (System.nanoTime() - start) / 1_000_000.0;
+                    if (ar.succeeded()) {
+                        statistics.acquired.increment();
+                        statistics.waitHistogram.observe(waitedMs);
+                        if (waitedMs > CLUSTER_CONTENDED_WAIT_MS) {
+                            statistics.contended.increment();
+                        }
+                    } else if (isTimeout(ar.cause(), waitedMs, waitTimeForLock)) {
+                        statistics.contended.increment();
+                        statistics.timedOut.increment();
+                    } else {
+                        statistics.failed.increment();
+                    }
+                });
+    }
+
+    /**
+     * The shared data fails a timed out acquisition with a plain exception, so it is told by the message or the time waited.
+     */
+    private static boolean isTimeout(@Nonnull Throwable throwable, double waitedMs, long waitTimeForLock) {
+        if (throwable instanceof TimeoutException || waitedMs >= waitTimeForLock) {
+            return true;
+        }
+        String message = throwable.getMessage();
+        return message != null && message.toLowerCase().contains("timed out");
+    }
+
+    private static Future<Lock> acquireLocalLock(@Nonnull String lockName, long waitTimeForLock) {
+        ScopeStatistics statistics = statisticsMap.get(Scope.LOCAL);
+        while (true) {
+            LocalLockState state = localLockStateMap.computeIfAbsent(lockName, x -> new LocalLockState());
+            LocalLockWaiter waiter;
+            synchronized (state) {
+                if (state.retired) {
+                    // removed from the map after being got; fetch the new one
+                    continue;
+                }
+                if (!state.held) {
+                    state.held = true;
+                    statistics.acquired.increment();
+                    statistics.waitHistogram.observe(0);
+                    return Future.succeededFuture(new LocalLock(lockName, state));
+                }
+                waiter = new LocalLockWaiter();
+                state.waiters.add(waiter);
+            }
+
+            statistics.contended.increment();
+            long timerId = Keel.getVertx().setTimer(Math.max(1, waitTimeForLock), id -> {
+                synchronized (state) {
+                    if (waiter.done) {
+                        return;
+                    }
+                    waiter.done = true;
+                    state.waiters.remove(waiter);
+                }
+                statistics.timedOut.increment();
+                waiter.complete(Future.failedFuture(new TimeoutException("Timed out waiting to get lock " + lockName)));
+            });
+            return waiter.promise.future().andThen(ar -> Keel.getVertx().cancelTimer(timerId));
+        }
+    }
+
+    /**
+     * @return for each scope, the counts of acquired, contended, timed out and failed otherwise,
+     *         and the current count of local locks.
+     */
+    public static JsonObject getStatistics() {
+        JsonObject statistics = new JsonObject();
+        statisticsMap.forEach((scope, scopeStatistics) -> statistics.put(scope.name().toLowerCase(), new JsonObject()
+                .put("acquired", scopeStatistics.acquired.sum())
+                .put("contended", scopeStatistics.contended.sum())
+                .put("timed_out", scopeStatistics.timedOut.sum())
+                .put("failed", scopeStatistics.failed.sum())
+        ));
+        statistics.getJsonObject("local").put("locks", localLockStateMap.size());
+        return statistics;
+    }
+
+    /**
+     * Emit {@code lock_acquired}, {@code lock_contended}, {@code lock_timed_out}, {@code lock_failed} (the totals)
+     * and the histogram {@code lock_wait} in milliseconds (since the last emission), labeled with {@code scope},
+     * to the recorder periodically.
+     *
+     * @param metricRecorder the started recorder, or null to stop emitting.
+     * @param interval       in milliseconds.
+     */
+    public static synchronized void setMetricRecorder(@Nullable KeelMetricRecorder metricRecorder, long interval) {
+        if (metricTimerId >= 0) {
+            Keel.getVertx().cancelTimer(metricTimerId);
+            metricTimerId = -1;
+        }
+        if (metricRecorder != null) {
+            metricTimerId = Keel.getVertx().setPeriodic(interval, timerID -> emitMetrics(metricRecorder));
+        }
+    }
+
+    private static void emitMetrics(@Nonnull KeelMetricRecorder metricRecorder) {
+        statisticsMap.forEach((scope, scopeStatistics) -> {
+            String scopeLabel = scope.name().toLowerCase();
+            metricRecorder.recordMetric(new KeelMetricRecord(METRIC_TOPIC, "lock_acquired", scopeStatistics.acquired.sum()).label("scope", scopeLabel));
+            metricRecorder.recordMetric(new KeelMetricRecord(METRIC_TOPIC, "lock_contended", scopeStatistics.contended.sum()).label("scope", scopeLabel));
+            metricRecorder.recordMetric(new KeelMetricRecord(METRIC_TOPIC, "lock_timed_out", scopeStatistics.timedOut.sum()).label("scope", scopeLabel));
+            metricRecorder.recordMetric(new KeelMetricRecord(METRIC_TOPIC, "lock_failed", scopeStatistics.failed.sum()).label("scope", scopeLabel));
+            scopeStatistics.waitHistogram.drain(METRIC_TOPIC, "lock_wait", Map.of("scope", scopeLabel))
+                    .forEach(metricRecorder::recordMetric);
+        });
+    }
+
+    public enum Scope {
+        LOCAL, CLUSTER
+    }
+
+    private static final class ScopeStatistics {
+        final LongAdder acquired = new LongAdder();
+        final LongAdder contended = new LongAdder();
+        final LongAdder timedOut = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final KeelMetricHistogram waitHistogram = new KeelMetricHistogram();
+    }
+
+    /**
+     * Guarded by itself.
+     */
+    private static final class LocalLockState {
+        final ArrayDeque<LocalLockWaiter> waiters = new ArrayDeque<>();
+        boolean held = false;
+        /**
+         * Set when removed from the map, as nobody holds or waits for it.
+         */
+        boolean retired = false;
+    }
+
+    private static final class LocalLockWaiter {
+        final Promise<Lock> promise = Promise.promise();
+        final long enqueuedAt = System.nanoTime();
+        /**
+         * The context to resume, captured when it started waiting.
+         */
+        final Context context = Vertx.currentContext();
+        /**
+         * Handed the lock over or timed out; guarded by the state.
+         */
+        boolean done = false;
+
+        void complete(@Nonnull Future<Lock> result) {
+            if (context == null || Vertx.currentContext() == context) {
+                promise.handle(result);
+            } else {
+                context.runOnContext(v -> promise.handle(result));
+            }
+        }
+    }
+
+    private static final class LocalLock implements Lock {
+        private final String lockName;
+        private final LocalLockState state;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        LocalLock(@Nonnull String lockName, @Nonnull LocalLockState state) {
+            this.lockName = lockName;
+            this.state = state;
+        }
+
+        @Override
+        public void release() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            LocalLockWaiter next = null;
+            synchronized (state) {
+                LocalLockWaiter waiter;
+                while ((waiter = state.waiters.poll()) != null) {
+                    if (!waiter.done) {
+                        waiter.done = true;
+                        next = waiter;
+                        break;
+                    }
+                }
+                if (next == null) {
+                    state.held = false;
+                    state.retired = true;
+                    localLockStateMap.remove(lockName, state);
+                }
+            }
+            if (next != null) {
+                ScopeStatistics statistics = statisticsMap.get(Scope.LOCAL);
+                statistics.acquired.increment();
+                statistics.waitHistogram.observe((System.nanoTime() - next.enqueuedAt) / 1_000_000.0);
+                next.complete(Future.succeededFuture(new LocalLock(lockName, state)));
+            }
+        }
+    }
+}
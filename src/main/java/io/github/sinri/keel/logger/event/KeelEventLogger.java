@@ -47,7 +47,19 @@ public interface KeelEventLogger {
 
     void log(@Nonnull Handler<KeelEventLog> eventLogHandler);
 
+    /**
+     * Whether a log of the level would be kept by this logger or any bypass one.
+     * The level methods return at once if not, without building the log;
+     * so a template editor or a record formatter could not raise a hidden level to a visible one.
+     *
+     * @since 3.2.3
+     */
+    default boolean isLoggable(@Nonnull KeelLogLevel level) {
+        return true;
+    }
+
     default void debug(@Nonnull Handler<KeelEventLog> eventLogHandler) {
+        if (!isLoggable(KeelLogLevel.DEBUG)) return;
         log(eventLog -> {
             eventLog.level(KeelLogLevel.DEBUG);
             eventLog.topic(getPresetTopic());
@@ -56,6 +68,7 @@ public interface KeelEventLogger {
     }
 
     default void info(@Nonnull Handler<KeelEventLog> eventLogHandler) {
+        if (!isLoggable(KeelLogLevel.INFO)) return;
         log(eventLog -> {
             eventLog.level(KeelLogLevel.INFO);
             eventLog.topic(getPresetTopic());
@@ -64,6 +77,7 @@ public interface KeelEventLogger {
     }
 
     default void notice(@Nonnull Handler<KeelEventLog> eventLogHandler) {
+        if (!isLoggable(KeelLogLevel.NOTICE)) return;
         log(eventLog -> {
             eventLog.level(KeelLogLevel.NOTICE);
             eventLog.topic(getPresetTopic());
@@ -72,6 +86,7 @@ public interface KeelEventLogger {
     }
 
     default void warning(@Nonnull Handler<KeelEventLog> eventLogHandler) {
+        if (!isLoggable(KeelLogLevel.WARNING)) return;
         log(eventLog -> {
             eventLog.level(KeelLogLevel.WARNING);
             eventLog.topic(getPresetTopic());
@@ -80,6 +95,7 @@ public interface KeelEventLogger {
     }
 
     default void error(@Nonnull Handler<KeelEventLog> eventLogHandler) {
+        if (!isLoggable(KeelLogLevel.ERROR)) return;
         log(eventLog -> {
             eventLog.level(KeelLogLevel.ERROR);
             eventLog.topic(getPresetTopic());
@@ -88,6 +104,7 @@ public interface KeelEventLogger {
     }
 
     default void fatal(@Nonnull Handler<KeelEventLog> eventLogHandler) {
+        if (!isLoggable(KeelLogLevel.FATAL)) return;
         log(eventLog -> {
             eventLog.level(KeelLogLevel.FATAL);
             eventLog.topic(getPresetTopic());
@@ -96,10 +113,12 @@ public interface KeelEventLogger {
     }
 
     default void debug(@Nullable String msg) {
+        if (!isLoggable(KeelLogLevel.DEBUG)) return;
         debug(eventLog -> eventLog.message(msg));
     }
 
     default void info(String msg) {
+        if (!isLoggable(KeelLogLevel.INFO)) return;
         // done debugging
 //        System.out.println("KeelEventLogger::info("+msg+") start");
         info(eventLog -> eventLog.message(msg));
@@ -107,26 +126,32 @@ public interface KeelEventLogger {
     }
 
     default void notice(String msg) {
+        if (!isLoggable(KeelLogLevel.NOTICE)) return;
         notice(eventLog -> eventLog.message(msg));
     }
 
     default void warning(String msg) {
+        if (!isLoggable(KeelLogLevel.WARNING)) return;
         warning(eventLog -> eventLog.message(msg));
     }
 
     default void error(String msg) {
+        if (!isLoggable(KeelLogLevel.ERROR)) return;
         error(eventLog -> eventLog.message(msg));
     }
 
     default void fatal(String msg) {
+        if (!isLoggable(KeelLogLevel.FATAL)) return;
         fatal(eventLog -> eventLog.message(msg));
     }
 
     default void exception(@Nonnull Throwable throwable) {
+        if (!isLoggable(KeelLogLevel.ERROR)) return;
         exception(throwable, "Exception Occurred");
     }
 
     default void exception(@Nonnull Throwable throwable, @Nonnull String msg) {
+        if (!isLoggable(KeelLogLevel.ERROR)) return;
         exception(throwable, eventLog -> {
             eventLog.message(msg);
         });
@@ -136,6 +161,7 @@ public interface KeelEventLogger {
      * @since 3.0.1
      */
     default void exception(@Nonnull Throwable throwable, @Nonnull String msg, @Nullable JsonObject context) {
+        if (!isLoggable(KeelLogLevel.ERROR)) return;
         exception(throwable, eventLog -> {
             eventLog.message(msg);
             if (context != null) eventLog.context(context);
@@ -143,6 +169,7 @@ public interface KeelEventLogger {
     }
 
     default void exception(@Nonnull Throwable throwable, @Nonnull Handler<KeelEventLog> eventLogHandler) {
+        if (!isLoggable(KeelLogLevel.ERROR)) return;
         error(eventLog -> {
             eventLog.exception(throwable);
             eventLogHandler.handle(eventLog);
@@ -153,6 +180,7 @@ public interface KeelEventLogger {
      * @since 3.0.1
      */
     default void debug(String msg, JsonObject context) {
+        if (!isLoggable(KeelLogLevel.DEBUG)) return;
         debug(event -> {
             event.message(msg);
             event.context(context);
@@ -163,6 +191,7 @@ public interface KeelEventLogger {
      * @since 3.0.1
      */
     default void info(String msg, JsonObject context) {
+        if (!isLoggable(KeelLogLevel.INFO)) return;
         info(event -> {
             event.message(msg);
             event.context(context);
@@ -173,6 +202,7 @@ public interface KeelEventLogger {
      * @since 3.0.1
      */
     default void notice(String msg, JsonObject context) {
+        if (!isLoggable(KeelLogLevel.NOTICE)) return;
         notice(event -> {
             event.message(msg);
             event.context(context);
@@ -183,6 +213,7 @@ public interface KeelEventLogger {
      * @since 3.0.1
      */
     default void warning(String msg, JsonObject context) {
+        if (!isLoggable(KeelLogLevel.WARNING)) return;
         warning(event -> {
             event.message(msg);
             event.context(context);
@@ -193,6 +224,7 @@ public interface KeelEventLogger {
      * @since 3.0.1
      */
     default void error(String msg, JsonObject context) {
+        if (!isLoggable(KeelLogLevel.ERROR)) return;
         error(event -> {
             event.message(msg);
             event.context(context);
@@ -203,6 +235,7 @@ public interface KeelEventLogger {
      * @since 3.0.1
      */
     default void fatal(String msg, JsonObject context) {
+        if (!isLoggable(KeelLogLevel.FATAL)) return;
         fatal(event -> {
             event.message(msg);
             event.context(context);
@@ -213,6 +246,7 @@ public interface KeelEventLogger {
      * @since 3.1.10
      */
     default void debug(String msg, @Nonnull Handler<JsonObject> contextHandler) {
+        if (!isLoggable(KeelLogLevel.DEBUG)) return;
         debug(event -> {
             JsonObject context = new JsonObject();
             contextHandler.handle(context);
@@ -225,6 +259,7 @@ public interface KeelEventLogger {
      * @since 3.1.10
      */
     default void info(String msg, @Nonnull Handler<JsonObject> contextHandler) {
+        if (!isLoggable(KeelLogLevel.INFO)) return;
         info(event -> {
             JsonObject context = new JsonObject();
             contextHandler.handle(context);
@@ -237,6 +272,7 @@ public interface KeelEventLogger {
      * @since 3.1.10
      */
     default void notice(String msg, @Nonnull Handler<JsonObject> contextHandler) {
+        if (!isLoggable(KeelLogLevel.NOTICE)) return;
         notice(event -> {
             JsonObject context = new JsonObject();
             contextHandler.handle(context);
@@ -249,6 +285,7 @@ public interface KeelEventLogger {
      * @since 3.1.10
      */
     default void warning(String msg, @Nonnull Handler<JsonObject> contextHandler) {
+        if (!isLoggable(KeelLogLevel.WARNING)) return;
         warning(event -> {
             JsonObject context = new JsonObject();
             contextHandler.handle(context);
@@ -261,6 +298,7 @@ public interface KeelEventLogger {
      * @since 3.1.10
      */
     default void error(String msg, @Nonnull Handler<JsonObject> contextHandler) {
+        if (!isLoggable(KeelLogLevel.ERROR)) return;
         error(event -> {
             JsonObject context = new JsonObject();
             contextHandler.handle(context);
@@ -273,6 +311,7 @@ public interface KeelEventLogger {
      * @since 3.1.10
      */
     default void fatal(String msg, @Nonnull Handler<JsonObject> contextHandler) {
+        if (!isLoggable(KeelLogLevel.FATAL)) return;
         fatal(event -> {
             JsonObject context = new JsonObject();
             contextHandler.handle(context);
@@ -285,6 +324,7 @@ public interface KeelEventLogger {
      * @since 3.1.10
      */
     default void exception(@Nonnull Throwable throwable, @Nonnull String msg, @Nonnull Handler<JsonObject> contextHandler) {
+        if (!isLoggable(KeelLogLevel.ERROR)) return;
         exception(throwable, eventLog -> {
             JsonObject context = new JsonObject();
             contextHandler.handle(context);
@@ -62,6 +62,24 @@ class KeelEventLoggerImpl implements KeelEventLogger {
         return this.getIssueRecorder().topic();
     }
 
+    /**
+     * @since 3.2.3
+     */
+    @Override
+    public boolean isLoggable(@Nonnull KeelLogLevel level) {
+        if (getIssueRecorder().isRecordable(level)) {
+            return true;
+        }
+        if (!bypassLoggers.isEmpty()) {
+            for (KeelEventLogger bypassLogger : bypassLoggers) {
+                if (bypassLogger.isLoggable(level)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @Override
     public void log(@Nonnull Handler<KeelEventLog> eventLogHandler) {
         this.getIssueRecorder().record(r -> {
@@ -59,6 +59,29 @@ public interface KeelIssueRecorder<T extends KeelIssueRecord<?>> {
 
     void setRecordFormatter(@Nullable Handler<T> handler);
 
+    /**
+     * Whether an issue of the level would be kept by this recorder or any bypass one,
+     * i.e. enough serious as the visible level, and the adapter is not silent.
+     * The level methods, such as {@link KeelIssueRecorder#debug(Handler)}, check it and return at once if not,
+     * without building the issue; so the record formatter could not raise a hidden level to a visible one.
+     *
+     * @since 3.2.3
+     */
+    default boolean isRecordable(@Nonnull KeelLogLevel level) {
+        if (level.isEnoughSeriousAs(getVisibleLevel()) && !issueRecordCenter().getAdapter().isSilent()) {
+            return true;
+        }
+        List<KeelIssueRecorder<T>> bypassIssueRecorders = getBypassIssueRecorders();
+        if (!bypassIssueRecorders.isEmpty()) {
+            for (KeelIssueRecorder<T> bypassIssueRecorder : bypassIssueRecorders) {
+                if (bypassIssueRecorder.isRecordable(level)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Record an issue (created with `issueRecordBuilder` and modified with `issueHandler`).
      * It may be handled later async, actually.
@@ -86,6 +109,7 @@ public interface KeelIssueRecorder<T extends KeelIssueRecord<?>> {
     }
 
     default void debug(@Nonnull Handler<T> issueHandler) {
+        if (!isRecordable(KeelLogLevel.DEBUG)) return;
         record(t -> {
             issueHandler.handle(t);
             t.level(KeelLogLevel.DEBUG);
@@ -93,6 +117,7 @@ public interface KeelIssueRecorder<T extends KeelIssueRecord<?>> {
     }
 
     default void info(@Nonnull Handler<T> issueHandler) {
+        if (!isRecordable(KeelLogLevel.INFO)) return;
         record(t -> {
             issueHandler.handle(t);
             t.level(KeelLogLevel.INFO);
@@ -100,6 +125,7 @@ public interface KeelIssueRecorder<T extends KeelIssueRecord<?>> {
     }
 
     default void notice(@Nonnull Handler<T> issueHandler) {
+        if (!isRecordable(KeelLogLevel.NOTICE)) return;
         record(t -> {
             issueHandler.handle(t);
             t.level(KeelLogLevel.NOTICE);
@@ -107,6 +133,7 @@ public interface KeelIssueRecorder<T extends KeelIssueRecord<?>> {
     }
 
     default void warning(@Nonnull Handler<T> issueHandler) {
+        if (!isRecordable(KeelLogLevel.WARNING)) return;
         record(t -> {
             issueHandler.handle(t);
             t.level(KeelLogLevel.WARNING);
@@ -114,6 +141,7 @@ public interface KeelIssueRecorder<T extends KeelIssueRecord<?>> {
     }
 
     default void error(@Nonnull Handler<T> issueHandler) {
+        if (!isRecordable(KeelLogLevel.ERROR)) return;
         record(t -> {
             issueHandler.handle(t);
             t.level(KeelLogLevel.ERROR);
@@ -121,6 +149,7 @@ public interface KeelIssueRecorder<T extends KeelIssueRecord<?>> {
     }
 
     default void fatal(@Nonnull Handler<T> issueHandler) {
+        if (!isRecordable(KeelLogLevel.FATAL)) return;
         record(t -> {
             issueHandler.handle(t);
             t.level(KeelLogLevel.FATAL);
@@ -128,6 +157,7 @@ public interface KeelIssueRecorder<T extends KeelIssueRecord<?>> {
     }
 
     default void exception(@Nonnull Throwable throwable, @Nonnull Handler<T> issueHandler) {
+        if (!isRecordable(KeelLogLevel.ERROR)) return;
         error(t -> {
             t.exception(throwable);
             issueHandler.handle(t);
@@ -135,35 +165,43 @@ public interface KeelIssueRecorder<T extends KeelIssueRecord<?>> {
     }
 
     default void exception(@Nonnull Throwable throwable, @Nonnull String message) {
+        if (!isRecordable(KeelLogLevel.ERROR)) return;
         exception(throwable, t -> t.message(message));
     }
 
     default void exception(@Nonnull Throwable throwable) {
+        if (!isRecordable(KeelLogLevel.ERROR)) return;
         exception(throwable, t -> {
         });
     }
 
     default void debug(@Nonnull String message) {
+        if (!isRecordable(KeelLogLevel.DEBUG)) return;
         debug(t -> t.message(message));
     }
 
     default void info(@Nonnull String message) {
+        if (!isRecordable(KeelLogLevel.INFO)) return;
         info(t -> t.message(message));
     }
 
     default void notice(@Nonnull String message) {
+        if (!isRecordable(KeelLogLevel.NOTICE)) return;
         notice(t -> t.message(message));
     }
 
     default void warning(@Nonnull String message) {
+        if (!isRecordable(KeelLogLevel.WARNING)) return;
         warning(t -> t.message(message));
     }
 
     default void error(@Nonnull String message) {
+        if (!isRecordable(KeelLogLevel.ERROR)) return;
         error(t -> t.message(message));
     }
 
     default void fatal(@Nonnull String message) {
+        if (!isRecordable(KeelLogLevel.FATAL)) return;
         fatal(t -> t.message(message));
     }
 
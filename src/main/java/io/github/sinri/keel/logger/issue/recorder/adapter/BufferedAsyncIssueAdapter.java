@@ -0,0 +1,384 @@
+package io.github.sinri.keel.logger.issue.recorder.adapter;
+
+import io.github.sinri.keel.core.TechnicalPreview;
+import io.github.sinri.keel.facade.async.KeelAsyncKit;
+import io.github.sinri.keel.logger.KeelLogLevel;
+import io.github.sinri.keel.logger.issue.record.KeelIssueRecord;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.github.sinri.keel.facade.KeelInstance.Keel;
+
+/**
+ * The shared core of the asynchronous adapters.
+ * <p>
+ * Each topic has a bounded buffer, filled by any thread and drained by one routine;
+ * when a buffer is full, the {@link OverflowPolicy} decides which record to lose.
+ * The routine hands over a batch of a topic once the buffer reaches {@link #bufferSize()},
+ * or at latest after {@link #maxFlushLatency()} milliseconds.
+ * <p>
+ * The routine runs after {@link #start()}; closing stops taking records and drains the buffers before completion.
+ *
+ * @since 3.2.3
+ */
+@TechnicalPreview(since = "3.2.3")
+abstract public class BufferedAsyncIssueAdapter implements KeelIssueRecorderAdapter {
+    private final Map<String, TopicBuffer> topicBufferMap = new ConcurrentHashMap<>();
+    private final AtomicReference<Promise<Void>> idlePromiseRef = new AtomicReference<>();
+    private final Promise<Void> closedPromise = Promise.promise();
+    private volatile boolean started = false;
+    private volatile boolean stopped = false;
+    private volatile boolean closed = false;
+
+    /**
+     * @return the most records kept in the buffer of one topic.
+     */
+    protected int bufferCapacity() {
+        return 10000;
+    }
+
+    /**
+     * @return the most records handed over in one batch, and the buffer depth to flush without waiting.
+     */
+    protected int bufferSize() {
+        return 1000;
+    }
+
+    /**
+     * @return the longest time in milliseconds a record waits in the buffer while the routine is idle.
+     */
+    protected long maxFlushLatency() {
+        return 500L;
+    }
+
+    @Nonnull
+    protected OverflowPolicy overflowPolicy() {
+        return OverflowPolicy.dropOldest();
+    }
+
+    /**
+     * Handle one batch of records of a topic, in the order recorded; never called concurrently.
+     */
+    abstract protected Future<Void> handleIssueRecordsForTopic(@Nonnull final String topic, @Nonnull final List<KeelIssueRecord<?>> buffer);
+
+    @Override
+    public void record(@Nonnull String topic, @Nullable KeelIssueRecord<?> issueRecord) {
+        if (issueRecord == null) {
+            return;
+        }
+        TopicBuffer topicBuffer = this.topicBufferMap.computeIfAbsent(topic, x -> new TopicBuffer(bufferCapacity(), overflowPolicy()));
+        if (isStopped()) {
+            topicBuffer.dropped.incrementAndGet();
+            return;
+        }
+        if (topicBuffer.offer(issueRecord) >= bufferSize()) {
+            wakeUp();
+        }
+    }
+
+    public final void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        KeelAsyncKit.repeatedlyCall(routineResult -> {
+                    if (isStopped()) {
+                        return flushAll()
+                                .compose(v -> {
+                                    if (isAllBufferEmpty()) {
+                                        routineResult.stop();
+                                    }
+                                    return Future.succeededFuture();
+                                });
+                    }
+                    return flushAll()
+                            .compose(v -> {
+                                if (isAnyBufferFull()) {
+                                    return Future.succeededFuture();
+                                }
+                                return idle();
+                            });
+                })
+                .andThen(ar -> {
+                    if (ar.failed()) {
+                        Keel.getLogger().exception(ar.cause(), getClass().getName() + " routine exception");
+                    }
+                    closed = true;
+                    closedPromise.complete();
+                });
+    }
+
+    /**
+     * Flush each topic, batch by batch while a full batch is buffered,
+     * but no more batches than the buffer holds, so that other topics are not starved.
+     */
+    private Future<Void> flushAll() {
+        List<String> topics = new ArrayList<>(this.topicBufferMap.keySet());
+        int maxRounds = Math.max(1, bufferCapacity() / Math.max(1, bufferSize()));
+        return KeelAsyncKit.iterativelyCall(topics, topic -> flushTopic(topic, maxRounds));
+    }
+
+    private Future<Void> flushTopic(@Nonnull String topic, int roundsLeft) {
+        TopicBuffer topicBuffer = this.topicBufferMap.get(topic);
+        return flushTopicOnce(topic, topicBuffer)
+                .compose(v -> {
+                    if (roundsLeft > 1 && topicBuffer.queue.size() >= bufferSize()) {
+                        return flushTopic(topic, roundsLeft - 1);
+                    }
+                    return Future.succeededFuture();
+                });
+    }
+
+    private Future<Void> flushTopicOnce(@Nonnull String topic, @Nonnull TopicBuffer topicBuffer) {
+        List<KeelIssueRecord<?>> buffer = new ArrayList<>();
+        topicBuffer.queue.drainTo(buffer, bufferSize());
+        if (buffer.isEmpty()) {
+            return Future.succeededFuture();
+        }
+        return Future.succeededFuture()
+                .compose(v -> handleIssueRecordsForTopic(topic, buffer))
+                .transform(ar -> {
+                    if (ar.succeeded()) {
+                        topicBuffer.flushed.addAndGet(buffer.size());
+                    } else {
+                        topicBuffer.failed.addAndGet(buffer.size());
+                        Keel.getLogger().exception(ar.cause(), getClass().getName() + " failed to handle " + buffer.size()
+                                + " records of topic " + topic);
+                    }
+                    return Future.succeededFuture();
+                });
+    }
+
+    /**
+     * Wait for the max flush latency, or until woken up for a full buffer or closing.
+     */
+    private Future<Void> idle() {
+        Promise<Void> idlePromise = Promise.promise();
+        idlePromiseRef.set(idlePromise);
+        // the records and the stop arriving before the promise was set would not wake it up.
+        if (isStopped() || isAnyBufferFull()) {
+            wakeUp();
+        }
+        long timerId = Keel.getVertx().setTimer(maxFlushLatency(), id -> {
+            if (idlePromiseRef.compareAndSet(idlePromise, null)) {
+                idlePromise.tryComplete();
+            }
+        });
+        return idlePromise.future().andThen(ar -> Keel.getVertx().cancelTimer(timerId));
+    }
+
+    private boolean isAnyBufferFull() {
+        for (TopicBuffer topicBuffer : topicBufferMap.values()) {
+            if (topicBuffer.queue.size() >= bufferSize()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isAllBufferEmpty() {
+        for (TopicBuffer topicBuffer : topicBufferMap.values()) {
+            if (!topicBuffer.queue.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void wakeUp() {
+        Promise<Void> idlePromise = idlePromiseRef.getAndSet(null);
+        if (idlePromise != null) {
+            // resume the routine on a context rather than the recording thread.
+            Keel.getVertx().runOnContext(v -> idlePromise.tryComplete());
+        }
+    }
+
+    /**
+     * @return for each topic, the depth of buffer and the counts of records received, dropped, flushed and failed.
+     */
+    public JsonObject getStatistics() {
+        JsonObject statistics = new JsonObject();
+        topicBufferMap.forEach((topic, topicBuffer) -> statistics.put(topic, new JsonObject()
+                .put("depth", topicBuffer.queue.size())
+                .put("received", topicBuffer.received.get())
+                .put("dropped", topicBuffer.dropped.get())
+                .put("flushed", topicBuffer.flushed.get())
+                .put("failed", topicBuffer.failed.get())
+        ));
+        return statistics;
+    }
+
+    public long getQueueDepth(@Nonnull String topic) {
+        TopicBuffer topicBuffer = topicBufferMap.get(topic);
+        return topicBuffer == null ? 0 : topicBuffer.queue.size();
+    }
+
+    public long getDroppedCount(@Nonnull String topic) {
+        TopicBuffer topicBuffer = topicBufferMap.get(topic);
+        return topicBuffer == null ? 0 : topicBuffer.dropped.get();
+    }
+
+    /**
+     * Stop taking records, and complete after the buffered records are handed over.
+     */
+    @Override
+    public void close(@Nonnull Promise<Void> promise) {
+        this.stopped = true;
+        if (!started) {
+            closed = true;
+            promise.complete();
+            return;
+        }
+        wakeUp();
+        closedPromise.future().onComplete(promise);
+    }
+
+    @Override
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * What to do with the record arriving at a full buffer.
+     */
+    public static final class OverflowPolicy {
+        private final Kind kind;
+        private final long blockTimeout;
+        private final KeelLogLevel level;
+        private final double sampleRate;
+
+        private OverflowPolicy(@Nonnull Kind kind, long blockTimeout, @Nullable KeelLogLevel level, double sampleRate) {
+            this.kind = kind;
+            this.blockTimeout = blockTimeout;
+            this.level = level;
+            this.sampleRate = sampleRate;
+        }
+
+        /**
+         * The recording thread waits for room up to the timeout in milliseconds, then drops the new record.
+         * On an event loop thread it never waits, and the new record is dropped at once.
+         */
+        public static OverflowPolicy block(long timeout) {
+            return new OverflowPolicy(Kind.BLOCK, Math.max(0, timeout), null, 1);
+        }
+
+        /**
+         * The oldest record in the buffer is dropped to make room.
+         */
+        public static OverflowPolicy dropOldest() {
+            return new OverflowPolicy(Kind.DROP_OLDEST, 0, null, 1);
+        }
+
+        /**
+         * The new record less serious than the level is dropped;
+         * otherwise the oldest record in the buffer is dropped to make room.
+         */
+        public static OverflowPolicy dropBelowLevel(@Nonnull KeelLogLevel level) {
+            return new OverflowPolicy(Kind.DROP_BELOW_LEVEL, 0, level, 1);
+        }
+
+        /**
+         * The new records are kept at the rate in (0,1] by dropping the oldest in the buffer,
+         * and the rest of them are dropped.
+         */
+        public static OverflowPolicy sample(double rate) {
+            return new OverflowPolicy(Kind.SAMPLE, 0, null, Math.min(1, Math.max(0, rate)));
+        }
+
+        @Override
+        public String toString() {
+            switch (kind) {
+                case BLOCK:
+                    return "BLOCK(" + blockTimeout + "ms)";
+                case DROP_BELOW_LEVEL:
+                    return "DROP_BELOW_LEVEL(" + level + ")";
+                case SAMPLE:
+                    return "SAMPLE(" + sampleRate + ")";
+                default:
+                    return kind.name();
+            }
+        }
+
+        private enum Kind {
+            BLOCK, DROP_OLDEST, DROP_BELOW_LEVEL, SAMPLE
+        }
+    }
+
+    private static final class TopicBuffer {
+        final ArrayBlockingQueue<KeelIssueRecord<?>> queue;
+        final OverflowPolicy overflowPolicy;
+        final AtomicLong received = new AtomicLong(0);
+        final AtomicLong dropped = new AtomicLong(0);
+        final AtomicLong flushed = new AtomicLong(0);
+        final AtomicLong failed = new AtomicLong(0);
+
+        TopicBuffer(int capacity, @Nonnull OverflowPolicy overflowPolicy) {
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        /**
+         * @return the depth of the buffer after the offer.
+         */
+        int offer(@Nonnull KeelIssueRecord<?> issueRecord) {
+            received.incrementAndGet();
+            if (queue.offer(issueRecord)) {
+                return queue.size();
+            }
+            switch (overflowPolicy.kind) {
+                case BLOCK:
+                    if (overflowPolicy.blockTimeout > 0 && !Context.isOnEventLoopThread()) {
+                        try {
+                            if (queue.offer(issueRecord, overflowPolicy.blockTimeout, TimeUnit.MILLISECONDS)) {
+                                return queue.size();
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    dropped.incrementAndGet();
+                    return queue.size();
+                case DROP_BELOW_LEVEL:
+                    if (issueRecord.level().isNegligibleThan(overflowPolicy.level)) {
+                        dropped.incrementAndGet();
+                        return queue.size();
+                    }
+                    break;
+                case SAMPLE:
+                    if (ThreadLocalRandom.current().nextDouble() >= overflowPolicy.sampleRate) {
+                        dropped.incrementAndGet();
+                        return queue.size();
+                    }
+                    break;
+                default:
+                    break;
+            }
+            // make room by dropping the oldest, racing with other producers and the routine.
+            while (!queue.offer(issueRecord)) {
+                if (queue.poll() != null) {
+                    dropped.incrementAndGet();
+                }
+            }
+            return queue.size();
+        }
+    }
+}
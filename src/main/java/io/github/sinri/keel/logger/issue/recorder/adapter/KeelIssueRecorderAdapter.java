@@ -29,6 +29,14 @@ public interface KeelIssueRecorderAdapter {
         return voidPromise.future();
     }
 
+    /**
+     * @return true if the records are dropped anyway, so that the recorders may skip building them.
+     * @since 3.2.3
+     */
+    default boolean isSilent() {
+        return false;
+    }
+
     boolean isStopped();
 
     boolean isClosed();
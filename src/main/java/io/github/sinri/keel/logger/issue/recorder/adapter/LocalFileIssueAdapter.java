@@ -0,0 +1,265 @@
+package io.github.sinri.keel.logger.issue.recorder.adapter;
+
+import io.github.sinri.keel.core.TechnicalPreview;
+import io.github.sinri.keel.logger.issue.record.KeelIssueRecord;
+import io.github.sinri.keel.logger.issue.recorder.render.KeelIssueRecordRender;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.WorkerExecutor;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static io.github.sinri.keel.facade.KeelInstance.Keel;
+
+/**
+ * Write the rendered records into local files, one file per topic, as {@code <directory>/<topic>.log}.
+ * <p>
+ * The batches are written by a single writer thread through a direct buffer, one write and at most one fsync per batch.
+ * The file is rotated by size or by time, checked when a batch comes,
+ * into {@code <topic>.<yyyyMMdd-HHmmss>.log}, and then compressed into {@code .gz} in background.
+ * <p>
+ * Call {@link #start()} before recording.
+ *
+ * @since 3.2.3
+ */
+@TechnicalPreview(since = "3.2.3")
+public class LocalFileIssueAdapter extends BufferedAsyncIssueAdapter {
+    private final Path directory;
+    private final WorkerExecutor writerExecutor;
+    /**
+     * Only touched by the writer thread.
+     */
+    private final Map<String, TopicFile> topicFileMap = new HashMap<>();
+    private ByteBuffer writeBuffer;
+
+    public LocalFileIssueAdapter(@Nonnull Path directory) {
+        this.directory = directory;
+        this.writerExecutor = Keel.getVertx().createSharedWorkerExecutor("keel-issue-file-writer-" + directory, 1);
+    }
+
+    /**
+     * @return the size in bytes of the direct buffer to write through.
+     */
+    protected int writeBufferSize() {
+        return 1024 * 1024;
+    }
+
+    /**
+     * @return the file size in bytes to rotate at.
+     */
+    protected long rotateSize() {
+        return 256L * 1024 * 1024;
+    }
+
+    /**
+     * @return the time in milliseconds for a file to be rotated after opened; non-positive to rotate by size only.
+     */
+    protected long rotateInterval() {
+        return 3600_000L;
+    }
+
+    /**
+     * @return 0 to fsync after each batch; positive for at most one fsync in the interval in milliseconds;
+     *         negative to leave it to the operating system.
+     */
+    protected long fsyncInterval() {
+        return 1000L;
+    }
+
+    protected boolean compressRotated() {
+        return true;
+    }
+
+    @Override
+    public KeelIssueRecordRender<String> issueRecordRender() {
+        return KeelIssueRecordRender.renderForString();
+    }
+
+    @Override
+    protected Future<Void> handleIssueRecordsForTopic(@Nonnull String topic, @Nonnull List<KeelIssueRecord<?>> buffer) {
+        return writerExecutor.executeBlocking(() -> {
+            writeBatch(topic, buffer);
+            return null;
+        }, true);
+    }
+
+    private void writeBatch(@Nonnull String topic, @Nonnull List<KeelIssueRecord<?>> buffer) throws IOException {
+        if (writeBuffer == null) {
+            writeBuffer = ByteBuffer.allocateDirect(writeBufferSize());
+        }
+        StringBuilder sb = new StringBuilder(buffer.size() * 256);
+        KeelIssueRecordRender<String> render = issueRecordRender();
+        for (KeelIssueRecord<?> issueRecord : buffer) {
+            sb.append(render.renderIssueRecord(issueRecord)).append('\n');
+        }
+
+        TopicFile topicFile = topicFileMap.get(topic);
+        if (topicFile != null && topicFile.shouldRotate()) {
+            // removed first, so that a failed rotation leaves no closed file behind, and the batch goes to a reopened one.
+            topicFileMap.remove(topic);
+            try {
+                topicFile.rotate();
+            } catch (IOException e) {
+                Keel.getLogger().exception(e, "LocalFileIssueAdapter failed to rotate " + topicFile.path + ", to reopen it");
+            }
+            topicFile = null;
+        }
+        if (topicFile == null) {
+            topicFile = new TopicFile(topic);
+            topicFileMap.put(topic, topicFile);
+        }
+
+        CharBuffer chars = CharBuffer.wrap(sb);
+        topicFile.encoder.reset();
+        try {
+            while (true) {
+                CoderResult coderResult = topicFile.encoder.encode(chars, writeBuffer, true);
+                if (coderResult.isOverflow()) {
+                    topicFile.drain(writeBuffer);
+                    continue;
+                }
+                if (coderResult.isError()) {
+                    coderResult.throwException();
+                }
+                break;
+            }
+            while (topicFile.encoder.flush(writeBuffer).isOverflow()) {
+                topicFile.drain(writeBuffer);
+            }
+            topicFile.drain(writeBuffer);
+        } finally {
+            // the bytes left by a failure must not be written into the next batch, maybe of another topic.
+            writeBuffer.clear();
+        }
+        topicFile.commit();
+    }
+
+    /**
+     * Stop taking records, write the buffered, and close the files.
+     */
+    @Override
+    public void close(@Nonnull Promise<Void> promise) {
+        Promise<Void> drained = Promise.promise();
+        super.close(drained);
+        drained.future()
+                .compose(v -> writerExecutor.executeBlocking(() -> {
+                    for (TopicFile topicFile : topicFileMap.values()) {
+                        topicFile.close();
+                    }
+                    topicFileMap.clear();
+                    return null;
+                }, true))
+                .andThen(ar -> writerExecutor.close())
+                .<Void>mapEmpty()
+                .onComplete(promise);
+    }
+
+    private static String safeFileName(@Nonnull String topic) {
+        return topic.replaceAll("[^A-Za-z0-9_.\\-]", "_");
+    }
+
+    private final class TopicFile {
+        final String baseName;
+        final Path path;
+        final FileChannel channel;
+        /**
+         * Replaces the malformed chars such as a lone surrogate, instead of failing the whole batch.
+         */
+        final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final long openedAt;
+        long lastSyncAt;
+
+        TopicFile(@Nonnull String topic) throws IOException {
+            this.baseName = safeFileName(topic);
+            this.path = directory.resolve(baseName + ".log");
+            Files.createDirectories(directory);
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            this.openedAt = System.currentTimeMillis();
+            this.lastSyncAt = openedAt;
+        }
+
+        void drain(@Nonnull ByteBuffer byteBuffer) throws IOException {
+            byteBuffer.flip();
+            while (byteBuffer.hasRemaining()) {
+                channel.write(byteBuffer);
+            }
+            byteBuffer.clear();
+        }
+
+        void commit() throws IOException {
+            long fsyncInterval = fsyncInterval();
+            if (fsyncInterval < 0) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            if (fsyncInterval == 0 || now - lastSyncAt >= fsyncInterval) {
+                channel.force(false);
+                lastSyncAt = now;
+            }
+        }
+
+        boolean shouldRotate() throws IOException {
+            long interval = rotateInterval();
+            return channel.size() >= rotateSize()
+                    || (interval > 0 && System.currentTimeMillis() - openedAt >= interval);
+        }
+
+        void close() throws IOException {
+            try {
+                if (fsyncInterval() >= 0) {
+                    channel.force(false);
+                }
+            } finally {
+                channel.close();
+            }
+        }
+
+        void rotate() throws IOException {
+            close();
+            String time = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date(openedAt));
+            Path rotated = directory.resolve(baseName + "." + time + ".log");
+            for (int i = 1; Files.exists(rotated) || Files.exists(Path.of(rotated + ".gz")); i++) {
+                rotated = directory.resolve(baseName + "." + time + "-" + i + ".log");
+            }
+            Files.move(path, rotated);
+            if (compressRotated()) {
+                Path source = rotated;
+                Keel.getVertx().executeBlocking(() -> {
+                    compress(source);
+                    return null;
+                }, false).onFailure(throwable -> Keel.getLogger().exception(throwable,
+                        "LocalFileIssueAdapter failed to compress " + source));
+            }
+        }
+    }
+
+    private static void compress(@Nonnull Path source) throws IOException {
+        Path target = Path.of(source + ".gz");
+        try (InputStream inputStream = Files.newInputStream(source);
+             OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(target), 64 * 1024)) {
+            inputStream.transferTo(outputStream);
+        }
+        Files.delete(source);
+    }
+}
@@ -32,6 +32,14 @@ public final class SilentAdapter implements KeelIssueRecorderAdapter {
         // do nothing
     }
 
+    /**
+     * @since 3.2.3
+     */
+    @Override
+    public boolean isSilent() {
+        return true;
+    }
+
     @Override
     public void close(@Nonnull Promise<Void> promise) {
         promise.complete();
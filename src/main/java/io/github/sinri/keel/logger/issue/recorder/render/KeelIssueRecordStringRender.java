@@ -5,6 +5,9 @@ import io.github.sinri.keel.helper.KeelDateTimeHelper;
 import io.github.sinri.keel.logger.issue.record.KeelIssueRecord;
 
 import javax.annotation.Nonnull;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 
 import static io.github.sinri.keel.helper.KeelHelpersInterface.KeelHelpers;
 
@@ -14,6 +17,14 @@ import static io.github.sinri.keel.helper.KeelHelpersInterface.KeelHelpers;
 @TechnicalPreview(since = "3.1.10")
 public class KeelIssueRecordStringRender implements KeelIssueRecordRender<String> {
     private static final KeelIssueRecordStringRender instance = new KeelIssueRecordStringRender();
+    /**
+     * Thread-safe and parsed once, instead of a SimpleDateFormat for each record.
+     *
+     * @since 3.2.3
+     */
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter
+            .ofPattern(KeelDateTimeHelper.MYSQL_DATETIME_MS_PATTERN)
+            .withZone(ZoneId.systemDefault());
 
     protected KeelIssueRecordStringRender() {
 
@@ -27,7 +38,7 @@ public class KeelIssueRecordStringRender implements KeelIssueRecordRender<String
     @Override
     public String renderIssueRecord(@Nonnull KeelIssueRecord<?> issueRecord) {
         StringBuilder s = new StringBuilder("㏒ ");
-        s.append(KeelHelpers.datetimeHelper().getDateExpression(issueRecord.timestamp(), KeelDateTimeHelper.MYSQL_DATETIME_MS_PATTERN));
+        TIMESTAMP_FORMATTER.formatTo(Instant.ofEpochMilli(issueRecord.timestamp()), s);
         s.append(" [").append(issueRecord.level().name()).append("]");
         s.append(" ").append(issueRecord.topic()).append(" (").append(KeelHelpers.stringHelper().joinStringArray(issueRecord.classification(), ",")).append(")");
         if (!issueRecord.attributes().isEmpty()) {
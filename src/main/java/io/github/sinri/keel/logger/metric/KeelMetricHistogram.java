@@ -0,0 +1,92 @@
+package io.github.sinri.keel.logger.metric;
+
+import io.github.sinri.keel.core.TechnicalPreview;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * A histogram of fixed buckets, observed concurrently without lock,
+ * and drained into metric records for the observations since the last drain.
+ *
+ * @since 3.2.3
+ */
+@TechnicalPreview(since = "3.2.3")
+public class KeelMetricHistogram {
+    /**
+     * Bounds fit for latencies in milliseconds.
+     */
+    public static final double[] DEFAULT_BOUNDS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000};
+
+    private final double[] bounds;
+    /**
+     * One more than the bounds, the last for the observations beyond all bounds.
+     */
+    private final AtomicLongArray bucketCounts;
+    private final DoubleAdder sum = new DoubleAdder();
+    private final DoubleAccumulator max = new DoubleAccumulator(Math::max, 0);
+
+    public KeelMetricHistogram() {
+        this(DEFAULT_BOUNDS);
+    }
+
+    /**
+     * @param bounds the upper bounds of buckets, in ascending order.
+     */
+    public KeelMetricHistogram(@Nonnull double[] bounds) {
+        this.bounds = bounds.clone();
+        this.bucketCounts = new AtomicLongArray(bounds.length + 1);
+    }
+
+    public void observe(double value) {
+        int i = 0;
+        while (i < bounds.length && value > bounds[i]) {
+            i++;
+        }
+        bucketCounts.incrementAndGet(i);
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Drain the observations since the last drain into records, as
+     * {@code <metricName>_bucket} for each bound with label {@code le} (cumulative, {@code +Inf} for all),
+     * {@code <metricName>_count}, {@code <metricName>_sum} and {@code <metricName>_max};
+     * nothing if no observation.
+     * The observations made while draining may go to the next drain, or be split.
+     */
+    public List<KeelMetricRecord> drain(@Nonnull String topic, @Nonnull String metricName, @Nonnull Map<String, String> labels) {
+        List<KeelMetricRecord> records = new ArrayList<>();
+        long[] counts = new long[bucketCounts.length()];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = bucketCounts.getAndSet(i, 0);
+            total += counts[i];
+        }
+        double drainedSum = sum.sumThenReset();
+        double drainedMax = max.getThenReset();
+        if (total == 0) {
+            return records;
+        }
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            String le = i < bounds.length ? String.valueOf(bounds[i]) : "+Inf";
+            records.add(labeled(new KeelMetricRecord(topic, metricName + "_bucket", cumulative), labels).label("le", le));
+        }
+        records.add(labeled(new KeelMetricRecord(topic, metricName + "_count", total), labels));
+        records.add(labeled(new KeelMetricRecord(topic, metricName + "_sum", drainedSum), labels));
+        records.add(labeled(new KeelMetricRecord(topic, metricName + "_max", drainedMax), labels));
+        return records;
+    }
+
+    private static KeelMetricRecord labeled(@Nonnull KeelMetricRecord record, @Nonnull Map<String, String> labels) {
+        labels.forEach(record::label);
+        return record;
+    }
+}
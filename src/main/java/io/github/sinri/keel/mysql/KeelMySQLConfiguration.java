@@ -24,6 +24,8 @@ import static io.github.sinri.keel.facade.KeelInstance.Keel;
  * poolMaxSize = 128;
  * poolShared = false;
  * tcpKeepAlive=false;
+ * cachePreparedStatements = false;
+ * preparedStatementCacheMaxSize = 256;
  */
 public class KeelMySQLConfiguration extends KeelConfigElement {
     //private final @Nonnull String dataSourceName;
@@ -60,6 +62,13 @@ public class KeelMySQLConfiguration extends KeelConfigElement {
             mySQLConnectOptions.setConnectTimeout(connectionTimeout);
         }
 
+        // since 3.2.3: the per-connection LRU cache of prepared statements
+        mySQLConnectOptions.setCachePreparedStatements(getCachePreparedStatements());
+        Integer preparedStatementCacheMaxSize = getPreparedStatementCacheMaxSize();
+        if (preparedStatementCacheMaxSize != null) {
+            mySQLConnectOptions.setPreparedStatementCacheMaxSize(preparedStatementCacheMaxSize);
+        }
+
         return mySQLConnectOptions;
     }
 
@@ -163,6 +172,27 @@ public class KeelMySQLConfiguration extends KeelConfigElement {
         return readBoolean("poolShared", true);
     }
 
+    /**
+     * Whether each connection keeps the statements prepared in an LRU cache, to be reused by the same SQL.
+     * It pays off for the statements executed with bound parameters, see
+     * {@link io.github.sinri.keel.mysql.statement.AbstractStatement#setParameterized(boolean)}.
+     * Mind that the server limits the total prepared statements by {@code max_prepared_stmt_count}.
+     *
+     * @since 3.2.3
+     */
+    public boolean getCachePreparedStatements() {
+        return readBoolean("cachePreparedStatements", false);
+    }
+
+    /**
+     * @return the max count of prepared statements cached on each connection, or null for the default (256).
+     * @since 3.2.3
+     */
+    public Integer getPreparedStatementCacheMaxSize() {
+        var x = getChild("preparedStatementCacheMaxSize");
+        if (x == null) return null;
+        return x.getValueAsInteger();
+    }
 
     /**
      * With Client to run SQL on target MySQL Database one-time.
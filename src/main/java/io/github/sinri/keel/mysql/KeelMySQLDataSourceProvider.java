@@ -37,4 +37,26 @@ public class KeelMySQLDataSourceProvider {
     public static NamedMySQLDataSource<DynamicNamedMySQLConnection> initializeDynamicNamedMySQLDataSource(@Nonnull String dataSourceName) {
         return initializeNamedMySQLDataSource(dataSourceName, sqlConnection -> new DynamicNamedMySQLConnection(sqlConnection, dataSourceName));
     }
+
+    /**
+     * @see RoutedMySQLDataSource
+     * @since 3.2.3
+     */
+    public static <C extends NamedMySQLConnection> RoutedMySQLDataSource<C> initializeRoutedMySQLDataSource(
+            @Nonnull String dataSourceName,
+            Function<SqlConnection, C> sqlConnectionWrapper
+    ) {
+        var configuration = Keel.getConfiguration().extract("mysql", dataSourceName);
+        Objects.requireNonNull(configuration);
+        KeelMySQLConfiguration mySQLConfigure = new KeelMySQLConfiguration(configuration);
+        return new RoutedMySQLDataSource<>(mySQLConfigure, sqlConnectionWrapper);
+    }
+
+    /**
+     * @see RoutedMySQLDataSource
+     * @since 3.2.3
+     */
+    public static RoutedMySQLDataSource<DynamicNamedMySQLConnection> initializeDynamicRoutedMySQLDataSource(@Nonnull String dataSourceName) {
+        return initializeRoutedMySQLDataSource(dataSourceName, sqlConnection -> new DynamicNamedMySQLConnection(sqlConnection, dataSourceName));
+    }
 }
@@ -1,8 +1,14 @@
 package io.github.sinri.keel.mysql;
 
+import io.github.sinri.keel.logger.metric.KeelMetricHistogram;
+import io.github.sinri.keel.logger.metric.KeelMetricRecord;
+import io.github.sinri.keel.logger.metric.KeelMetricRecorder;
 import io.github.sinri.keel.mysql.exception.KeelMySQLConnectionException;
 import io.github.sinri.keel.mysql.exception.KeelMySQLException;
 import io.github.sinri.keel.mysql.matrix.ResultMatrix;
+import io.github.sinri.keel.mysql.statement.AbstractReadStatement;
+import io.github.sinri.keel.mysql.statement.AbstractStatement;
+import io.github.sinri.keel.mysql.statement.AnyStatement;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -14,7 +20,10 @@ import io.vertx.sqlclient.TransactionRollbackException;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
@@ -28,6 +37,12 @@ import static io.github.sinri.keel.facade.KeelInstance.Keel;
  * @since 3.0.18 Finished Technical Preview.
  */
 public class NamedMySQLDataSource<C extends NamedMySQLConnection> {
+    /**
+     * The topic of the metric records of the data sources and the statements.
+     *
+     * @since 3.2.3
+     */
+    public static final String METRIC_TOPIC = "keel-mysql";
 
     private final Pool pool;
     private final KeelMySQLConfiguration configuration;
@@ -39,6 +54,32 @@ public class NamedMySQLDataSource<C extends NamedMySQLConnection> {
     private final Function<SqlConnection, C> sqlConnectionWrapper;
 
     private final AtomicReference<String> fullVersionRef = new AtomicReference<>(null);
+    /**
+     * @since 3.2.3
+     */
+    private final AtomicInteger inUseCounter = new AtomicInteger(0);
+    /**
+     * @since 3.2.3
+     */
+    private final AtomicInteger waitingCounter = new AtomicInteger(0);
+    /**
+     * @since 3.2.3
+     */
+    private final AtomicLong acquiredCounter = new AtomicLong(0);
+    /**
+     * @since 3.2.3
+     */
+    private final AtomicLong acquireFailedCounter = new AtomicLong(0);
+    /**
+     * In milliseconds.
+     *
+     * @since 3.2.3
+     */
+    private final KeelMetricHistogram acquireLatencyHistogram = new KeelMetricHistogram();
+    /**
+     * @since 3.2.3
+     */
+    private long metricTimerId = -1;
 
     public NamedMySQLDataSource(
             @Nonnull KeelMySQLConfiguration configuration,
@@ -96,13 +137,71 @@ public class NamedMySQLDataSource<C extends NamedMySQLConnection> {
     }
 
     /**
-     * @return the number of connections in use right now
+     * @return roughly the number of connections idle in the pool; see {@link NamedMySQLDataSource#getPoolStatistics()}.
      * @since 3.0.2
      */
     public int getAvailableConnectionCount() {
         return connectionAvailableCounter.get();
     }
 
+    /**
+     * @return the counts of connections: {@code size} opened, {@code in_use}, {@code idle},
+     *         {@code waiting} for one, and {@code acquired} and {@code acquire_failed} in total.
+     * @since 3.2.3
+     */
+    public JsonObject getPoolStatistics() {
+        int size = pool.size();
+        int inUse = inUseCounter.get();
+        return new JsonObject()
+                .put("data_source", configuration.getDataSourceName())
+                .put("max_size", configuration.getPoolOptions().getMaxSize())
+                .put("size", size)
+                .put("in_use", inUse)
+                .put("idle", Math.max(0, size - inUse))
+                .put("waiting", waitingCounter.get())
+                .put("acquired", acquiredCounter.get())
+                .put("acquire_failed", acquireFailedCounter.get());
+    }
+
+    /**
+     * Emit the pool metrics to the recorder each interval, while the data source is open:
+     * gauges {@code mysql_pool_size}, {@code mysql_pool_in_use}, {@code mysql_pool_idle}, {@code mysql_pool_waiting},
+     * and the histogram {@code mysql_pool_acquire_latency} in milliseconds (see {@link KeelMetricHistogram}),
+     * all labeled with {@code data_source}, under topic {@link NamedMySQLDataSource#METRIC_TOPIC}.
+     * <p>
+     * For the metrics of statements, see {@link AbstractStatement#setMetricRecorder(KeelMetricRecorder, long)}.
+     *
+     * @param metricRecorder the started recorder, or null to stop emitting.
+     * @param interval       in milliseconds.
+     * @since 3.2.3
+     */
+    public NamedMySQLDataSource<C> setMetricRecorder(@Nullable KeelMetricRecorder metricRecorder, long interval) {
+        if (metricTimerId >= 0) {
+            Keel.getVertx().cancelTimer(metricTimerId);
+            metricTimerId = -1;
+        }
+        if (metricRecorder != null) {
+            metricTimerId = Keel.getVertx().setPeriodic(interval, timerID -> emitPoolMetrics(metricRecorder));
+        }
+        return this;
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    private void emitPoolMetrics(@Nonnull KeelMetricRecorder metricRecorder) {
+        String dataSourceName = configuration.getDataSourceName();
+        JsonObject statistics = getPoolStatistics();
+        for (String key : List.of("size", "in_use", "idle", "waiting")) {
+            metricRecorder.recordMetric(
+                    new KeelMetricRecord(METRIC_TOPIC, "mysql_pool_" + key, statistics.getInteger(key))
+                            .label("data_source", dataSourceName)
+            );
+        }
+        acquireLatencyHistogram.drain(METRIC_TOPIC, "mysql_pool_acquire_latency", Map.of("data_source", dataSourceName))
+                .forEach(metricRecorder::recordMetric);
+    }
+
     /**
      * @since 3.1.0
      */
@@ -139,6 +238,7 @@ public class NamedMySQLDataSource<C extends NamedMySQLConnection> {
                                 return function.apply(sqlConnectionWrapper);
                             })
                             .andThen(tAsyncResult -> {
+                                inUseCounter.decrementAndGet();
                                 sqlConnectionWrapper.getSqlConnection().close();
                                 connectionAvailableCounter.incrementAndGet();
                             })
@@ -151,6 +251,32 @@ public class NamedMySQLDataSource<C extends NamedMySQLConnection> {
                 });
     }
 
+    /**
+     * Run the function on a connection only for reading, without transaction;
+     * here it is the same as {@link NamedMySQLDataSource#withConnection(Function)},
+     * while {@link RoutedMySQLDataSource} sends it to a replica.
+     *
+     * @since 3.2.3
+     */
+    public <T> Future<T> withReadConnection(@Nonnull Function<C, Future<T>> function) {
+        return withConnection(function);
+    }
+
+    /**
+     * Execute the statement on a connection of its own:
+     * the read-only ones (see {@link AbstractReadStatement#isReadOnly()}) by
+     * {@link NamedMySQLDataSource#withReadConnection(Function)}, the others by
+     * {@link NamedMySQLDataSource#withConnection(Function)}.
+     *
+     * @since 3.2.3
+     */
+    public Future<ResultMatrix> execute(@Nonnull AnyStatement statement) {
+        if (statement instanceof AbstractReadStatement && ((AbstractReadStatement) statement).isReadOnly()) {
+            return withReadConnection(statement::execute);
+        }
+        return withConnection(statement::execute);
+    }
+
     public <T> Future<T> withTransaction(@Nonnull Function<C, Future<T>> function) {
         return withConnection(c -> {
             return c.getSqlConnection().begin()
@@ -183,6 +309,7 @@ public class NamedMySQLDataSource<C extends NamedMySQLConnection> {
      * @since 3.0.5
      */
     public Future<Void> close() {
+        setMetricRecorder(null, 0);
         return this.pool.close();
     }
 
@@ -190,11 +317,24 @@ public class NamedMySQLDataSource<C extends NamedMySQLConnection> {
      * @since 3.0.5
      */
     public void close(@Nonnull Handler<AsyncResult<Void>> ar) {
+        setMetricRecorder(null, 0);
         this.pool.close(ar);
     }
 
     protected Future<C> fetchMySQLConnection() {
+        waitingCounter.incrementAndGet();
+        long startTime = System.nanoTime();
         return pool.getConnection()
+                .andThen(ar -> {
+                    waitingCounter.decrementAndGet();
+                    if (ar.succeeded()) {
+                        inUseCounter.incrementAndGet();
+                        acquiredCounter.incrementAndGet();
+                        acquireLatencyHistogram.observe((System.nanoTime() - startTime) / 1e6);
+                    } else {
+                        acquireFailedCounter.incrementAndGet();
+                    }
+                })
                 .compose(sqlConnection -> {
                     connectionAvailableCounter.decrementAndGet();
                     C c = this.sqlConnectionWrapper.apply(sqlConnection);
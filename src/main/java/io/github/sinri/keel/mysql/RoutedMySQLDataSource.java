@@ -0,0 +1,264 @@
+package io.github.sinri.keel.mysql;
+
+import io.github.sinri.keel.facade.configuration.KeelConfigElement;
+import io.github.sinri.keel.logger.metric.KeelMetricRecorder;
+import io.github.sinri.keel.mysql.exception.KeelMySQLConnectionException;
+import io.github.sinri.keel.mysql.matrix.ResultMatrix;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.SqlConnection;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static io.github.sinri.keel.facade.KeelInstance.Keel;
+
+/**
+ * 读写分离的数据源：主库即本数据源自身，另按配置连接若干从库。
+ * <p>
+ * {@link NamedMySQLDataSource#withConnection(Function)} 与 {@link NamedMySQLDataSource#withTransaction(Function)} 总在主库；
+ * {@link RoutedMySQLDataSource#withReadConnection(Function)}（以及经由它的
+ * {@link NamedMySQLDataSource#execute(io.github.sinri.keel.mysql.statement.AnyStatement)} 中的只读语句）
+ * 发往在途请求最少的健康从库，没有健康从库时回落到主库。
+ * <p>
+ * 各从库定期检查：执行 {@code SHOW REPLICA STATUS}（或旧版的 {@code SHOW SLAVE STATUS}，需 REPLICATION CLIENT 权限），
+ * 复制中断或延迟超过上限的从库被摘除，直到检查恢复；取连接失败的从库也立即摘除。
+ * <p>
+ * Configuration under {@code mysql.<name>}, besides those of the primary:
+ * <ul>
+ *     <li>{@code replicas.<replica>.*}: the replica, overriding the keys of the primary, such as {@code host}.</li>
+ *     <li>{@code replicaMaxLagSeconds}: 10 by default.</li>
+ *     <li>{@code replicaHealthCheckInterval}: in milliseconds, 5000 by default.</li>
+ *     <li>{@code replicaLagCheck}: true by default; false to check with {@code SELECT 1} only.</li>
+ * </ul>
+ *
+ * @param <C> the named connection
+ * @since 3.2.3
+ */
+public class RoutedMySQLDataSource<C extends NamedMySQLConnection> extends NamedMySQLDataSource<C> {
+    private final List<Replica<C>> replicas;
+    private final long replicaMaxLagSeconds;
+    private final boolean replicaLagCheck;
+    private final long healthCheckTimerId;
+    private final AtomicInteger roundRobinCounter = new AtomicInteger(0);
+
+    public RoutedMySQLDataSource(
+            @Nonnull KeelMySQLConfiguration configuration,
+            @Nonnull Function<SqlConnection, C> sqlConnectionWrapper
+    ) {
+        this(configuration, sqlConnection -> Future.succeededFuture(), sqlConnectionWrapper);
+    }
+
+    public RoutedMySQLDataSource(
+            @Nonnull KeelMySQLConfiguration configuration,
+            @Nullable Function<SqlConnection, Future<Void>> connectionSetUpFunction,
+            @Nonnull Function<SqlConnection, C> sqlConnectionWrapper
+    ) {
+        super(configuration, connectionSetUpFunction, sqlConnectionWrapper);
+        this.replicaMaxLagSeconds = configuration.readLong("replicaMaxLagSeconds", 10L);
+        this.replicaLagCheck = configuration.readBoolean("replicaLagCheck", true);
+
+        List<Replica<C>> list = new ArrayList<>();
+        KeelConfigElement replicasElement = configuration.getChild("replicas");
+        if (replicasElement != null) {
+            replicasElement.getChildren().forEach((replicaName, replicaElement) -> {
+                KeelMySQLConfiguration replicaConfiguration = buildReplicaConfiguration(configuration, replicaElement);
+                list.add(new Replica<>(
+                        replicaName,
+                        new NamedMySQLDataSource<>(replicaConfiguration, connectionSetUpFunction, sqlConnectionWrapper)
+                ));
+            });
+        }
+        this.replicas = Collections.unmodifiableList(list);
+
+        long interval = configuration.readLong("replicaHealthCheckInterval", 5000L);
+        if (replicas.isEmpty()) {
+            this.healthCheckTimerId = -1;
+        } else {
+            this.healthCheckTimerId = Keel.getVertx().setPeriodic(interval, timerID -> checkReplicas());
+        }
+    }
+
+    /**
+     * The replica inherits the keys of the primary except the replica settings, and is named as
+     * {@code <primary>.<replica>} to keep its pool apart.
+     */
+    private static KeelMySQLConfiguration buildReplicaConfiguration(
+            @Nonnull KeelMySQLConfiguration primaryConfiguration,
+            @Nonnull KeelConfigElement replicaElement
+    ) {
+        KeelConfigElement merged = new KeelConfigElement(primaryConfiguration.getDataSourceName() + "." + replicaElement.getName());
+        primaryConfiguration.getChildren().forEach((key, child) -> {
+            if (!"replicas".equals(key)) {
+                merged.addChild(child);
+            }
+        });
+        replicaElement.getChildren().values().forEach(merged::addChild);
+        return new KeelMySQLConfiguration(merged);
+    }
+
+    /**
+     * Run the function on a connection of the healthy replica with the fewest requests in flight,
+     * or of the primary if none is healthy.
+     * Only for reading, and no transaction is expected.
+     */
+    @Override
+    public <T> Future<T> withReadConnection(@Nonnull Function<C, Future<T>> function) {
+        Replica<C> replica = chooseReplica();
+        if (replica == null) {
+            return withConnection(function);
+        }
+        replica.outstanding.incrementAndGet();
+        return replica.dataSource.withConnection(function)
+                .andThen(ar -> replica.outstanding.decrementAndGet())
+                .recover(throwable -> {
+                    if (throwable instanceof KeelMySQLConnectionException) {
+                        // no connection taken, so the function did not run; eject it and fall back to the primary.
+                        eject(replica, "failed to get connection: " + throwable);
+                        return withConnection(function);
+                    }
+                    return Future.failedFuture(throwable);
+                });
+    }
+
+    @Nullable
+    private Replica<C> chooseReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        // start from a rotating index, so that the ties are spread.
+        int start = Math.floorMod(roundRobinCounter.getAndIncrement(), size);
+        Replica<C> chosen = null;
+        for (int i = 0; i < size; i++) {
+            Replica<C> replica = replicas.get((start + i) % size);
+            if (replica.healthy && (chosen == null || replica.outstanding.get() < chosen.outstanding.get())) {
+                chosen = replica;
+            }
+        }
+        return chosen;
+    }
+
+    private void eject(@Nonnull Replica<C> replica, @Nonnull String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            Keel.getLogger().warning(
+                    "RoutedMySQLDataSource `" + getConfiguration().getDataSourceName() + "` ejected replica " + replica.name,
+                    new JsonObject().put("reason", reason)
+            );
+        }
+    }
+
+    private void checkReplicas() {
+        replicas.forEach(replica -> replica.dataSource
+                .withConnection(c -> queryReplicationLag(c.getSqlConnection()))
+                .onComplete(ar -> {
+                    if (ar.failed()) {
+                        eject(replica, "health check failed: " + ar.cause());
+                        return;
+                    }
+                    Long lag = ar.result();
+                    replica.lagSeconds = lag;
+                    if (lag == null) {
+                        eject(replica, "replication stopped");
+                    } else if (lag > replicaMaxLagSeconds) {
+                        eject(replica, "lagging " + lag + " seconds");
+                    } else {
+                        replica.healthy = true;
+                    }
+                }));
+    }
+
+    /**
+     * @return seconds behind the source, 0 if not configured as a replica, or null if the replication stopped.
+     */
+    private Future<Long> queryReplicationLag(@Nonnull SqlConnection sqlConnection) {
+        if (!replicaLagCheck) {
+            return sqlConnection.query("SELECT 1").execute().map(rows -> 0L);
+        }
+        return sqlConnection.query("SHOW REPLICA STATUS").execute()
+                .recover(throwable -> sqlConnection.query("SHOW SLAVE STATUS").execute())
+                .map(rows -> {
+                    ResultMatrix resultMatrix = ResultMatrix.create(rows);
+                    if (resultMatrix.getTotalFetchedRows() == 0) {
+                        return 0L;
+                    }
+                    JsonObject row = resultMatrix.getRowList().get(0);
+                    String key = row.containsKey("Seconds_Behind_Source") ? "Seconds_Behind_Source" : "Seconds_Behind_Master";
+                    return row.getLong(key);
+                });
+    }
+
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    public int getHealthyReplicaCount() {
+        int count = 0;
+        for (Replica<C> replica : replicas) {
+            if (replica.healthy) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public JsonObject getStatistics() {
+        JsonArray array = new JsonArray();
+        replicas.forEach(replica -> array.add(new JsonObject()
+                .put("name", replica.name)
+                .put("healthy", replica.healthy)
+                .put("outstanding", replica.outstanding.get())
+                .put("lag_seconds", replica.lagSeconds)
+                .put("pool", replica.dataSource.getPoolStatistics())
+        ));
+        return new JsonObject()
+                .put("primary", getPoolStatistics())
+                .put("replicas", array);
+    }
+
+    /**
+     * The replicas emit their pool metrics to the recorder as well, labeled with {@code <primary>.<replica>}.
+     */
+    @Override
+    public RoutedMySQLDataSource<C> setMetricRecorder(@Nullable KeelMetricRecorder metricRecorder, long interval) {
+        super.setMetricRecorder(metricRecorder, interval);
+        replicas.forEach(replica -> replica.dataSource.setMetricRecorder(metricRecorder, interval));
+        return this;
+    }
+
+    @Override
+    public Future<Void> close() {
+        Keel.getVertx().cancelTimer(healthCheckTimerId);
+        List<Future<Void>> futures = new ArrayList<>();
+        futures.add(super.close());
+        replicas.forEach(replica -> futures.add(replica.dataSource.close()));
+        return Future.join(futures).mapEmpty();
+    }
+
+    @Override
+    public void close(@Nonnull Handler<AsyncResult<Void>> ar) {
+        close().onComplete(ar);
+    }
+
+    private static final class Replica<C extends NamedMySQLConnection> {
+        final String name;
+        final NamedMySQLDataSource<C> dataSource;
+        final AtomicInteger outstanding = new AtomicInteger(0);
+        volatile boolean healthy = true;
+        volatile Long lagSeconds = null;
+
+        Replica(@Nonnull String name, @Nonnull NamedMySQLDataSource<C> dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
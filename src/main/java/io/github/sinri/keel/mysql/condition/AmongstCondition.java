@@ -2,6 +2,7 @@ package io.github.sinri.keel.mysql.condition;
 
 import io.github.sinri.keel.mysql.Quoter;
 import io.github.sinri.keel.mysql.exception.KeelSQLGenerateError;
+import io.vertx.sqlclient.Tuple;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -16,12 +17,25 @@ import static io.github.sinri.keel.helper.KeelHelpersInterface.KeelHelpers;
 public class AmongstCondition implements MySQLCondition {
     public static final String OP_IN = "IN";
     protected final List<String> targetSet;
+    /**
+     * The values to bind in place of the items of {@link AmongstCondition#targetSet}, null for expressions.
+     *
+     * @since 3.2.3
+     */
+    protected final List<Object> targetParameters;
     protected String element;
+    /**
+     * The value to bind in place of the element, or null when the element is an expression.
+     *
+     * @since 3.2.3
+     */
+    protected Object elementParameter;
     protected boolean inverseOperator;
 
     public AmongstCondition() {
         this.inverseOperator = false;
         this.targetSet = new ArrayList<>();
+        this.targetParameters = new ArrayList<>();
     }
 
     public AmongstCondition not() {
@@ -62,16 +76,19 @@ public class AmongstCondition implements MySQLCondition {
 
     public AmongstCondition elementAsExpression(@Nonnull String element) {
         this.element = element;
+        this.elementParameter = null;
         return this;
     }
 
     public AmongstCondition elementAsValue(@Nullable String element) {
         this.element = new Quoter(element).toString();
+        this.elementParameter = element;
         return this;
     }
 
     public AmongstCondition elementAsValue(@Nullable Number element) {
         this.element = new Quoter(element).toString();
+        this.elementParameter = element;
         return this;
     }
 
@@ -107,7 +124,7 @@ public class AmongstCondition implements MySQLCondition {
     @Deprecated(since = "3.1.8", forRemoval = true)
     public AmongstCondition amongstValueList(@Nonnull Collection<?> targetSet) {
         for (Object next : targetSet) {
-            this.targetSet.add(new Quoter(String.valueOf(next)).toString());
+            this.addTarget(new Quoter(String.valueOf(next)).toString(), String.valueOf(next));
         }
         return this;
     }
@@ -140,7 +157,7 @@ public class AmongstCondition implements MySQLCondition {
     @Deprecated(since = "3.1.8", forRemoval = true)
     public AmongstCondition amongstValueArray(@Nonnull Object[] targetSet) {
         for (Object next : targetSet) {
-            this.targetSet.add(new Quoter(String.valueOf(next)).toString());
+            this.addTarget(new Quoter(String.valueOf(next)).toString(), String.valueOf(next));
         }
         return this;
     }
@@ -150,7 +167,7 @@ public class AmongstCondition implements MySQLCondition {
      */
     @Deprecated(since = "3.1.8")
     public AmongstCondition amongstValue(@Nullable String value) {
-        this.targetSet.add(new Quoter(value).toString());
+        this.addTarget(new Quoter(value).toString(), value);
         return this;
     }
 
@@ -159,9 +176,9 @@ public class AmongstCondition implements MySQLCondition {
      */
     protected AmongstCondition amongstLiteralValue(@Nullable Object value) {
         if (value == null) {
-            this.targetSet.add("NULL");
+            this.addTarget("NULL", null);
         } else {
-            this.targetSet.add(new Quoter(String.valueOf(value)).toString());
+            this.addTarget(new Quoter(String.valueOf(value)).toString(), String.valueOf(value));
         }
         return this;
     }
@@ -171,7 +188,7 @@ public class AmongstCondition implements MySQLCondition {
      */
     @Deprecated(since = "3.1.8", forRemoval = true)
     public AmongstCondition amongstValue(@Nullable Number value) {
-        this.targetSet.add(new Quoter(value).toString());
+        this.addTarget(new Quoter(value).toString(), value);
         return this;
     }
 
@@ -180,12 +197,12 @@ public class AmongstCondition implements MySQLCondition {
      */
     protected AmongstCondition amongstNumericValue(@Nullable Number value) {
         if (value == null) {
-            this.targetSet.add("NULL");
+            this.addTarget("NULL", null);
         } else {
             if (value instanceof BigDecimal) {
-                this.targetSet.add(((BigDecimal) value).toPlainString());
+                this.addTarget(((BigDecimal) value).toPlainString(), value);
             } else {
-                this.targetSet.add(value.toString());
+                this.addTarget(value.toString(), value);
             }
         }
         return this;
@@ -195,10 +212,20 @@ public class AmongstCondition implements MySQLCondition {
      * @since 3.1.8 protected
      */
     protected AmongstCondition amongstExpression(@Nonnull String value) {
-        this.targetSet.add(Objects.requireNonNull(value));
+        this.addTarget(Objects.requireNonNull(value), null);
         return this;
     }
 
+    /**
+     * @param quoted    the target as it is in SQL
+     * @param parameter the value to bind in place of it, or null to keep it in SQL
+     * @since 3.2.3
+     */
+    private void addTarget(@Nonnull String quoted, @Nullable Object parameter) {
+        this.targetSet.add(quoted);
+        this.targetParameters.add(parameter);
+    }
+
     /**
      * @since 3.1.8 renamed from `amongstExpression`
      */
@@ -225,4 +252,42 @@ public class AmongstCondition implements MySQLCondition {
         s += " " + OP_IN + " (" + KeelHelpers.stringHelper().joinStringArray(targetSet, ",") + ")";
         return s;
     }
+
+    /**
+     * 生成SQL的比较条件表达式文本，值以占位符代替。如果出错，则抛出 KeelSQLGenerateError 异常。
+     *
+     * @throws KeelSQLGenerateError sql generate error
+     * @since 3.2.3
+     */
+    @Override
+    public String toParameterizedString(@Nonnull Tuple parameters) {
+        if (targetSet.isEmpty()) {
+            throw new KeelSQLGenerateError("AmongstCondition Target Set Empty");
+        }
+        if (targetParameters.size() != targetSet.size()) {
+            // the target set was modified directly by a subclass
+            return toString();
+        }
+
+        String s = element;
+        if (elementParameter != null) {
+            s = "?";
+            parameters.addValue(elementParameter);
+        }
+        if (inverseOperator) {
+            s += " NOT";
+        }
+        List<String> targets = new ArrayList<>(targetSet.size());
+        for (int i = 0; i < targetSet.size(); i++) {
+            Object parameter = targetParameters.get(i);
+            if (parameter == null) {
+                targets.add(targetSet.get(i));
+            } else {
+                targets.add("?");
+                parameters.addValue(parameter);
+            }
+        }
+        s += " " + OP_IN + " (" + KeelHelpers.stringHelper().joinStringArray(targets, ",") + ")";
+        return s;
+    }
 }
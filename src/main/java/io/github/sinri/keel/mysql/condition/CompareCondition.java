@@ -1,6 +1,7 @@
 package io.github.sinri.keel.mysql.condition;
 
 import io.github.sinri.keel.mysql.Quoter;
+import io.vertx.sqlclient.Tuple;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -20,6 +21,18 @@ public class CompareCondition implements MySQLCondition {
     protected String operator;
     protected String rightSide;
     protected boolean inverseOperator;
+    /**
+     * The value to bind in place of the left side, or null when the left side is an expression.
+     *
+     * @since 3.2.3
+     */
+    protected @Nullable Object leftSideParameter;
+    /**
+     * The value to bind in place of the right side, or null when the right side is an expression.
+     *
+     * @since 3.2.3
+     */
+    protected @Nullable Object rightSideParameter;
 
     public CompareCondition() {
         this.leftSide = null;
@@ -123,11 +136,13 @@ public class CompareCondition implements MySQLCondition {
 
     public CompareCondition compareExpression(@Nonnull Object leftSide) {
         this.leftSide = leftSide.toString();
+        this.leftSideParameter = null;
         return this;
     }
 
     public CompareCondition compareValue(@Nullable Object leftSide) {
         this.leftSide = String.valueOf(new Quoter(String.valueOf(leftSide)));
+        this.leftSideParameter = String.valueOf(leftSide);
         return this;
     }
 
@@ -165,6 +180,7 @@ public class CompareCondition implements MySQLCondition {
 
     public CompareCondition againstExpression(@Nonnull String rightSide) {
         this.rightSide = rightSide;
+        this.rightSideParameter = null;
         return this;
     }
 
@@ -183,6 +199,7 @@ public class CompareCondition implements MySQLCondition {
      */
     public CompareCondition againstLiteralValue(@Nullable Object rightSide) {
         this.rightSide = String.valueOf(new Quoter(String.valueOf(rightSide)));
+        this.rightSideParameter = String.valueOf(rightSide);
         return this;
     }
 
@@ -195,30 +212,35 @@ public class CompareCondition implements MySQLCondition {
         } else {
             this.rightSide = rightSide.toString();
         }
+        this.rightSideParameter = rightSide;
         return this;
     }
 
     public CompareCondition isNull() {
         this.operator = OP_IS;
         this.rightSide = "NULL";
+        this.rightSideParameter = null;
         return this;
     }
 
     public CompareCondition isTrue() {
         this.operator = OP_IS;
         this.rightSide = "TRUE";
+        this.rightSideParameter = null;
         return this;
     }
 
     public CompareCondition isFalse() {
         this.operator = OP_IS;
         this.rightSide = "FALSE";
+        this.rightSideParameter = null;
         return this;
     }
 
     public CompareCondition isUnknown() {
         this.operator = OP_IS;
         this.rightSide = "UNKNOWN";
+        this.rightSideParameter = null;
         return this;
     }
 
@@ -226,6 +248,7 @@ public class CompareCondition implements MySQLCondition {
         this.operator = OP_LIKE;
         String x = Quoter.escapeStringWithWildcards(rightSide);
         this.rightSide = "'%" + x + "%'";
+        this.rightSideParameter = "%" + escapeWildcards(rightSide) + "%";
         return this;
     }
 
@@ -233,6 +256,7 @@ public class CompareCondition implements MySQLCondition {
         this.operator = "like";
         String x = Quoter.escapeStringWithWildcards(rightSide);
         this.rightSide = "'" + x + "%'";
+        this.rightSideParameter = escapeWildcards(rightSide) + "%";
         return this;
     }
 
@@ -240,9 +264,21 @@ public class CompareCondition implements MySQLCondition {
         this.operator = "like";
         String x = Quoter.escapeStringWithWildcards(rightSide);
         this.rightSide = "'%" + x + "'";
+        this.rightSideParameter = "%" + escapeWildcards(rightSide);
         return this;
     }
 
+    /**
+     * Escape the wildcards in a bound LIKE pattern, no quoting needed.
+     *
+     * @since 3.2.3
+     */
+    private static String escapeWildcards(@Nonnull String s) {
+        return s.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
     /**
      * A macro for quick coding
      *
@@ -294,4 +330,28 @@ public class CompareCondition implements MySQLCondition {
         }
         return x;
     }
+
+    /**
+     * 生成SQL的条件表达式文本，值以占位符代替。
+     *
+     * @since 3.2.3
+     */
+    @Override
+    public String toParameterizedString(@Nonnull Tuple parameters) {
+        String left = leftSide;
+        if (leftSideParameter != null) {
+            left = "?";
+            parameters.addValue(leftSideParameter);
+        }
+        String right = rightSide;
+        if (rightSideParameter != null) {
+            right = "?";
+            parameters.addValue(rightSideParameter);
+        }
+        String x = left + " " + operator + " " + right;
+        if (inverseOperator) {
+            x = "NOT (" + x + ")";
+        }
+        return x;
+    }
 }
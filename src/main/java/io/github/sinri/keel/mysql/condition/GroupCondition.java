@@ -1,6 +1,7 @@
 package io.github.sinri.keel.mysql.condition;
 
 import io.github.sinri.keel.mysql.exception.KeelSQLGenerateError;
+import io.vertx.sqlclient.Tuple;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
@@ -51,4 +52,25 @@ public class GroupCondition implements MySQLCondition {
         }
         return "(" + x + ")";
     }
+
+    /**
+     * 生成SQL的组合逻辑条件表达式文本，值以占位符代替。如果出错，则抛出 KeelSQLGenerateError 异常。
+     *
+     * @throws KeelSQLGenerateError sql generate error
+     * @since 3.2.3
+     */
+    @Override
+    public String toParameterizedString(@Nonnull Tuple parameters) {
+        if (conditions.isEmpty()) {
+            return "";
+        }
+        StringBuilder x = new StringBuilder();
+        for (MySQLCondition condition : conditions) {
+            if (x.length() > 0) {
+                x.append(" ").append(junction).append(" ");
+            }
+            x.append(condition.toParameterizedString(parameters));
+        }
+        return "(" + x + ")";
+    }
 }
@@ -1,6 +1,9 @@
 package io.github.sinri.keel.mysql.condition;
 
 import io.github.sinri.keel.mysql.exception.KeelSQLGenerateError;
+import io.vertx.sqlclient.Tuple;
+
+import javax.annotation.Nonnull;
 
 /**
  * @since 2.8 became interface
@@ -13,4 +16,17 @@ public interface MySQLCondition {
      * @throws KeelSQLGenerateError when the sql component could not be generated correctly
      */
     String toString();
-}
\ No newline at end of file
+
+    /**
+     * 生成以占位符 {@code ?} 代替值的SQL条件表达式文本，并将值按顺序加入 parameters。
+     * 默认与 {@link MySQLCondition#toString()} 相同，不加入任何值。
+     *
+     * @param parameters the values to bind, in the order of the placeholders
+     * @return The generated SQL component with placeholders
+     * @throws KeelSQLGenerateError when the sql component could not be generated correctly
+     * @since 3.2.3
+     */
+    default String toParameterizedString(@Nonnull Tuple parameters) {
+        return toString();
+    }
+}
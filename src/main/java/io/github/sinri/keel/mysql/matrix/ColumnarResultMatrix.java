@@ -0,0 +1,637 @@
+package io.github.sinri.keel.mysql.matrix;
+
+import io.github.sinri.keel.mysql.exception.KeelSQLResultRowIndexError;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mysqlclient.MySQLClient;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
+import io.vertx.sqlclient.data.Numeric;
+import io.vertx.sqlclient.desc.ColumnDescriptor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.sql.JDBCType;
+import java.util.*;
+
+import static io.github.sinri.keel.helper.KeelHelpersInterface.KeelHelpers;
+
+/**
+ * A {@link ResultMatrix} decoding the row set once into column vectors, for analytics-style queries
+ * that read a few columns of many rows.
+ * <p>
+ * By the JDBC type of each column:
+ * integral columns are kept in {@code long[]},
+ * floating columns in {@code double[]},
+ * decimal columns as the {@link Numeric} values read, to keep their precision and scale,
+ * character columns (CHAR, VARCHAR, TEXT and the like) as strings, dictionary-encoded by {@code int[]} codes,
+ * and the others, such as JSON, binary and temporal columns, as the objects read,
+ * so that the rows built are the same as {@link Row#toJson()}.
+ * A null bitmap is kept for each column.
+ * <p>
+ * Besides the methods of {@link ResultMatrix}, which build JsonObject rows or {@link Row} views when called,
+ * it offers primitive accessors and reductions, such as {@link ColumnarResultMatrix#getLongColumn(String)},
+ * {@link ColumnarResultMatrix#sum(String)} and {@link ColumnarResultMatrix#groupCount(String)}, without boxing.
+ *
+ * @since 3.2.3
+ */
+public class ColumnarResultMatrix implements ResultMatrix {
+    private final List<String> columnNames;
+    private final Map<String, Column> columnMap;
+    private final Column[] columns;
+    private final int totalFetchedRows;
+    private final int totalAffectedRows;
+    private final @Nullable Long lastInsertedID;
+
+    public ColumnarResultMatrix(@Nonnull RowSet<Row> rowSet) {
+        this.totalFetchedRows = rowSet.size();
+        this.totalAffectedRows = rowSet.rowCount();
+        this.lastInsertedID = rowSet.property(MySQLClient.LAST_INSERTED_ID);
+
+        List<ColumnDescriptor> descriptors = rowSet.columnDescriptors();
+        this.columnNames = new ArrayList<>();
+        this.columnMap = new LinkedHashMap<>();
+        this.columns = new Column[descriptors == null ? 0 : descriptors.size()];
+        for (int i = 0; i < columns.length; i++) {
+            ColumnDescriptor descriptor = descriptors.get(i);
+            columns[i] = Column.create(descriptor.jdbcType(), totalFetchedRows);
+            columnNames.add(descriptor.name());
+            columnMap.put(descriptor.name(), columns[i]);
+        }
+
+        int rowIndex = 0;
+        for (Row row : rowSet) {
+            for (int i = 0; i < columns.length; i++) {
+                columns[i].decode(rowIndex, row.getValue(i));
+            }
+            rowIndex++;
+        }
+    }
+
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(columnNames);
+    }
+
+    @Nonnull
+    private Column column(@Nonnull String columnName) {
+        Column column = columnMap.get(columnName);
+        if (column == null) {
+            throw new IllegalArgumentException("No column named " + columnName);
+        }
+        return column;
+    }
+
+    @Override
+    public int getTotalFetchedRows() {
+        return totalFetchedRows;
+    }
+
+    @Override
+    public int getTotalAffectedRows() {
+        return totalAffectedRows;
+    }
+
+    @Override
+    public long getLastInsertedID() {
+        return Objects.requireNonNull(lastInsertedID);
+    }
+
+    public boolean isNull(@Nonnull String columnName, int rowIndex) {
+        return column(columnName).nulls.get(rowIndex);
+    }
+
+    /**
+     * @return the values of an integral column, 0 for null; the array is not copied, do not modify it.
+     */
+    public long[] getLongColumn(@Nonnull String columnName) {
+        Column column = column(columnName);
+        if (column instanceof LongColumn) {
+            return ((LongColumn) column).values;
+        }
+        throw new IllegalArgumentException("Column " + columnName + " is not integral");
+    }
+
+    /**
+     * @return the values of a numeric column, 0 for null; the array is not copied for a floating column,
+     *         and is converted for an integral or decimal column.
+     */
+    public double[] getDoubleColumn(@Nonnull String columnName) {
+        Column column = column(columnName);
+        if (column instanceof DoubleColumn) {
+            return ((DoubleColumn) column).values;
+        }
+        if (column instanceof LongColumn) {
+            long[] longs = ((LongColumn) column).values;
+            double[] doubles = new double[longs.length];
+            for (int i = 0; i < longs.length; i++) {
+                doubles[i] = longs[i];
+            }
+            return doubles;
+        }
+        if (column instanceof DecimalColumn) {
+            Numeric[] numerics = ((DecimalColumn) column).values;
+            double[] doubles = new double[numerics.length];
+            for (int i = 0; i < numerics.length; i++) {
+                doubles[i] = numerics[i] == null ? 0 : numerics[i].doubleValue();
+            }
+            return doubles;
+        }
+        throw new IllegalArgumentException("Column " + columnName + " is not numeric");
+    }
+
+    /**
+     * @return the exact sum of the non-null values of a decimal or integral column.
+     */
+    public BigDecimal sumAsBigDecimal(@Nonnull String columnName) {
+        Column column = column(columnName);
+        if (column instanceof LongColumn) {
+            return BigDecimal.valueOf(sumAsLong(columnName));
+        }
+        if (column instanceof DecimalColumn) {
+            BigDecimal sum = BigDecimal.ZERO;
+            for (Numeric numeric : ((DecimalColumn) column).values) {
+                if (numeric != null && !numeric.isNaN()) {
+                    sum = sum.add(numeric.bigDecimalValue());
+                }
+            }
+            return sum;
+        }
+        throw new IllegalArgumentException("Column " + columnName + " is not decimal or integral");
+    }
+
+    /**
+     * @return the sum of the non-null values of an integral column.
+     */
+    public long sumAsLong(@Nonnull String columnName) {
+        long[] values = getLongColumn(columnName);
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * @return the sum of the non-null values of a numeric column.
+     */
+    public double sum(@Nonnull String columnName) {
+        Column column = column(columnName);
+        if (column instanceof LongColumn) {
+            return sumAsLong(columnName);
+        }
+        double[] values = getDoubleColumn(columnName);
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * @return the min of the non-null values of a numeric column, empty if all null.
+     */
+    public OptionalDouble min(@Nonnull String columnName) {
+        return reduce(columnName, true);
+    }
+
+    /**
+     * @return the max of the non-null values of a numeric column, empty if all null.
+     */
+    public OptionalDouble max(@Nonnull String columnName) {
+        return reduce(columnName, false);
+    }
+
+    private OptionalDouble reduce(@Nonnull String columnName, boolean forMin) {
+        Column column = column(columnName);
+        BitSet nulls = column.nulls;
+        boolean found = false;
+        double result = 0;
+        if (column instanceof LongColumn) {
+            long[] values = ((LongColumn) column).values;
+            long x = 0;
+            for (int i = nulls.nextClearBit(0); i < totalFetchedRows; i = nulls.nextClearBit(i + 1)) {
+                if (!found || (forMin ? values[i] < x : values[i] > x)) {
+                    x = values[i];
+                    found = true;
+                }
+            }
+            result = x;
+        } else {
+            double[] values = getDoubleColumn(columnName);
+            for (int i = nulls.nextClearBit(0); i < totalFetchedRows; i = nulls.nextClearBit(i + 1)) {
+                if (!found || (forMin ? values[i] < result : values[i] > result)) {
+                    result = values[i];
+                    found = true;
+                }
+            }
+        }
+        return found ? OptionalDouble.of(result) : OptionalDouble.empty();
+    }
+
+    /**
+     * @return the count of rows for each distinct value of the column, null included as a key;
+     *         the keys are Long, Double, Numeric, String or the object read, as the column is kept.
+     */
+    public Map<Object, Integer> groupCount(@Nonnull String columnName) {
+        Column column = column(columnName);
+        Map<Object, Integer> map = new HashMap<>();
+        if (column instanceof StringColumn) {
+            StringColumn stringColumn = (StringColumn) column;
+            int[] counts = new int[stringColumn.dictionary.size()];
+            int nullCount = 0;
+            for (int i = 0; i < totalFetchedRows; i++) {
+                int code = stringColumn.codes[i];
+                if (code < 0) {
+                    nullCount++;
+                } else {
+                    counts[code]++;
+                }
+            }
+            for (int code = 0; code < counts.length; code++) {
+                map.put(stringColumn.dictionary.get(code), counts[code]);
+            }
+            if (nullCount > 0) {
+                map.put(null, nullCount);
+            }
+        } else {
+            for (int i = 0; i < totalFetchedRows; i++) {
+                map.merge(column.valueAt(i), 1, Integer::sum);
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public JsonArray toJsonArray() {
+        JsonArray array = new JsonArray();
+        for (int i = 0; i < totalFetchedRows; i++) {
+            array.add(buildRow(i));
+        }
+        return array;
+    }
+
+    @Override
+    public List<JsonObject> getRowList() {
+        List<JsonObject> list = new ArrayList<>(totalFetchedRows);
+        for (int i = 0; i < totalFetchedRows; i++) {
+            list.add(buildRow(i));
+        }
+        return list;
+    }
+
+    private JsonObject buildRow(int rowIndex) {
+        return new ColumnarRow(rowIndex).toJson();
+    }
+
+    @Override
+    public JsonObject getFirstRow() throws KeelSQLResultRowIndexError {
+        return getRowByIndex(0);
+    }
+
+    @Override
+    public JsonObject getRowByIndex(int index) throws KeelSQLResultRowIndexError {
+        if (index < 0 || index >= totalFetchedRows) {
+            throw new KeelSQLResultRowIndexError(new IndexOutOfBoundsException(index));
+        }
+        return buildRow(index);
+    }
+
+    @Override
+    public <T extends ResultRow> T buildTableRowByIndex(int index, Class<T> classOfTableRow) throws KeelSQLResultRowIndexError {
+        return ResultRowFactory.build(getRowByIndex(index), classOfTableRow);
+    }
+
+    @Override
+    public <T extends ResultRow> List<T> buildTableRowList(Class<T> classOfTableRow) {
+        var constructor = ResultRowFactory.of(classOfTableRow);
+        List<T> list = new ArrayList<>(totalFetchedRows);
+        for (int i = 0; i < totalFetchedRows; i++) {
+            list.add(constructor.apply(buildRow(i)));
+        }
+        return list;
+    }
+
+    @Override
+    public String getOneColumnOfFirstRowAsDateTime(String columnName) throws KeelSQLResultRowIndexError {
+        return KeelHelpers.datetimeHelper().getMySQLFormatLocalDateTimeExpression(getOneColumnOfFirstRowAsString(columnName));
+    }
+
+    @Override
+    public String getOneColumnOfFirstRowAsString(String columnName) throws KeelSQLResultRowIndexError {
+        return getFirstRow().getString(columnName);
+    }
+
+    @Override
+    public Numeric getOneColumnOfFirstRowAsNumeric(String columnName) throws KeelSQLResultRowIndexError {
+        return Numeric.create(getFirstRow().getNumber(columnName));
+    }
+
+    @Override
+    public Integer getOneColumnOfFirstRowAsInteger(String columnName) throws KeelSQLResultRowIndexError {
+        return getFirstRow().getInteger(columnName);
+    }
+
+    @Override
+    public Long getOneColumnOfFirstRowAsLong(String columnName) throws KeelSQLResultRowIndexError {
+        return getFirstRow().getLong(columnName);
+    }
+
+    @Override
+    public List<String> getOneColumnAsDateTime(String columnName) {
+        List<String> x = new ArrayList<>(totalFetchedRows);
+        for (String s : getOneColumnAsString(columnName)) {
+            x.add(KeelHelpers.datetimeHelper().getMySQLFormatLocalDateTimeExpression(s));
+        }
+        return x;
+    }
+
+    @Override
+    public List<String> getOneColumnAsString(String columnName) {
+        Column column = column(columnName);
+        List<String> x = new ArrayList<>(totalFetchedRows);
+        for (int i = 0; i < totalFetchedRows; i++) {
+            Object value = column.valueAt(i);
+            x.add(value == null ? null : String.valueOf(value));
+        }
+        return x;
+    }
+
+    @Override
+    public List<Numeric> getOneColumnAsNumeric(String columnName) {
+        Column column = column(columnName);
+        List<Numeric> x = new ArrayList<>(totalFetchedRows);
+        for (int i = 0; i < totalFetchedRows; i++) {
+            Object value = column.valueAt(i);
+            if (value == null || value instanceof Numeric) {
+                x.add((Numeric) value);
+            } else if (value instanceof Number) {
+                x.add(Numeric.create((Number) value));
+            } else {
+                x.add(Numeric.parse(String.valueOf(value)));
+            }
+        }
+        return x;
+    }
+
+    @Override
+    public List<Long> getOneColumnAsLong(String columnName) {
+        Column column = column(columnName);
+        List<Long> x = new ArrayList<>(totalFetchedRows);
+        for (int i = 0; i < totalFetchedRows; i++) {
+            Object value = column.valueAt(i);
+            x.add(value == null ? null : (value instanceof Number ? ((Number) value).longValue() : Long.parseLong(String.valueOf(value))));
+        }
+        return x;
+    }
+
+    @Override
+    public List<Integer> getOneColumnAsInteger(String columnName) {
+        Column column = column(columnName);
+        List<Integer> x = new ArrayList<>(totalFetchedRows);
+        for (int i = 0; i < totalFetchedRows; i++) {
+            Object value = column.valueAt(i);
+            x.add(value == null ? null : (value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(String.valueOf(value))));
+        }
+        return x;
+    }
+
+    /**
+     * Map each row through a read-only {@link Row} view over the column vectors,
+     * so that the mapper sees the same values as {@link ColumnarResultMatrix#getRowList()}.
+     */
+    @Override
+    public <T> List<T> buildRowList(RowMapper<T> rowMapper) {
+        List<T> list = new ArrayList<>(totalFetchedRows);
+        for (int i = 0; i < totalFetchedRows; i++) {
+            list.add(rowMapper.map(new ColumnarRow(i)));
+        }
+        return list;
+    }
+
+    /**
+     * A read-only view of one row over the column vectors.
+     */
+    private final class ColumnarRow implements Row {
+        private final int rowIndex;
+
+        ColumnarRow(int rowIndex) {
+            this.rowIndex = rowIndex;
+        }
+
+        @Override
+        public String getColumnName(int pos) {
+            return pos < 0 || pos >= columns.length ? null : columnNames.get(pos);
+        }
+
+        @Override
+        public int getColumnIndex(String column) {
+            return columnNames.indexOf(column);
+        }
+
+        @Override
+        public Object getValue(int pos) {
+            return columns[pos].valueAt(rowIndex);
+        }
+
+        @Override
+        public Tuple addValue(Object value) {
+            throw new UnsupportedOperationException("ColumnarResultMatrix rows are read-only.");
+        }
+
+        @Override
+        public int size() {
+            return columns.length;
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException("ColumnarResultMatrix rows are read-only.");
+        }
+
+        @Override
+        public List<Class<?>> types() {
+            List<Class<?>> types = new ArrayList<>(columns.length);
+            for (Column column : columns) {
+                Object value = column.valueAt(rowIndex);
+                types.add(value == null ? Object.class : value.getClass());
+            }
+            return types;
+        }
+    }
+
+    private abstract static class Column {
+        final BitSet nulls = new BitSet();
+
+        static Column create(@Nullable JDBCType jdbcType, int size) {
+            if (jdbcType != null) {
+                switch (jdbcType) {
+                    case BIT:
+                    case BOOLEAN:
+                    case TINYINT:
+                    case SMALLINT:
+                    case INTEGER:
+                    case BIGINT:
+                        return new LongColumn(size);
+                    case REAL:
+                    case FLOAT:
+                    case DOUBLE:
+                        return new DoubleColumn(size);
+                    case NUMERIC:
+                    case DECIMAL:
+                        return new DecimalColumn(size);
+                    case CHAR:
+                    case VARCHAR:
+                    case LONGVARCHAR:
+                    case NCHAR:
+                    case NVARCHAR:
+                    case LONGNVARCHAR:
+                    case CLOB:
+                    case NCLOB:
+                        return new StringColumn(size);
+                    default:
+                        break;
+                }
+            }
+            return new ObjectColumn(size);
+        }
+
+        void decode(int rowIndex, @Nullable Object value) {
+            if (value == null) {
+                nulls.set(rowIndex);
+            } else {
+                decodeNonNull(rowIndex, value);
+            }
+        }
+
+        abstract void decodeNonNull(int rowIndex, @Nonnull Object value);
+
+        @Nullable
+        abstract Object valueAt(int rowIndex);
+    }
+
+    private static final class LongColumn extends Column {
+        final long[] values;
+
+        LongColumn(int size) {
+            this.values = new long[size];
+        }
+
+        @Override
+        void decodeNonNull(int rowIndex, @Nonnull Object value) {
+            if (value instanceof Number) {
+                values[rowIndex] = ((Number) value).longValue();
+            } else if (value instanceof Boolean) {
+                values[rowIndex] = (Boolean) value ? 1 : 0;
+            } else {
+                values[rowIndex] = Long.parseLong(String.valueOf(value));
+            }
+        }
+
+        @Override
+        Object valueAt(int rowIndex) {
+            return nulls.get(rowIndex) ? null : values[rowIndex];
+        }
+    }
+
+    private static final class DoubleColumn extends Column {
+        final double[] values;
+
+        DoubleColumn(int size) {
+            this.values = new double[size];
+        }
+
+        @Override
+        void decodeNonNull(int rowIndex, @Nonnull Object value) {
+            if (value instanceof Number) {
+                values[rowIndex] = ((Number) value).doubleValue();
+            } else {
+                values[rowIndex] = Double.parseDouble(String.valueOf(value));
+            }
+        }
+
+        @Override
+        Object valueAt(int rowIndex) {
+            return nulls.get(rowIndex) ? null : values[rowIndex];
+        }
+    }
+
+    private static final class DecimalColumn extends Column {
+        final Numeric[] values;
+
+        DecimalColumn(int size) {
+            this.values = new Numeric[size];
+        }
+
+        @Override
+        void decodeNonNull(int rowIndex, @Nonnull Object value) {
+            if (value instanceof Numeric) {
+                values[rowIndex] = (Numeric) value;
+            } else if (value instanceof Number) {
+                values[rowIndex] = Numeric.create((Number) value);
+            } else {
+                values[rowIndex] = Numeric.parse(String.valueOf(value));
+            }
+        }
+
+        @Override
+        Object valueAt(int rowIndex) {
+            return values[rowIndex];
+        }
+    }
+
+    private static final class StringColumn extends Column {
+        final int[] codes;
+        final List<String> dictionary = new ArrayList<>();
+        final Map<String, Integer> dictionaryIndex = new HashMap<>();
+
+        StringColumn(int size) {
+            this.codes = new int[size];
+        }
+
+        @Override
+        void decode(int rowIndex, @Nullable Object value) {
+            super.decode(rowIndex, value);
+            if (value == null) {
+                codes[rowIndex] = -1;
+            }
+        }
+
+        @Override
+        void decodeNonNull(int rowIndex, @Nonnull Object value) {
+            String s = value instanceof String ? (String) value : String.valueOf(value);
+            Integer code = dictionaryIndex.get(s);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(s);
+                dictionaryIndex.put(s, code);
+            }
+            codes[rowIndex] = code;
+        }
+
+        @Override
+        Object valueAt(int rowIndex) {
+            int code = codes[rowIndex];
+            return code < 0 ? null : dictionary.get(code);
+        }
+    }
+
+    private static final class ObjectColumn extends Column {
+        final Object[] values;
+
+        ObjectColumn(int size) {
+            this.values = new Object[size];
+        }
+
+        @Override
+        void decodeNonNull(int rowIndex, @Nonnull Object value) {
+            values[rowIndex] = value;
+        }
+
+        @Override
+        Object valueAt(int rowIndex) {
+            return values[rowIndex];
+        }
+    }
+}
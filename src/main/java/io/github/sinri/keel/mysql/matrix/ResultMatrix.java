@@ -24,22 +24,44 @@ public interface ResultMatrix {
 
     /**
      * @since 1.10
+     * @since 3.2.3 use the compiled constructor cached in {@link ResultRowFactory} instead of reflection.
      */
     static <T extends ResultRow> T buildTableRow(JsonObject row, Class<T> classOfTableRow) throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        return classOfTableRow.getConstructor(JsonObject.class).newInstance(row);
+        return resolveTableRowConstructor(classOfTableRow).apply(row);
     }
 
     /**
      * @since 1.10
+     * @since 3.2.3 use the compiled constructor cached in {@link ResultRowFactory} instead of reflection.
      */
     static <T extends ResultRow> List<T> buildTableRowList(List<JsonObject> rowList, Class<T> classOfTableRow) throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        ArrayList<T> list = new ArrayList<>();
+        Function<JsonObject, T> constructor = resolveTableRowConstructor(classOfTableRow);
+        ArrayList<T> list = new ArrayList<>(rowList.size());
         for (var x : rowList) {
-            list.add(ResultMatrix.buildTableRow(x, classOfTableRow));
+            list.add(constructor.apply(x));
         }
         return list;
     }
 
+    /**
+     * Keep the checked exceptions declared by the reflection way.
+     *
+     * @since 3.2.3
+     */
+    private static <T extends ResultRow> Function<JsonObject, T> resolveTableRowConstructor(Class<T> classOfTableRow) throws NoSuchMethodException, IllegalAccessException {
+        try {
+            return ResultRowFactory.of(classOfTableRow);
+        } catch (IllegalArgumentException e) {
+            if (e.getCause() instanceof NoSuchMethodException) {
+                throw (NoSuchMethodException) e.getCause();
+            }
+            if (e.getCause() instanceof IllegalAccessException) {
+                throw (IllegalAccessException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     /**
      * @since 2.8
      */
@@ -92,6 +114,13 @@ public interface ResultMatrix {
      */
     <T extends ResultRow> List<T> buildTableRowList(Class<T> classOfTableRow);
 
+    /**
+     * Map each row directly, without building the JsonObject list of {@link ResultMatrix#getRowList()}.
+     *
+     * @since 3.2.3
+     */
+    <T> List<T> buildRowList(RowMapper<T> rowMapper);
+
     /**
      * @since 2.9.4
      */
@@ -110,12 +110,20 @@ class ResultMatrixImpl implements ResultMatrix {
      */
     @Override
     public <T extends ResultRow> List<T> buildTableRowList(Class<T> classOfTableRow) {
-        try {
-            return ResultMatrix.buildTableRowList(getRowList(), classOfTableRow);
-        } catch (NoSuchMethodException | InvocationTargetException | InstantiationException |
-                 IllegalAccessException e) {
-            throw new RuntimeException(e);
+        // since 3.2.3 build from each row directly with the compiled constructor
+        return buildRowList(RowMapper.forResultRow(classOfTableRow));
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    @Override
+    public <T> List<T> buildRowList(RowMapper<T> rowMapper) {
+        List<T> list = new ArrayList<>(rowList.size());
+        for (var row : rowList) {
+            list.add(rowMapper.map(row));
         }
+        return list;
     }
 
     /**
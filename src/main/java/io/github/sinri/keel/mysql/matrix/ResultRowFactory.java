@@ -0,0 +1,84 @@
+package io.github.sinri.keel.mysql.matrix;
+
+import io.vertx.core.json.JsonObject;
+
+import javax.annotation.Nonnull;
+import java.lang.invoke.*;
+import java.util.function.Function;
+
+/**
+ * Build instances of {@link ResultRow} implementations by their constructor with one {@link JsonObject} parameter,
+ * compiled once per class instead of reflecting for each row.
+ * <p>
+ * The constructor is bound to a {@link Function} by {@link LambdaMetafactory}, as fast as a direct call after JIT;
+ * when that is not allowed (such as a class in a module not opened), a {@link MethodHandle} is used instead.
+ *
+ * @since 3.2.3
+ */
+public final class ResultRowFactory {
+    private static final ClassValue<Function<JsonObject, ?>> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Function<JsonObject, ?> computeValue(@Nonnull Class<?> type) {
+            return compile(type);
+        }
+    };
+
+    private ResultRowFactory() {
+    }
+
+    /**
+     * @param classOfTableRow the class having a public constructor with one JsonObject parameter
+     * @return the cached function to build an instance for a row
+     * @throws IllegalArgumentException when the constructor is not found or not accessible
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public static <T extends ResultRow> Function<JsonObject, T> of(@Nonnull Class<T> classOfTableRow) {
+        return (Function<JsonObject, T>) CONSTRUCTORS.get(classOfTableRow);
+    }
+
+    /**
+     * @return a new instance of the class wrapping the row
+     * @throws IllegalArgumentException when the constructor is not found or not accessible
+     */
+    @Nonnull
+    public static <T extends ResultRow> T build(@Nonnull JsonObject row, @Nonnull Class<T> classOfTableRow) {
+        return of(classOfTableRow).apply(row);
+    }
+
+    private static Function<JsonObject, ?> compile(@Nonnull Class<?> type) {
+        MethodHandle constructor;
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            constructor = lookup.findConstructor(type, MethodType.methodType(void.class, JsonObject.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("No accessible constructor with JsonObject in " + type.getName(), e);
+        }
+
+        try {
+            CallSite callSite = LambdaMetafactory.metafactory(
+                    lookup,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    constructor,
+                    MethodType.methodType(type, JsonObject.class)
+            );
+            @SuppressWarnings("unchecked")
+            Function<JsonObject, ?> function = (Function<JsonObject, ?>) callSite.getTarget().invokeExact();
+            return function;
+        } catch (Throwable e) {
+            MethodHandle handle = constructor.asType(MethodType.methodType(Object.class, JsonObject.class));
+            return row -> {
+                try {
+                    return handle.invokeExact(row);
+                } catch (RuntimeException | Error throwable) {
+                    throw throwable;
+                } catch (Throwable throwable) {
+                    throw new RuntimeException(throwable);
+                }
+            };
+        }
+    }
+}
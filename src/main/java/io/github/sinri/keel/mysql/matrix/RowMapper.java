@@ -0,0 +1,29 @@
+package io.github.sinri.keel.mysql.matrix;
+
+import io.vertx.sqlclient.Row;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Map a {@link Row} of the result to an object.
+ * <p>
+ * A mapper reading the columns directly, such as {@code row -> new Item(row.getLong(0), row.getString(1))},
+ * builds no intermediate {@link io.vertx.core.json.JsonObject};
+ * bind the columns by index when the order of the selected columns is fixed.
+ *
+ * @param <T> class of the mapped object
+ * @since 3.2.3
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    /**
+     * @return the mapper to wrap each row as a JsonObject into an instance of the class,
+     *         by the cached constructor of {@link ResultRowFactory}.
+     */
+    static <T extends ResultRow> RowMapper<T> forResultRow(@Nonnull Class<T> classOfTableRow) {
+        var constructor = ResultRowFactory.of(classOfTableRow);
+        return row -> constructor.apply(row.toJson());
+    }
+
+    T map(@Nonnull Row row);
+}
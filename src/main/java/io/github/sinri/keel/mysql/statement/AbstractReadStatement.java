@@ -1,20 +1,57 @@
 package io.github.sinri.keel.mysql.statement;
 
+import io.github.sinri.keel.facade.async.KeelAsyncKit;
 import io.github.sinri.keel.mysql.NamedMySQLConnection;
+import io.github.sinri.keel.mysql.matrix.ColumnarResultMatrix;
 import io.github.sinri.keel.mysql.matrix.ResultRow;
+import io.github.sinri.keel.mysql.matrix.ResultRowFactory;
+import io.github.sinri.keel.mysql.matrix.RowMapper;
 import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.Cursor;
+import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Tuple;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 
 
 /**
  * @since 1.10
  */
 public abstract class AbstractReadStatement extends AbstractStatement {
+    /**
+     * @since 3.2.3
+     */
+    private static final Pattern LOCK_CLAUSE_PATTERN = Pattern.compile(
+            "\\bFOR\\s+(UPDATE|SHARE)\\b|\\bLOCK\\s+IN\\s+SHARE\\s+MODE\\b",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    /**
+     * @return whether the statement only reads, without locking, so that it could run on a replica.
+     * @since 3.2.3
+     */
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * @return whether the SQL has a locking read clause, such as {@code FOR UPDATE}, {@code FOR SHARE}
+     *         or {@code LOCK IN SHARE MODE}; a match inside a literal or comment also counts, to stay on the primary.
+     * @since 3.2.3
+     */
+    protected static boolean containsLockClause(@Nonnull String sql) {
+        return LOCK_CLAUSE_PATTERN.matcher(sql).find();
+    }
 
     /**
      * @since 3.0.11
@@ -111,4 +148,157 @@ public abstract class AbstractReadStatement extends AbstractStatement {
     ) {
         return ResultRow.fetchResultRowsToUniqueKeyBoundMap(sqlConnection, this, classT, uniqueKeyGenerator);
     }
+
+    /**
+     * @since 3.2.3
+     */
+    public <T> Future<List<T>> queryForRowList(@Nonnull NamedMySQLConnection namedMySQLConnection, @Nonnull RowMapper<T> rowMapper) {
+        return queryForRowList(namedMySQLConnection.getSqlConnection(), rowMapper);
+    }
+
+    /**
+     * @param rowMapper map each row directly, see {@link RowMapper}
+     * @return 异步返回所有行数据映射成的对象。
+     * @since 3.2.3
+     */
+    public <T> Future<List<T>> queryForRowList(@Nonnull SqlConnection sqlConnection, @Nonnull RowMapper<T> rowMapper) {
+        return execute(sqlConnection)
+                .compose(resultMatrix -> Future.succeededFuture(resultMatrix.buildRowList(rowMapper)));
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    public <K, T> Future<Map<K, List<T>>> queryForCategorizedMap(
+            @Nonnull NamedMySQLConnection namedMySQLConnection,
+            @Nonnull RowMapper<T> rowMapper,
+            @Nonnull Function<T, K> categoryGenerator
+    ) {
+        return queryForCategorizedMap(namedMySQLConnection.getSqlConnection(), rowMapper, categoryGenerator);
+    }
+
+    /**
+     * @param rowMapper map each row directly, see {@link RowMapper}
+     * @since 3.2.3
+     */
+    public <K, T> Future<Map<K, List<T>>> queryForCategorizedMap(
+            @Nonnull SqlConnection sqlConnection,
+            @Nonnull RowMapper<T> rowMapper,
+            @Nonnull Function<T, K> categoryGenerator
+    ) {
+        return queryForRowList(sqlConnection, rowMapper)
+                .compose(list -> {
+                    Map<K, List<T>> map = new HashMap<>();
+                    list.forEach(item -> map.computeIfAbsent(categoryGenerator.apply(item), k -> new ArrayList<>()).add(item));
+                    return Future.succeededFuture(map);
+                });
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    public Future<ColumnarResultMatrix> queryForColumnarMatrix(@Nonnull NamedMySQLConnection namedMySQLConnection) {
+        return queryForColumnarMatrix(namedMySQLConnection.getSqlConnection());
+    }
+
+    /**
+     * 查询结果按列解码为 {@link ColumnarResultMatrix}，适合读取大量行的少数数值列做汇总。
+     *
+     * @since 3.2.3
+     */
+    public Future<ColumnarResultMatrix> queryForColumnarMatrix(@Nonnull SqlConnection sqlConnection) {
+        return execute(sqlConnection, ColumnarResultMatrix::new);
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    public <T extends ResultRow> Future<Long> queryForStream(
+            @Nonnull NamedMySQLConnection namedMySQLConnection,
+            @Nonnull Class<T> classT,
+            int fetchSize,
+            @Nonnull Function<List<T>, Future<Void>> batchHandler
+    ) {
+        return queryForStream(namedMySQLConnection.getSqlConnection(), classT, fetchSize, batchHandler);
+    }
+
+    /**
+     * 以游标读取查询结果，每次读取至多 fetchSize 行，封装为指定类实例后交给 batchHandler 处理；
+     * batchHandler 返回的 future 完成后才读取下一批，因此内存中只保留一批数据，不生成 ResultMatrix。
+     * 游标应在事务中使用；如果当前连接不在事务中，将为游标开启一个事务，读完后提交。
+     *
+     * @param sqlConnection SqlConnection
+     * @param classT        class of type of result object
+     * @param fetchSize     the max count of rows in one batch
+     * @param batchHandler  handle one batch, the next batch is read after the returned future succeeded
+     * @param <T>           type of result object
+     * @return the total count of rows read; any error from reading or handling would cause a failed future
+     * @since 3.2.3
+     */
+    public <T extends ResultRow> Future<Long> queryForStream(
+            @Nonnull SqlConnection sqlConnection,
+            @Nonnull Class<T> classT,
+            int fetchSize,
+            @Nonnull Function<List<T>, Future<Void>> batchHandler
+    ) {
+        if (fetchSize < 1) throw new IllegalArgumentException("fetchSize should be positive");
+        if (sqlConnection.transaction() != null) {
+            return streamInTransaction(sqlConnection, classT, fetchSize, batchHandler);
+        }
+        return sqlConnection.begin()
+                .compose(transaction -> streamInTransaction(sqlConnection, classT, fetchSize, batchHandler)
+                        .compose(
+                                total -> transaction.commit().map(committed -> total),
+                                throwable -> transaction.rollback()
+                                        .transform(rolledBack -> Future.<Long>failedFuture(throwable))
+                        ));
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    private <T extends ResultRow> Future<Long> streamInTransaction(
+            @Nonnull SqlConnection sqlConnection,
+            @Nonnull Class<T> classT,
+            int fetchSize,
+            @Nonnull Function<List<T>, Future<Void>> batchHandler
+    ) {
+        AtomicReference<String> theSql = new AtomicReference<>();
+        AtomicLong total = new AtomicLong(0);
+        Tuple parameters = Tuple.tuple();
+        return Future.succeededFuture()
+                .compose(v -> {
+                    String sql = this.toExecutableString(parameters);
+                    theSql.set(sql);
+                    auditInfo(r -> r.setPreparation(statement_uuid, sql, parameters));
+                    return sqlConnection.prepare(sql);
+                })
+                .compose(preparedStatement -> {
+                    Function<JsonObject, T> constructor = ResultRowFactory.of(classT);
+                    Cursor cursor = preparedStatement.cursor(parameters);
+                    return KeelAsyncKit.repeatedlyCall(routineResult -> cursor.read(fetchSize)
+                                    .compose(rowSet -> {
+                                        if (!cursor.hasMore()) {
+                                            routineResult.stop();
+                                        }
+                                        if (rowSet.size() == 0) {
+                                            return Future.succeededFuture();
+                                        }
+                                        List<T> batch = new ArrayList<>(rowSet.size());
+                                        for (Row row : rowSet) {
+                                            batch.add(constructor.apply(row.toJson()));
+                                        }
+                                        total.addAndGet(batch.size());
+                                        return batchHandler.apply(batch);
+                                    }))
+                            .eventually(() -> cursor.close().eventually(() -> preparedStatement.close()));
+                })
+                .compose(v -> {
+                    auditInfo(r -> r.setForDone(statement_uuid, theSql.get(), 0, (int) Math.min(Integer.MAX_VALUE, total.get())));
+                    return Future.succeededFuture(total.get());
+                }, throwable -> {
+                    auditException(throwable, r -> r.setForFailed(statement_uuid, theSql.get()));
+                    return Future.failedFuture(throwable);
+                });
+    }
 }
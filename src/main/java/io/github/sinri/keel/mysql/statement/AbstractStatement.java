@@ -1,16 +1,33 @@
 package io.github.sinri.keel.mysql.statement;
 
+import io.github.sinri.keel.logger.KeelLogLevel;
 import io.github.sinri.keel.logger.issue.center.KeelIssueRecordCenterAsSilent;
 import io.github.sinri.keel.logger.issue.record.BaseIssueRecord;
 import io.github.sinri.keel.logger.issue.recorder.KeelIssueRecorder;
+import io.github.sinri.keel.logger.metric.KeelMetricHistogram;
+import io.github.sinri.keel.logger.metric.KeelMetricRecorder;
+import io.github.sinri.keel.mysql.NamedMySQLDataSource;
 import io.github.sinri.keel.mysql.matrix.ResultMatrix;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
 import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Tuple;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static io.github.sinri.keel.facade.KeelInstance.Keel;
 
 /**
  * @since 1.7
@@ -22,11 +39,47 @@ abstract public class AbstractStatement implements AnyStatement {
     protected static @Nonnull KeelIssueRecorder<MySQLAuditIssueRecord> sqlAuditIssueRecorder = KeelIssueRecordCenterAsSilent.getInstance()
             .generateIssueRecorder(MySQLAuditIssueRecord.AttributeMysqlAudit, MySQLAuditIssueRecord::new);
     protected static @Nonnull String SQL_COMPONENT_SEPARATOR = " ";//"\n";
+    /**
+     * Statement IDs are this random prefix of the process with a sequence number,
+     * so that no SecureRandom is called for each statement.
+     *
+     * @since 3.2.3
+     */
+    private static final String STATEMENT_ID_PREFIX = UUID.randomUUID().toString();
+    /**
+     * @since 3.2.3
+     */
+    private static final AtomicLong STATEMENT_ID_SEQUENCE = new AtomicLong(0);
+    /**
+     * Set by any thread, read when a statement is created in any thread.
+     *
+     * @since 3.2.3
+     */
+    private static volatile boolean PARAMETERIZED_BY_DEFAULT = false;
+    /**
+     * @since 3.2.3
+     */
+    private static volatile @Nullable KeelMetricRecorder metricRecorder = null;
+    /**
+     * @since 3.2.3
+     */
+    private static long metricTimerId = -1;
+    /**
+     * The histograms of each statement class, observed by each execution and drained by the metric timer.
+     *
+     * @since 3.2.3
+     */
+    private static final ConcurrentMap<Class<?>, StatementMetrics> STATEMENT_METRICS = new ConcurrentHashMap<>();
     protected final @Nonnull String statement_uuid;
     private @Nonnull String remarkAsComment = "";
+    /**
+     * @since 3.2.3
+     */
+    private boolean parameterized = PARAMETERIZED_BY_DEFAULT;
 
     public AbstractStatement() {
-        this.statement_uuid = UUID.randomUUID().toString();
+        // since 3.2.3: unique in the process, and across processes by the prefix
+        this.statement_uuid = STATEMENT_ID_PREFIX + "-" + Long.toHexString(STATEMENT_ID_SEQUENCE.incrementAndGet());
     }
 
     @Nonnull
@@ -38,10 +91,91 @@ abstract public class AbstractStatement implements AnyStatement {
         AbstractStatement.sqlAuditIssueRecorder = sqlAuditIssueRecorder;
     }
 
+    /**
+     * Record the audit in INFO level, only if it would be kept, so that nothing is built for a silent recorder.
+     *
+     * @since 3.2.3
+     */
+    static void auditInfo(@Nonnull Handler<MySQLAuditIssueRecord> issueHandler) {
+        KeelIssueRecorder<MySQLAuditIssueRecord> recorder = sqlAuditIssueRecorder;
+        if (recorder.isRecordable(KeelLogLevel.INFO)) {
+            recorder.info(issueHandler);
+        }
+    }
+
+    /**
+     * Record the audit for the exception in ERROR level, only if it would be kept.
+     *
+     * @since 3.2.3
+     */
+    static void auditException(@Nonnull Throwable throwable, @Nonnull Handler<MySQLAuditIssueRecord> issueHandler) {
+        KeelIssueRecorder<MySQLAuditIssueRecord> recorder = sqlAuditIssueRecorder;
+        if (recorder.isRecordable(KeelLogLevel.ERROR)) {
+            recorder.exception(throwable, issueHandler);
+        }
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    @Nullable
+    public static KeelMetricRecorder getMetricRecorder() {
+        return metricRecorder;
+    }
+
+    /**
+     * Observe each execution into the histograms (see {@link KeelMetricHistogram}) of its statement class,
+     * and emit them to the recorder each interval, under topic {@link NamedMySQLDataSource#METRIC_TOPIC},
+     * labeled with {@code statement} as the class name:
+     * {@code mysql_statement_latency} in milliseconds, also labeled with {@code outcome} as {@code done} or {@code failed},
+     * and for the done ones, {@code mysql_statement_fetched_rows} and {@code mysql_statement_affected_rows}.
+     *
+     * @param metricRecorder the started recorder, or null to stop observing and emitting.
+     * @param interval       in milliseconds.
+     * @since 3.2.3
+     */
+    public static synchronized void setMetricRecorder(@Nullable KeelMetricRecorder metricRecorder, long interval) {
+        if (metricTimerId >= 0) {
+            Keel.getVertx().cancelTimer(metricTimerId);
+            metricTimerId = -1;
+        }
+        AbstractStatement.metricRecorder = metricRecorder;
+        if (metricRecorder != null) {
+            metricTimerId = Keel.getVertx().setPeriodic(interval, timerID -> emitStatementMetrics(metricRecorder));
+        } else {
+            STATEMENT_METRICS.clear();
+        }
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    private static void emitStatementMetrics(@Nonnull KeelMetricRecorder recorder) {
+        STATEMENT_METRICS.forEach((statementClass, metrics) -> {
+            String statementName = statementClass.getSimpleName();
+            metrics.latencyOfDone.drain(NamedMySQLDataSource.METRIC_TOPIC, "mysql_statement_latency", Map.of("statement", statementName, "outcome", "done"))
+                    .forEach(recorder::recordMetric);
+            metrics.latencyOfFailed.drain(NamedMySQLDataSource.METRIC_TOPIC, "mysql_statement_latency", Map.of("statement", statementName, "outcome", "failed"))
+                    .forEach(recorder::recordMetric);
+            metrics.fetchedRows.drain(NamedMySQLDataSource.METRIC_TOPIC, "mysql_statement_fetched_rows", Map.of("statement", statementName))
+                    .forEach(recorder::recordMetric);
+            metrics.affectedRows.drain(NamedMySQLDataSource.METRIC_TOPIC, "mysql_statement_affected_rows", Map.of("statement", statementName))
+                    .forEach(recorder::recordMetric);
+        });
+    }
+
     public static void setSqlComponentSeparator(@Nonnull String sqlComponentSeparator) {
         SQL_COMPONENT_SEPARATOR = sqlComponentSeparator;
     }
 
+    /**
+     * @param parameterizedByDefault whether the statements created later are executed with bound parameters.
+     * @since 3.2.3
+     */
+    public static void setParameterizedByDefault(boolean parameterizedByDefault) {
+        PARAMETERIZED_BY_DEFAULT = parameterizedByDefault;
+    }
+
     @Nonnull
     protected String getRemarkAsComment() {
         return remarkAsComment;
@@ -53,6 +187,46 @@ abstract public class AbstractStatement implements AnyStatement {
         return this;
     }
 
+    /**
+     * @since 3.2.3
+     */
+    public boolean isParameterized() {
+        return parameterized;
+    }
+
+    /**
+     * 设置是否以绑定参数的方式执行：SQL中的值以占位符 {@code ?} 代替，值以 Tuple 传递。
+     * 如此，仅值不同的语句的SQL相同，可以命中连接上的预处理语句缓存（见 {@link io.github.sinri.keel.mysql.KeelMySQLConfiguration}），
+     * 也免去了转义。
+     *
+     * @since 3.2.3
+     */
+    public AbstractStatement setParameterized(boolean parameterized) {
+        this.parameterized = parameterized;
+        return this;
+    }
+
+    /**
+     * 生成以占位符代替值的SQL，并将值按顺序加入 parameters。
+     * 默认与 {@link AbstractStatement#toString()} 相同，不加入任何值。
+     *
+     * @param parameters the values to bind, in the order of the placeholders
+     * @return The SQL Generated with placeholders
+     * @since 3.2.3
+     */
+    public String toParameterizedString(@Nonnull Tuple parameters) {
+        return toString();
+    }
+
+    /**
+     * @param parameters to collect the values bound to placeholders, when parameterized.
+     * @return the SQL to execute, with placeholders when parameterized.
+     * @since 3.2.3
+     */
+    protected final String toExecutableString(@Nonnull Tuple parameters) {
+        return parameterized ? this.toParameterizedString(parameters) : this.toString();
+    }
+
     /**
      * @since 3.0.0
      * @since 3.0.9 Moved to AnyStatement
@@ -70,34 +244,86 @@ abstract public class AbstractStatement implements AnyStatement {
      * @return the result matrix wrapped in a future, any error would cause a failed future
      * @since 2.8 将整个运作体加入了try-catch，统一加入审计日志，出现异常时一律异步报错。
      * @since 3.0.0 removed try-catch
+     * @since 3.2.3 execute with bound parameters when parameterized.
      */
     @Override
     public final Future<ResultMatrix> execute(@Nonnull SqlConnection sqlConnection) {
+        return execute(sqlConnection, ResultMatrix::create);
+    }
+
+    /**
+     * @param resultMatrixBuilder to build the result matrix from the row set, such as a columnar one.
+     * @since 3.2.3
+     */
+    protected final <M extends ResultMatrix> Future<M> execute(
+            @Nonnull SqlConnection sqlConnection,
+            @Nonnull Function<RowSet<Row>, M> resultMatrixBuilder
+    ) {
         AtomicReference<String> theSql = new AtomicReference<>();
-        return Future.succeededFuture(this.toString())
+        Tuple parameters = Tuple.tuple();
+        long startTime = System.nanoTime();
+        return Future.succeededFuture()
+                .compose(v -> Future.succeededFuture(this.toExecutableString(parameters)))
                 .compose(sql -> {
                     theSql.set(sql);
-                    getSqlAuditIssueRecorder().info(r -> r.setPreparation(statement_uuid, sql));
-                    return sqlConnection.preparedQuery(sql).execute()
+                    auditInfo(r -> r.setPreparation(statement_uuid, sql, parameters));
+                    return sqlConnection.preparedQuery(sql).execute(parameters)
                             .compose(rows -> {
-                                ResultMatrix resultMatrix = ResultMatrix.create(rows);
+                                M resultMatrix = resultMatrixBuilder.apply(rows);
                                 return Future.succeededFuture(resultMatrix);
                             });
                 })
                 .compose(resultMatrix -> {
-                    getSqlAuditIssueRecorder().info(r -> r.setForDone(statement_uuid, theSql.get(), resultMatrix.getTotalAffectedRows(), resultMatrix.getTotalFetchedRows()));
+                    auditInfo(r -> r.setForDone(statement_uuid, theSql.get(), resultMatrix.getTotalAffectedRows(), resultMatrix.getTotalFetchedRows()));
+                    recordMetrics(startTime, resultMatrix);
                     return Future.succeededFuture(resultMatrix);
                 }, throwable -> {
-                    getSqlAuditIssueRecorder().exception(throwable, r -> r.setForFailed(statement_uuid, theSql.get()));
+                    auditException(throwable, r -> r.setForFailed(statement_uuid, theSql.get()));
+                    recordMetrics(startTime, null);
                     return Future.failedFuture(throwable);
                 });
     }
 
+    /**
+     * @param resultMatrix null for failure.
+     * @since 3.2.3
+     */
+    private void recordMetrics(long startTime, @Nullable ResultMatrix resultMatrix) {
+        if (metricRecorder == null) {
+            return;
+        }
+        double latency = (System.nanoTime() - startTime) / 1e6;
+        StatementMetrics metrics = STATEMENT_METRICS.computeIfAbsent(getClass(), c -> new StatementMetrics());
+        if (resultMatrix == null) {
+            metrics.latencyOfFailed.observe(latency);
+        } else {
+            metrics.latencyOfDone.observe(latency);
+            metrics.fetchedRows.observe(resultMatrix.getTotalFetchedRows());
+            metrics.affectedRows.observe(resultMatrix.getTotalAffectedRows());
+        }
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    private static final class StatementMetrics {
+        private static final double[] ROW_COUNT_BOUNDS = {0, 1, 10, 100, 1000, 10000, 100000};
+
+        final KeelMetricHistogram latencyOfDone = new KeelMetricHistogram();
+        final KeelMetricHistogram latencyOfFailed = new KeelMetricHistogram();
+        final KeelMetricHistogram fetchedRows = new KeelMetricHistogram(ROW_COUNT_BOUNDS);
+        final KeelMetricHistogram affectedRows = new KeelMetricHistogram(ROW_COUNT_BOUNDS);
+    }
+
     public static final class MySQLAuditIssueRecord extends BaseIssueRecord<MySQLAuditIssueRecord> {
         public static final String TopicMysqlAudit = "MysqlAudit";
         public static final String AttributeMysqlAudit = "MysqlAudit";
         public static final String KeyStatementUuid = "statement_uuid";
         public static final String KeySql = "sql";
+        /**
+         * @since 3.2.3
+         */
+        public static final String KeyParameters = "parameters";
         public static final String KeyTotalAffectedRows = "TotalAffectedRows";
         public static final String KeyTotalFetchedRows = "TotalFetchedRows";
 
@@ -122,6 +348,26 @@ abstract public class AbstractStatement implements AnyStatement {
             return this;
         }
 
+        /**
+         * @since 3.2.3
+         */
+        public MySQLAuditIssueRecord setPreparation(@Nonnull String statement_uuid, @Nonnull String sql, @Nonnull Tuple parameters) {
+            setPreparation(statement_uuid, sql);
+            if (parameters.size() > 0) {
+                JsonArray array = new JsonArray();
+                for (int i = 0; i < parameters.size(); i++) {
+                    Object value = parameters.getValue(i);
+                    array.add(value == null ? null : String.valueOf(value));
+                }
+                this.attribute(AttributeMysqlAudit, new JsonObject()
+                        .put(KeyStatementUuid, statement_uuid)
+                        .put(KeySql, sql)
+                        .put(KeyParameters, array)
+                );
+            }
+            return this;
+        }
+
         public MySQLAuditIssueRecord setForDone(
                 @Nonnull String statement_uuid,
                 @Nonnull String sql,
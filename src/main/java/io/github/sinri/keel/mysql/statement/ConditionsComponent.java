@@ -1,12 +1,14 @@
 package io.github.sinri.keel.mysql.statement;
 
 import io.github.sinri.keel.mysql.condition.*;
+import io.vertx.sqlclient.Tuple;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static io.github.sinri.keel.helper.KeelHelpersInterface.KeelHelpers;
 
@@ -206,4 +208,16 @@ public class ConditionsComponent {
         if (conditions.isEmpty()) return "";
         return KeelHelpers.stringHelper().joinStringArray(conditions, " and ");
     }
+
+    /**
+     * @param parameters the values to bind, in the order of the placeholders
+     * @return the conditions with placeholders in place of values
+     * @since 3.2.3
+     */
+    public String toParameterizedString(@Nonnull Tuple parameters) {
+        if (conditions.isEmpty()) return "";
+        return conditions.stream()
+                .map(condition -> condition.toParameterizedString(parameters))
+                .collect(Collectors.joining(" and "));
+    }
 }
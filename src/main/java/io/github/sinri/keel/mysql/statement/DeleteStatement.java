@@ -1,5 +1,6 @@
 package io.github.sinri.keel.mysql.statement;
 
+import io.vertx.sqlclient.Tuple;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -67,13 +68,29 @@ public class DeleteStatement extends AbstractModifyStatement {
     }
 
     public String toString() {
+        return render(null);
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    @Override
+    public String toParameterizedString(@Nonnull Tuple parameters) {
+        return render(parameters);
+    }
+
+    /**
+     * @param parameters null to quote values in SQL; or to collect the values bound to placeholders.
+     * @since 3.2.3
+     */
+    private String render(@Nullable Tuple parameters) {
         String sql = "DELETE FROM ";
         if (schema != null) {
             sql += schema + ".";
         }
         sql += table;
         if (!whereConditionsComponent.isEmpty()) {
-            sql += AbstractStatement.SQL_COMPONENT_SEPARATOR + "WHERE " + whereConditionsComponent;
+            sql += AbstractStatement.SQL_COMPONENT_SEPARATOR + "WHERE " + (parameters == null ? whereConditionsComponent.toString() : whereConditionsComponent.toParameterizedString(parameters));
         }
         if (!sortRules.isEmpty()) {
             sql += AbstractStatement.SQL_COMPONENT_SEPARATOR + "ORDER BY " + KeelHelpers.stringHelper().joinStringArray(sortRules, ",");
@@ -1,6 +1,8 @@
 package io.github.sinri.keel.mysql.statement;
 
+import io.github.sinri.keel.cache.KeelCacheInterface;
 import io.github.sinri.keel.mysql.NamedMySQLConnection;
+import io.github.sinri.keel.mysql.NamedMySQLDataSource;
 import io.github.sinri.keel.mysql.condition.CompareCondition;
 import io.github.sinri.keel.mysql.condition.GroupCondition;
 import io.github.sinri.keel.mysql.condition.MySQLCondition;
@@ -9,7 +11,9 @@ import io.github.sinri.keel.mysql.exception.KeelSQLGenerateError;
 import io.github.sinri.keel.mysql.exception.KeelSQLResultRowIndexError;
 import io.github.sinri.keel.mysql.matrix.ResultMatrix;
 import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
 import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Tuple;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -52,6 +56,7 @@ public class SelectStatement extends AbstractReadStatement {
         this.limit = another.limit;
         this.lockMode = another.lockMode;
         this.maxExecutionTime = another.maxExecutionTime;
+        this.setParameterized(another.isParameterized());
     }
 
     public SelectStatement() {
@@ -207,7 +212,34 @@ public class SelectStatement extends AbstractReadStatement {
         return this;
     }
 
+    /**
+     * @return false if a lock mode, such as {@code FOR UPDATE}, is set.
+     * @since 3.2.3
+     */
+    @Override
+    public boolean isReadOnly() {
+        return lockMode.isEmpty();
+    }
+
     public String toString() {
+        return render(null);
+    }
+
+    /**
+     * Joined tables and sub queries are kept as they are, only the WHERE and HAVING conditions use placeholders.
+     *
+     * @since 3.2.3
+     */
+    @Override
+    public String toParameterizedString(@Nonnull Tuple parameters) {
+        return render(parameters);
+    }
+
+    /**
+     * @param parameters null to quote values in SQL; or to collect the values bound to placeholders.
+     * @since 3.2.3
+     */
+    private String render(@Nullable Tuple parameters) {
         StringBuilder sql = new StringBuilder();
         sql.append("SELECT ");
 
@@ -228,13 +260,13 @@ public class SelectStatement extends AbstractReadStatement {
             sql.append(AbstractStatement.SQL_COMPONENT_SEPARATOR).append("FROM ").append(KeelHelpers.stringHelper().joinStringArray(tables, AbstractStatement.SQL_COMPONENT_SEPARATOR));
         }
         if (!whereConditionsComponent.isEmpty()) {
-            sql.append(AbstractStatement.SQL_COMPONENT_SEPARATOR).append("WHERE ").append(whereConditionsComponent);
+            sql.append(AbstractStatement.SQL_COMPONENT_SEPARATOR).append("WHERE ").append(parameters == null ? whereConditionsComponent.toString() : whereConditionsComponent.toParameterizedString(parameters));
         }
         if (!categories.isEmpty()) {
             sql.append(AbstractStatement.SQL_COMPONENT_SEPARATOR).append("GROUP BY ").append(KeelHelpers.stringHelper().joinStringArray(categories, ","));
         }
         if (!havingConditionsComponent.isEmpty()) {
-            sql.append(AbstractStatement.SQL_COMPONENT_SEPARATOR).append("HAVING ").append(havingConditionsComponent);
+            sql.append(AbstractStatement.SQL_COMPONENT_SEPARATOR).append("HAVING ").append(parameters == null ? havingConditionsComponent.toString() : havingConditionsComponent.toParameterizedString(parameters));
         }
         if (!sortRules.isEmpty()) {
             sql.append(AbstractStatement.SQL_COMPONENT_SEPARATOR).append("ORDER BY ").append(KeelHelpers.stringHelper().joinStringArray(sortRules, ","));
@@ -254,7 +286,7 @@ public class SelectStatement extends AbstractReadStatement {
     /**
      * @since 3.2.3
      */
-    Future<PaginationResult> queryForPagination(
+    public Future<PaginationResult> queryForPagination(
             NamedMySQLConnection sqlConnection,
             long pageNo,
             long pageSize
@@ -264,34 +296,25 @@ public class SelectStatement extends AbstractReadStatement {
 
     /**
      * Call from this instance, as the original query as Select Statement for all rows in certain order.
+     * The count and the page run on the same connection, one after another;
+     * to run them side by side, use {@link SelectStatement#queryForPagination(NamedMySQLDataSource, long, long)}.
      *
      * @param pageNo   since 1.
      * @param pageSize a number
      * @since 3.2.3
      */
-    Future<PaginationResult> queryForPagination(
+    public Future<PaginationResult> queryForPagination(
             SqlConnection sqlConnection,
             long pageNo,
             long pageSize
     ) {
         if (pageSize <= 0) throw new IllegalArgumentException("page size <= 0");
         if (pageNo < 1) throw new IllegalArgumentException("page no < 1");
-        var countStatement = new SelectStatement(this)
-                .resetColumns()
-                .columnWithAlias("count(*)", "total")
-                .limit(0, 0);
+        var countStatement = buildCountStatement();
         this.limit(pageSize, (pageNo - 1) * pageSize);
 
         return Future.all(
-                        countStatement.execute(sqlConnection)
-                                .compose(resultMatrix -> {
-                                    try {
-                                        long total = resultMatrix.getOneColumnOfFirstRowAsLong("total");
-                                        return Future.succeededFuture(total);
-                                    } catch (KeelSQLResultRowIndexError e) {
-                                        throw new RuntimeException(e);
-                                    }
-                                }),
+                        countStatement.queryForTotal(sqlConnection),
                         this.execute(sqlConnection)
                 )
                 .compose(compositeFuture -> {
@@ -301,6 +324,192 @@ public class SelectStatement extends AbstractReadStatement {
                 });
     }
 
+    /**
+     * As {@link SelectStatement#queryForPagination(NamedMySQLDataSource, long, long, KeelCacheInterface, long)}
+     * without caching the total.
+     *
+     * @since 3.2.3
+     */
+    public <C extends NamedMySQLConnection> Future<PaginationResult> queryForPagination(
+            @Nonnull NamedMySQLDataSource<C> dataSource,
+            long pageNo,
+            long pageSize
+    ) {
+        return queryForPagination(dataSource, pageNo, pageSize, null, 0);
+    }
+
+    /**
+     * Call from this instance, as the original query as Select Statement for all rows in certain order.
+     * The count and the page run on two connections taken from the data source, side by side;
+     * by {@link NamedMySQLDataSource#withReadConnection(Function)} unless locking.
+     *
+     * @param pageNo                  since 1.
+     * @param pageSize                a number
+     * @param totalCache              nullable; if given, the total is cached by the SQL of the count statement,
+     *                                so the following pages of the same query skip the count within its life,
+     *                                at the cost of a total not exact for the rows changed meanwhile.
+     * @param totalLifeInSeconds      life of the cached total.
+     * @since 3.2.3
+     */
+    public <C extends NamedMySQLConnection> Future<PaginationResult> queryForPagination(
+            @Nonnull NamedMySQLDataSource<C> dataSource,
+            long pageNo,
+            long pageSize,
+            @Nullable KeelCacheInterface<String, Long> totalCache,
+            long totalLifeInSeconds
+    ) {
+        if (pageSize <= 0) throw new IllegalArgumentException("page size <= 0");
+        if (pageNo < 1) throw new IllegalArgumentException("page no < 1");
+        var countStatement = buildCountStatement();
+        this.limit(pageSize, (pageNo - 1) * pageSize);
+
+        Future<Long> totalFuture;
+        if (totalCache == null) {
+            totalFuture = dataSource.withReadConnection(c -> countStatement.queryForTotal(c.getSqlConnection()));
+        } else {
+            totalFuture = totalCache.read(
+                    countStatement.toString(),
+                    countSql -> dataSource.withReadConnection(c -> countStatement.queryForTotal(c.getSqlConnection())),
+                    totalLifeInSeconds
+            );
+        }
+
+        return Future.all(
+                        totalFuture,
+                        isReadOnly()
+                                ? dataSource.withReadConnection(c -> this.execute(c.getSqlConnection()))
+                                : dataSource.withConnection(c -> this.execute(c.getSqlConnection()))
+                )
+                .compose(compositeFuture -> {
+                    Long total = compositeFuture.resultAt(0);
+                    ResultMatrix resultMatrix = compositeFuture.resultAt(1);
+                    return Future.succeededFuture(new PaginationResult(total, resultMatrix));
+                });
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    private SelectStatement buildCountStatement() {
+        return new SelectStatement(this)
+                .resetColumns()
+                .columnWithAlias("count(*)", "total")
+                .limit(0, 0);
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    private Future<Long> queryForTotal(SqlConnection sqlConnection) {
+        return this.execute(sqlConnection)
+                .compose(resultMatrix -> {
+                    try {
+                        long total = resultMatrix.getOneColumnOfFirstRowAsLong("total");
+                        return Future.succeededFuture(total);
+                    } catch (KeelSQLResultRowIndexError e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    public Future<KeysetPaginationResult> queryForKeysetPage(
+            @Nonnull NamedMySQLConnection namedMySQLConnection,
+            @Nullable List<Object> cursor,
+            long pageSize
+    ) {
+        return queryForKeysetPage(namedMySQLConnection.getSqlConnection(), cursor, pageSize);
+    }
+
+    /**
+     * 按键集（seek）方式分页：以本语句的 ORDER BY 规则为键，取排在游标之后的 {@code pageSize} 行，
+     * 即 {@code WHERE (a,b) > (?,?) ORDER BY a,b LIMIT n}，不论翻到多深，都只扫描一页的行。
+     * <p>
+     * 排序规则须是结果中选出的普通字段（如 {@code id} 或 {@code t.id}），不可为空，且组合唯一（最后加上主键即可）；
+     * 升降序可以混合。本实例不被修改。
+     *
+     * @param cursor   null for the first page; or the {@link KeysetPaginationResult#getNextCursor()} of the last page.
+     * @param pageSize a number
+     * @since 3.2.3
+     */
+    public Future<KeysetPaginationResult> queryForKeysetPage(
+            @Nonnull SqlConnection sqlConnection,
+            @Nullable List<Object> cursor,
+            long pageSize
+    ) {
+        if (pageSize <= 0) throw new IllegalArgumentException("page size <= 0");
+        if (sortRules.isEmpty()) {
+            throw new KeelSQLGenerateError("Keyset pagination requires ORDER BY");
+        }
+        List<String> sortExpressions = new ArrayList<>();
+        List<Boolean> sortDescending = new ArrayList<>();
+        for (String sortRule : sortRules) {
+            boolean descending = sortRule.endsWith(" DESC");
+            sortDescending.add(descending);
+            sortExpressions.add(descending ? sortRule.substring(0, sortRule.length() - " DESC".length()) : sortRule);
+        }
+        if (cursor != null && cursor.size() != sortExpressions.size()) {
+            throw new IllegalArgumentException("cursor size does not match the sort rules");
+        }
+
+        SelectStatement pageStatement = new SelectStatement(this).limit(pageSize);
+        if (cursor != null) {
+            // (a > ?) OR (a = ? AND b > ?) OR ..., with < for the descending ones
+            pageStatement.where(conditionsComponent -> conditionsComponent.union(union -> {
+                for (int i = 0; i < sortExpressions.size(); i++) {
+                    GroupCondition intersection = new GroupCondition(GroupCondition.JUNCTION_FOR_AND);
+                    for (int j = 0; j < i; j++) {
+                        intersection.add(keysetComparison(sortExpressions.get(j), CompareCondition.OP_EQ, cursor.get(j)));
+                    }
+                    String operator = sortDescending.get(i) ? CompareCondition.OP_LT : CompareCondition.OP_GT;
+                    intersection.add(keysetComparison(sortExpressions.get(i), operator, cursor.get(i)));
+                    union.add(intersection);
+                }
+                return union;
+            }));
+        }
+
+        return pageStatement.execute(sqlConnection)
+                .compose(resultMatrix -> {
+                    List<Object> nextCursor = null;
+                    if (resultMatrix.getTotalFetchedRows() >= pageSize) {
+                        JsonObject lastRow;
+                        try {
+                            lastRow = resultMatrix.getRowByIndex(resultMatrix.getTotalFetchedRows() - 1);
+                        } catch (KeelSQLResultRowIndexError e) {
+                            throw new RuntimeException(e);
+                        }
+                        nextCursor = new ArrayList<>();
+                        for (String sortExpression : sortExpressions) {
+                            String fieldName = sortExpression.substring(sortExpression.lastIndexOf('.') + 1).replace("`", "");
+                            Object value = lastRow.getValue(fieldName);
+                            if (value == null) {
+                                throw new KeelSQLGenerateError("Keyset pagination requires non-null selected field " + fieldName);
+                            }
+                            nextCursor.add(value);
+                        }
+                    }
+                    return Future.succeededFuture(new KeysetPaginationResult(resultMatrix, nextCursor));
+                });
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    private static CompareCondition keysetComparison(@Nonnull String expression, @Nonnull String operator, @Nullable Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("cursor contains null");
+        }
+        CompareCondition compareCondition = new CompareCondition(operator).compareExpression(expression);
+        if (value instanceof Number) {
+            return compareCondition.againstNumericValue((Number) value);
+        } else {
+            return compareCondition.againstLiteralValue(value);
+        }
+    }
+
     public static class JoinComponent {
         @Nonnull
         final String joinType;
@@ -424,4 +633,33 @@ public class SelectStatement extends AbstractReadStatement {
             return resultMatrix;
         }
     }
+
+    /**
+     * @since 3.2.3
+     */
+    public static class KeysetPaginationResult {
+        private final ResultMatrix resultMatrix;
+        private final @Nullable List<Object> nextCursor;
+
+        public KeysetPaginationResult(ResultMatrix resultMatrix, @Nullable List<Object> nextCursor) {
+            this.resultMatrix = resultMatrix;
+            this.nextCursor = nextCursor;
+        }
+
+        public ResultMatrix getResultMatrix() {
+            return resultMatrix;
+        }
+
+        /**
+         * @return the sort values of the last row, to fetch the next page; null if this page is the last one.
+         */
+        @Nullable
+        public List<Object> getNextCursor() {
+            return nextCursor;
+        }
+
+        public boolean hasNextPage() {
+            return nextCursor != null;
+        }
+    }
 }
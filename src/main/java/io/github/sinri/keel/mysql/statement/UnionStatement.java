@@ -50,6 +50,20 @@ public class UnionStatement extends AbstractReadStatement {
         return this;
     }
 
+    /**
+     * @return false if any selection has a locking read clause, such as {@code FOR UPDATE}.
+     * @since 3.2.3
+     */
+    @Override
+    public boolean isReadOnly() {
+        for (String selection : selections) {
+            if (containsLockClause(selection)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public String toString() {
         return KeelHelpers.stringHelper().joinStringArray(selections, " ") + (
                 getRemarkAsComment().isEmpty() ? "" : ("\n-- " + getRemarkAsComment())
@@ -2,6 +2,7 @@ package io.github.sinri.keel.mysql.statement;
 
 import io.github.sinri.keel.core.TechnicalPreview;
 import io.github.sinri.keel.mysql.statement.component.UpdateSetAssignmentComponent;
+import io.vertx.sqlclient.Tuple;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -118,6 +119,22 @@ public class UpdateStatement extends AbstractModifyStatement {
     }
 
     public String toString() {
+        return render(null);
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    @Override
+    public String toParameterizedString(@Nonnull Tuple parameters) {
+        return render(parameters);
+    }
+
+    /**
+     * @param parameters null to quote values in SQL; or to collect the values bound to placeholders.
+     * @since 3.2.3
+     */
+    private String render(@Nullable Tuple parameters) {
         String sql = "UPDATE " + ignoreMark;
         if (schema != null) {
             sql += " " + schema + ".";
@@ -127,12 +144,12 @@ public class UpdateStatement extends AbstractModifyStatement {
         // since 3.0.19
         List<String> setPairs = new ArrayList<>();
         assignments.forEach(assignment -> {
-            setPairs.add(assignment.toString());
+            setPairs.add(parameters == null ? assignment.toString() : assignment.toParameterizedString(parameters));
         });
         sql += AbstractStatement.SQL_COMPONENT_SEPARATOR + "SET " + KeelHelpers.stringHelper().joinStringArray(setPairs, ", ");
 
         if (!whereConditionsComponent.isEmpty()) {
-            sql += AbstractStatement.SQL_COMPONENT_SEPARATOR + "WHERE " + whereConditionsComponent;
+            sql += AbstractStatement.SQL_COMPONENT_SEPARATOR + "WHERE " + (parameters == null ? whereConditionsComponent.toString() : whereConditionsComponent.toParameterizedString(parameters));
         }
         if (!sortRules.isEmpty()) {
             sql += AbstractStatement.SQL_COMPONENT_SEPARATOR + "ORDER BY " + KeelHelpers.stringHelper().joinStringArray(sortRules, ",");
@@ -0,0 +1,375 @@
+package io.github.sinri.keel.mysql.statement;
+
+import io.github.sinri.keel.facade.async.KeelAsyncKit;
+import io.github.sinri.keel.mysql.NamedMySQLConnection;
+import io.github.sinri.keel.mysql.NamedMySQLDataSource;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Tuple;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.github.sinri.keel.helper.KeelHelpersInterface.KeelHelpers;
+
+/**
+ * Write a large amount of rows with bound parameters, in chunks, on connections of a data source.
+ * <p>
+ * By default, each chunk is one statement of multi-row VALUES with placeholders, written in one round trip;
+ * with {@link WriteIntoBatchExecutor#setUseExecuteBatch(boolean)}, each chunk runs a single-row statement,
+ * prepared once, for each row by {@code executeBatch}.
+ * <p>
+ * At most {@code maxChunksInFlight} chunks run at the same time, each on a connection of its own.
+ * Once a chunk fails, no more chunks start; the chunks in flight are waited for,
+ * and then it fails with a {@link WriteIntoBatchException} whose report tells the rows written and failed.
+ * The chunks written are not rolled back.
+ * <p>
+ * The values are bound as {@link WriteIntoStatement#addDataRow(List)} and {@link WriteIntoStatement.RowToWrite#put(String, Object)}
+ * quote them, so that the data written is the same as the statement would write.
+ * <p>
+ * The table, columns, IGNORE and ON DUPLICATE KEY UPDATE assignments come from the template statement.
+ *
+ * @since 3.2.3
+ */
+public class WriteIntoBatchExecutor {
+    /**
+     * MySQL allows at most 65535 placeholders in one prepared statement.
+     */
+    private static final int MAX_PLACEHOLDERS = 65535;
+    private final WriteIntoStatement template;
+    private int chunkSize = 1000;
+    private int maxChunksInFlight = 4;
+    private boolean useExecuteBatch = false;
+
+    public WriteIntoBatchExecutor(@Nonnull WriteIntoStatement template) {
+        this.template = template;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @param chunkSize the max count of rows in one chunk; for multi-row VALUES, also limited by the placeholders.
+     */
+    public WriteIntoBatchExecutor setChunkSize(int chunkSize) {
+        if (chunkSize < 1) throw new IllegalArgumentException("chunkSize should be positive");
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    public int getMaxChunksInFlight() {
+        return maxChunksInFlight;
+    }
+
+    /**
+     * @param maxChunksInFlight the max count of chunks being written at the same time, i.e. connections taken.
+     */
+    public WriteIntoBatchExecutor setMaxChunksInFlight(int maxChunksInFlight) {
+        if (maxChunksInFlight < 1) throw new IllegalArgumentException("maxChunksInFlight should be positive");
+        this.maxChunksInFlight = maxChunksInFlight;
+        return this;
+    }
+
+    public boolean isUseExecuteBatch() {
+        return useExecuteBatch;
+    }
+
+    public WriteIntoBatchExecutor setUseExecuteBatch(boolean useExecuteBatch) {
+        this.useExecuteBatch = useExecuteBatch;
+        return this;
+    }
+
+    /**
+     * @param rows each row is the values of the columns of the template, in order.
+     */
+    public <C extends NamedMySQLConnection> Future<Report> writeDataRows(
+            @Nonnull NamedMySQLDataSource<C> dataSource,
+            @Nonnull List<List<Object>> rows
+    ) {
+        return Future.succeededFuture()
+                .compose(v -> {
+                    List<String> columns = template.columns;
+                    if (columns.isEmpty()) {
+                        throw new IllegalStateException("Columns not set yet");
+                    }
+                    List<Tuple> tuples = new ArrayList<>(rows.size());
+                    for (List<Object> row : rows) {
+                        if (row.size() != columns.size()) {
+                            throw new IllegalArgumentException("Row size " + row.size() + " differs from columns " + columns.size());
+                        }
+                        // as addDataRow stringifies them
+                        List<Object> values = new ArrayList<>(row.size());
+                        for (Object item : row) {
+                            values.add(item == null ? null : String.valueOf(item));
+                        }
+                        tuples.add(Tuple.wrap(values));
+                    }
+                    return write(dataSource, new ArrayList<>(Collections.nCopies(columns.size(), null)), tuples);
+                });
+    }
+
+    /**
+     * The columns are those of the template, or those of the first row when the template has none.
+     * A column put as an expression (except NULL) in the first row, such as {@code now()},
+     * is kept in SQL and should be the same expression in all rows.
+     */
+    public <C extends NamedMySQLConnection> Future<Report> writeRows(
+            @Nonnull NamedMySQLDataSource<C> dataSource,
+            @Nonnull Collection<WriteIntoStatement.RowToWrite> rows
+    ) {
+        return Future.succeededFuture()
+                .compose(v -> {
+                    if (rows.isEmpty()) {
+                        return Future.succeededFuture(new Report(0));
+                    }
+                    if (template.columns.isEmpty()) {
+                        template.columns(new ArrayList<>(rows.iterator().next().map.keySet()));
+                    }
+                    List<String> columns = template.columns;
+
+                    // null for placeholder, or the expression kept in SQL
+                    List<String> pattern = new ArrayList<>(columns.size());
+                    WriteIntoStatement.RowToWrite firstRow = rows.iterator().next();
+                    for (String column : columns) {
+                        String expression = firstRow.map.get(column);
+                        if (firstRow.parameterMap.containsKey(column) || expression == null || "NULL".equals(expression)) {
+                            pattern.add(null);
+                        } else {
+                            pattern.add(expression);
+                        }
+                    }
+
+                    List<Tuple> tuples = new ArrayList<>(rows.size());
+                    for (WriteIntoStatement.RowToWrite row : rows) {
+                        Tuple tuple = Tuple.tuple();
+                        for (int i = 0; i < columns.size(); i++) {
+                            String column = columns.get(i);
+                            Object parameter = row.parameterMap.get(column);
+                            String expression = row.map.get(column);
+                            if (pattern.get(i) == null) {
+                                if (parameter != null) {
+                                    tuple.addValue(parameter);
+                                } else if (expression == null || "NULL".equals(expression)) {
+                                    tuple.addValue(null);
+                                } else {
+                                    throw new IllegalArgumentException("Column " + column + " is an expression in some row but a value in the first row");
+                                }
+                            } else if (parameter != null || !pattern.get(i).equals(expression)) {
+                                throw new IllegalArgumentException("Column " + column + " should be expression " + pattern.get(i) + " in all rows");
+                            }
+                        }
+                        tuples.add(tuple);
+                    }
+                    return write(dataSource, pattern, tuples);
+                });
+    }
+
+    private <C extends NamedMySQLConnection> Future<Report> write(
+            @Nonnull NamedMySQLDataSource<C> dataSource,
+            @Nonnull List<String> pattern,
+            @Nonnull List<Tuple> tuples
+    ) {
+        Report report = new Report(tuples.size());
+        if (tuples.isEmpty()) {
+            return Future.succeededFuture(report.finish());
+        }
+
+        int placeholdersPerRow = (int) pattern.stream().filter(Objects::isNull).count();
+        int effectiveChunkSize = chunkSize;
+        if (!useExecuteBatch && placeholdersPerRow > 0) {
+            effectiveChunkSize = Math.max(1, Math.min(chunkSize, MAX_PLACEHOLDERS / placeholdersPerRow));
+        }
+        List<String> rowItems = new ArrayList<>(pattern.size());
+        pattern.forEach(item -> rowItems.add(item == null ? "?" : item));
+        String rowSql = "(" + KeelHelpers.stringHelper().joinStringArray(rowItems, ",") + ")";
+
+        Queue<List<Tuple>> chunks = new ConcurrentLinkedQueue<>();
+        for (int start = 0; start < tuples.size(); start += effectiveChunkSize) {
+            chunks.add(tuples.subList(start, Math.min(tuples.size(), start + effectiveChunkSize)));
+        }
+        List<Integer> workers = new ArrayList<>();
+        for (int i = 0; i < Math.min(maxChunksInFlight, chunks.size()); i++) {
+            workers.add(i);
+        }
+
+        // the first failure; the workers never fail, so that all the chunks in flight are waited for.
+        AtomicReference<Throwable> failureRef = new AtomicReference<>();
+        return KeelAsyncKit.parallelForAllSuccess(workers, worker -> KeelAsyncKit.repeatedlyCall(routineResult -> {
+                    List<Tuple> chunk = failureRef.get() != null ? null : chunks.poll();
+                    if (chunk == null) {
+                        routineResult.stop();
+                        return Future.succeededFuture();
+                    }
+                    long startNanos = System.nanoTime();
+                    return dataSource.withConnection(c -> writeChunk(c.getSqlConnection(), rowSql, chunk))
+                            .transform(ar -> {
+                                if (ar.succeeded()) {
+                                    report.recordChunk(chunk.size(), ar.result(), System.nanoTime() - startNanos);
+                                } else {
+                                    report.recordFailedChunk(chunk.size());
+                                    failureRef.compareAndSet(null, ar.cause());
+                                }
+                                return Future.<Void>succeededFuture();
+                            });
+                }))
+                .compose(v -> {
+                    report.finish();
+                    Throwable failure = failureRef.get();
+                    if (failure != null) {
+                        return Future.failedFuture(new WriteIntoBatchException(failure, report));
+                    }
+                    return Future.succeededFuture(report);
+                });
+    }
+
+    /**
+     * @return the affected rows
+     */
+    private Future<Integer> writeChunk(@Nonnull SqlConnection sqlConnection, @Nonnull String rowSql, @Nonnull List<Tuple> chunk) {
+        String sql;
+        Future<Integer> future;
+        if (useExecuteBatch) {
+            sql = template.renderHead() + AbstractStatement.SQL_COMPONENT_SEPARATOR + "VALUES" + AbstractStatement.SQL_COMPONENT_SEPARATOR
+                    + rowSql + template.renderTail();
+            future = sqlConnection.preparedQuery(sql).executeBatch(chunk)
+                    .map(rowSet -> {
+                        int affected = 0;
+                        for (RowSet<Row> x = rowSet; x != null; x = x.next()) {
+                            affected += x.rowCount();
+                        }
+                        return affected;
+                    });
+        } else {
+            sql = template.renderHead() + AbstractStatement.SQL_COMPONENT_SEPARATOR + "VALUES" + AbstractStatement.SQL_COMPONENT_SEPARATOR
+                    + KeelHelpers.stringHelper().joinStringArray(Collections.nCopies(chunk.size(), rowSql), "," + AbstractStatement.SQL_COMPONENT_SEPARATOR)
+                    + template.renderTail();
+            Tuple parameters = Tuple.tuple();
+            chunk.forEach(tuple -> {
+                for (int i = 0; i < tuple.size(); i++) {
+                    parameters.addValue(tuple.getValue(i));
+                }
+            });
+            future = sqlConnection.preparedQuery(sql).execute(parameters).map(RowSet::rowCount);
+        }
+        return future.andThen(ar -> {
+            if (ar.succeeded()) {
+                AbstractStatement.auditInfo(r -> r.setForDone(template.statement_uuid, sql, ar.result(), 0));
+            } else {
+                AbstractStatement.auditException(ar.cause(), r -> r.setForFailed(template.statement_uuid, sql));
+            }
+        });
+    }
+
+    /**
+     * The throughput and the latency of chunks.
+     */
+    public static class Report {
+        private final int totalRows;
+        private final long startNanos;
+        private final LongAdder writtenRows = new LongAdder();
+        private final LongAdder affectedRows = new LongAdder();
+        private final LongAdder failedRows = new LongAdder();
+        private final List<Long> chunkLatencyNanosList = Collections.synchronizedList(new ArrayList<>());
+        private volatile long elapsedNanos;
+
+        Report(int totalRows) {
+            this.totalRows = totalRows;
+            this.startNanos = System.nanoTime();
+        }
+
+        void recordChunk(int rows, int affected, long latencyNanos) {
+            writtenRows.add(rows);
+            affectedRows.add(affected);
+            chunkLatencyNanosList.add(latencyNanos);
+        }
+
+        void recordFailedChunk(int rows) {
+            failedRows.add(rows);
+        }
+
+        Report finish() {
+            this.elapsedNanos = System.nanoTime() - startNanos;
+            return this;
+        }
+
+        public int getTotalRows() {
+            return totalRows;
+        }
+
+        public long getWrittenRows() {
+            return writtenRows.sum();
+        }
+
+        public long getAffectedRows() {
+            return affectedRows.sum();
+        }
+
+        /**
+         * @return the count of rows in the failed chunks; the others not written are in chunks never started.
+         */
+        public long getFailedRows() {
+            return failedRows.sum();
+        }
+
+        public int getChunkCount() {
+            return chunkLatencyNanosList.size();
+        }
+
+        /**
+         * @return the latency of each chunk in milliseconds, in the order of finishing.
+         */
+        public List<Double> getChunkLatencyMillisList() {
+            synchronized (chunkLatencyNanosList) {
+                List<Double> list = new ArrayList<>(chunkLatencyNanosList.size());
+                chunkLatencyNanosList.forEach(x -> list.add(x / 1e6));
+                return list;
+            }
+        }
+
+        public double getElapsedMillis() {
+            return elapsedNanos / 1e6;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : getWrittenRows() * 1e9 / elapsedNanos;
+        }
+
+        public JsonObject toJsonObject() {
+            List<Double> latencies = getChunkLatencyMillisList();
+            return new JsonObject()
+                    .put("total_rows", getTotalRows())
+                    .put("written_rows", getWrittenRows())
+                    .put("affected_rows", getAffectedRows())
+                    .put("failed_rows", getFailedRows())
+                    .put("chunks", latencies.size())
+                    .put("elapsed_ms", getElapsedMillis())
+                    .put("rows_per_second", getRowsPerSecond())
+                    .put("chunk_latency_avg_ms", latencies.stream().mapToDouble(x -> x).average().orElse(0))
+                    .put("chunk_latency_max_ms", latencies.stream().mapToDouble(x -> x).max().orElse(0));
+        }
+    }
+
+    /**
+     * A chunk failed; the report tells the rows written by the chunks done before and in flight.
+     */
+    public static class WriteIntoBatchException extends RuntimeException {
+        private final Report report;
+
+        WriteIntoBatchException(@Nonnull Throwable cause, @Nonnull Report report) {
+            super("Failed to write the batch after " + report.getWrittenRows() + " of " + report.getTotalRows() + " rows written", cause);
+            this.report = report;
+        }
+
+        @Nonnull
+        public Report getReport() {
+            return report;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import io.vertx.core.Handler;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Tuple;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -27,6 +28,14 @@ public class WriteIntoStatement extends AbstractModifyStatement {
     final List<String> columns = new ArrayList<>();
     @Nonnull
     final List<List<String>> batchValues = new ArrayList<>();
+    /**
+     * For each row in {@link WriteIntoStatement#batchValues}, the values to bind in place of the items,
+     * null for the items kept as expressions.
+     *
+     * @since 3.2.3
+     */
+    @Nonnull
+    final List<List<Object>> batchParameters = new ArrayList<>();
     @Nonnull
     final Map<String, String> onDuplicateKeyUpdateAssignmentMap = new HashMap<>();
     @Nonnull
@@ -81,14 +90,18 @@ public class WriteIntoStatement extends AbstractModifyStatement {
 
     public WriteIntoStatement addDataRow(@Nonnull List<Object> row) {
         List<String> t = new ArrayList<>();
+        List<Object> p = new ArrayList<>();
         for (Object item : row) {
             if (item == null) {
                 t.add("NULL");
+                p.add(null);
             } else {
                 t.add(new Quoter(String.valueOf(item)).toString());
+                p.add(String.valueOf(item));
             }
         }
         this.batchValues.add(t);
+        this.batchParameters.add(p);
         return this;
     }
 
@@ -101,6 +114,7 @@ public class WriteIntoStatement extends AbstractModifyStatement {
         }
         columns.clear();
         this.batchValues.clear();
+        this.batchParameters.clear();
 
         rows.forEach(row -> {
             if (row.map.isEmpty()) {
@@ -108,6 +122,7 @@ public class WriteIntoStatement extends AbstractModifyStatement {
             }
 
             List<String> dataRow = new ArrayList<>();
+            List<Object> dataRowParameters = new ArrayList<>();
 
             if (columns.isEmpty()) {
                 columns.addAll(row.map.keySet());
@@ -116,9 +131,11 @@ public class WriteIntoStatement extends AbstractModifyStatement {
             columns.forEach(key -> {
                 var value = row.map.get(key);
                 dataRow.add(value);
+                dataRowParameters.add(row.parameterMap.get(key));
             });
 
             this.batchValues.add(dataRow);
+            this.batchParameters.add(dataRowParameters);
         });
 
         return this;
@@ -130,12 +147,16 @@ public class WriteIntoStatement extends AbstractModifyStatement {
     public WriteIntoStatement macroWriteOneRow(@Nonnull RowToWrite row) {
         columns.clear();
         this.batchValues.clear();
+        this.batchParameters.clear();
         List<String> dataRow = new ArrayList<>();
+        List<Object> dataRowParameters = new ArrayList<>();
         row.map.forEach((column, expression) -> {
             columns.add(column);
             dataRow.add(expression);
+            dataRowParameters.add(row.parameterMap.get(column));
         });
         this.batchValues.add(dataRow);
+        this.batchParameters.add(dataRowParameters);
         return this;
     }
 
@@ -219,12 +240,26 @@ public class WriteIntoStatement extends AbstractModifyStatement {
     }
 
     public String toString() {
-        String sql = writeType + " " + ignoreMark + " INTO ";
-        if (schema != null) {
-            sql += schema + ".";
-        }
-        sql += table;
-        sql += " (" + KeelHelpers.stringHelper().joinStringArray(columns, ",") + ")";
+        return render(null);
+    }
+
+    /**
+     * The source selection and the ON DUPLICATE KEY UPDATE assignments are kept as they are,
+     * only the values of rows use placeholders.
+     *
+     * @since 3.2.3
+     */
+    @Override
+    public String toParameterizedString(@Nonnull Tuple parameters) {
+        return render(parameters);
+    }
+
+    /**
+     * @param parameters null to quote values in SQL; or to collect the values bound to placeholders.
+     * @since 3.2.3
+     */
+    private String render(@Nullable Tuple parameters) {
+        String sql = renderHead();
         if (sourceTableName != null) {
             sql += AbstractStatement.SQL_COMPONENT_SEPARATOR + "TABLE " + sourceTableName;
         } else if (sourceSelectSQL != null) {
@@ -232,11 +267,38 @@ public class WriteIntoStatement extends AbstractModifyStatement {
         } else {
             sql += AbstractStatement.SQL_COMPONENT_SEPARATOR + "VALUES" + AbstractStatement.SQL_COMPONENT_SEPARATOR;
             List<String> items = new ArrayList<>();
-            for (List<String> row : batchValues) {
+            for (int rowIndex = 0; rowIndex < batchValues.size(); rowIndex++) {
+                List<String> row = batchValues.get(rowIndex);
+                if (parameters != null && rowIndex < batchParameters.size()) {
+                    row = parameterizeRow(row, batchParameters.get(rowIndex), parameters);
+                }
                 items.add("(" + KeelHelpers.stringHelper().joinStringArray(row, ",") + ")");
             }
             sql += KeelHelpers.stringHelper().joinStringArray(items, "," + AbstractStatement.SQL_COMPONENT_SEPARATOR);
         }
+        return sql + renderTail();
+    }
+
+    /**
+     * @return the part before the source of rows, such as {@code INSERT INTO schema.table (column...)}.
+     * @since 3.2.3
+     */
+    String renderHead() {
+        String sql = writeType + " " + ignoreMark + " INTO ";
+        if (schema != null) {
+            sql += schema + ".";
+        }
+        sql += table;
+        sql += " (" + KeelHelpers.stringHelper().joinStringArray(columns, ",") + ")";
+        return sql;
+    }
+
+    /**
+     * @return the part after the source of rows, i.e. the ON DUPLICATE KEY UPDATE assignments and the remark.
+     * @since 3.2.3
+     */
+    String renderTail() {
+        String sql = "";
         if (!onDuplicateKeyUpdateAssignmentMap.isEmpty()) {
             sql += AbstractStatement.SQL_COMPONENT_SEPARATOR + "ON DUPLICATE KEY UPDATE" + AbstractStatement.SQL_COMPONENT_SEPARATOR;
             List<String> items = new ArrayList<>();
@@ -249,6 +311,26 @@ public class WriteIntoStatement extends AbstractModifyStatement {
         return sql;
     }
 
+    /**
+     * @since 3.2.3
+     */
+    private static List<String> parameterizeRow(@Nonnull List<String> row, @Nonnull List<Object> rowParameters, @Nonnull Tuple parameters) {
+        if (rowParameters.size() != row.size()) {
+            return row;
+        }
+        List<String> items = new ArrayList<>(row.size());
+        for (int i = 0; i < row.size(); i++) {
+            Object parameter = rowParameters.get(i);
+            if (parameter == null) {
+                items.add(row.get(i));
+            } else {
+                items.add("?");
+                parameters.addValue(parameter);
+            }
+        }
+        return items;
+    }
+
     /**
      * @param sqlConnection get from pool
      * @return future with last inserted id; if any error occurs, failed future returned instead.
@@ -268,6 +350,15 @@ public class WriteIntoStatement extends AbstractModifyStatement {
         return executeForLastInsertedID(namedMySQLConnection.getSqlConnection());
     }
 
+    /**
+     * @return an executor to write rows in chunks with bound parameters, into the table of this statement
+     * with its columns and ON DUPLICATE KEY UPDATE assignments; the rows in this statement are ignored.
+     * @since 3.2.3
+     */
+    public WriteIntoBatchExecutor batchExecutor() {
+        return new WriteIntoBatchExecutor(this);
+    }
+
     /**
      * 按照最大块尺寸分裂！
      *
@@ -290,7 +381,12 @@ public class WriteIntoStatement extends AbstractModifyStatement {
             chunkWIS.ignoreMark = this.ignoreMark;
             chunkWIS.schema = this.schema;
             chunkWIS.table = this.table;
+            // since 3.2.3
+            chunkWIS.setParameterized(this.isParameterized());
             chunkWIS.batchValues.addAll(this.batchValues.subList(chunkStartIndex, Math.min(size, chunkStartIndex + chunkSize)));
+            if (this.batchParameters.size() == size) {
+                chunkWIS.batchParameters.addAll(this.batchParameters.subList(chunkStartIndex, Math.min(size, chunkStartIndex + chunkSize)));
+            }
 
             list.add(chunkWIS);
         }
@@ -299,6 +395,12 @@ public class WriteIntoStatement extends AbstractModifyStatement {
 
     public static class RowToWrite {
         final Map<String, String> map = new ConcurrentHashMap<>();
+        /**
+         * The values to bind for the columns put as values.
+         *
+         * @since 3.2.3
+         */
+        final Map<String, Object> parameterMap = new ConcurrentHashMap<>();
 
         /**
          * @since 3.0.1
@@ -309,6 +411,7 @@ public class WriteIntoStatement extends AbstractModifyStatement {
 
         public RowToWrite putExpression(@Nonnull String columnName, @Nonnull String expression) {
             map.put(columnName, expression);
+            parameterMap.remove(columnName);
             return this;
         }
 
@@ -318,10 +421,13 @@ public class WriteIntoStatement extends AbstractModifyStatement {
         public RowToWrite put(@Nonnull String columnName, @Nullable Object value) {
             if (value == null) return this.putExpression(columnName, "NULL");
             else if (value instanceof Number) {
-                return putExpression(columnName, String.valueOf(value));
+                putExpression(columnName, String.valueOf(value));
+                parameterMap.put(columnName, value);
             } else {
-                return putExpression(columnName, new Quoter(value.toString()).toString());
+                putExpression(columnName, new Quoter(value.toString()).toString());
+                parameterMap.put(columnName, value.toString());
             }
+            return this;
         }
 
         /**
@@ -2,6 +2,7 @@ package io.github.sinri.keel.mysql.statement.component;
 
 import io.github.sinri.keel.core.TechnicalPreview;
 import io.github.sinri.keel.mysql.Quoter;
+import io.vertx.sqlclient.Tuple;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -13,6 +14,12 @@ import javax.annotation.Nullable;
 public class UpdateSetAssignmentComponent {
     private final @Nonnull String fieldName;
     private @Nonnull String expression;
+    /**
+     * The value to bind in place of the expression, or null to keep the expression.
+     *
+     * @since 3.2.3
+     */
+    private @Nullable Object parameter;
 
     public UpdateSetAssignmentComponent(@Nonnull String fieldName) {
         this.fieldName = fieldName;
@@ -20,27 +27,33 @@ public class UpdateSetAssignmentComponent {
 
     public UpdateSetAssignmentComponent assignmentToExpression(@Nonnull String expression) {
         this.expression = expression;
+        this.parameter = null;
         return this;
     }
 
     public UpdateSetAssignmentComponent assignmentToValue(@Nullable Object expression) {
         if(expression==null){
             this.expression = "NULL";
+            this.parameter = null;
         }else if (expression instanceof Number){
             this.expression = expression.toString();
+            this.parameter = expression;
         }else{
             this.expression = new Quoter(expression.toString()).toString();
+            this.parameter = expression.toString();
         }
         return this;
     }
 
     public UpdateSetAssignmentComponent assignmentToNull() {
         this.expression = "NULL";
+        this.parameter = null;
         return this;
     }
 
     public UpdateSetAssignmentComponent assignmentToCaseOperator(@Nonnull CaseOperator caseOperator) {
         this.expression = caseOperator.toString();
+        this.parameter = null;
         return this;
     }
 
@@ -49,4 +62,14 @@ public class UpdateSetAssignmentComponent {
         return fieldName + "=" + expression;
     }
 
+    /**
+     * @since 3.2.3
+     */
+    public String toParameterizedString(@Nonnull Tuple parameters) {
+        if (parameter == null) {
+            return toString();
+        }
+        parameters.addValue(parameter);
+        return fieldName + "=?";
+    }
 }
@@ -0,0 +1,122 @@
+package io.github.sinri.keel.mysql.statement.templated;
+
+import io.vertx.sqlclient.Tuple;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.github.sinri.keel.helper.KeelHelpersInterface.KeelHelpers;
+
+/**
+ * SQL模板解析一次后的形式：字面量与占位符 {@code {name}} 交替的片段列表，渲染时单次拼接，不再逐个参数做正则替换。
+ * 占位符名为花括号内任意不含花括号的文本（含非ASCII字符、冒号等），与原先逐个参数替换时可用的名称一致；
+ * 未绑定的占位符（包括SQL中形如占位符的JSON字面量）原样保留。
+ * <p>
+ * 从文件或 jar 中加载的模板按路径缓存，见 {@link SqlTemplate#load(String)}。
+ *
+ * @since 3.2.3
+ */
+public final class SqlTemplate {
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\{([^{}]+)}");
+    private static final Map<String, SqlTemplate> LOADED_TEMPLATES = new ConcurrentHashMap<>();
+
+    private final String source;
+    /**
+     * One more than the placeholders: literal, placeholder, literal, ..., literal.
+     */
+    private final List<String> literals;
+    private final List<String> placeholders;
+
+    private SqlTemplate(@Nonnull String source, @Nonnull List<String> literals, @Nonnull List<String> placeholders) {
+        this.source = source;
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    @Nonnull
+    public static SqlTemplate parse(@Nonnull String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER_PATTERN.matcher(source);
+        int last = 0;
+        while (matcher.find()) {
+            literals.add(source.substring(last, matcher.start()));
+            placeholders.add(matcher.group(1));
+            last = matcher.end();
+        }
+        literals.add(source.substring(last));
+        return new SqlTemplate(source, Collections.unmodifiableList(literals), Collections.unmodifiableList(placeholders));
+    }
+
+    /**
+     * Load the template from the file or the jar, only for the first time of the path.
+     */
+    @Nonnull
+    public static SqlTemplate load(@Nonnull String templatePath) {
+        return LOADED_TEMPLATES.computeIfAbsent(templatePath, path -> {
+            try {
+                byte[] bytes = KeelHelpers.fileHelper().readFileAsByteArray(path, true);
+                return parse(new String(bytes));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    /**
+     * Drop the cached templates, such as after the template files changed.
+     */
+    public static void clearLoadedTemplates() {
+        LOADED_TEMPLATES.clear();
+    }
+
+    @Nonnull
+    public String getSource() {
+        return source;
+    }
+
+    public List<String> getPlaceholders() {
+        return placeholders;
+    }
+
+    @Nonnull
+    public String render(@Nonnull Map<String, TemplateArgument> arguments) {
+        return render(arguments, null);
+    }
+
+    /**
+     * The values of strings and numbers are bound as parameters with placeholders {@code ?},
+     * while expressions are kept in SQL.
+     *
+     * @param parameters to collect the values bound to placeholders.
+     */
+    @Nonnull
+    public String renderParameterized(@Nonnull Map<String, TemplateArgument> arguments, @Nonnull Tuple parameters) {
+        return render(arguments, parameters);
+    }
+
+    private String render(@Nonnull Map<String, TemplateArgument> arguments, Tuple parameters) {
+        StringBuilder sql = new StringBuilder(source.length() + 16 * placeholders.size());
+        for (int i = 0; i < placeholders.size(); i++) {
+            sql.append(literals.get(i));
+            String placeholder = placeholders.get(i);
+            TemplateArgument argument = arguments.get(placeholder);
+            if (argument == null) {
+                sql.append('{').append(placeholder).append('}');
+            } else if (parameters == null) {
+                sql.append(argument);
+            } else {
+                argument.appendParameterized(sql, parameters);
+            }
+        }
+        sql.append(literals.get(placeholders.size()));
+        return sql.toString();
+    }
+}
@@ -3,7 +3,10 @@ package io.github.sinri.keel.mysql.statement.templated;
 
 import io.github.sinri.keel.mysql.Quoter;
 
+import io.vertx.sqlclient.Tuple;
+
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -16,15 +19,38 @@ import static io.github.sinri.keel.helper.KeelHelpersInterface.KeelHelpers;
 public class TemplateArgument {
     private final boolean asScalar;
     private final Collection<String> expressions;
+    /**
+     * The raw values of the expressions, to bind as parameters; null for expressions.
+     *
+     * @since 3.2.3
+     */
+    @Nullable
+    private final List<Object> parameters;
 
     private TemplateArgument(@Nonnull String expression) {
+        this(expression, null);
+    }
+
+    private TemplateArgument(@Nonnull Collection<String> expressions) {
+        this(expressions, null);
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    private TemplateArgument(@Nonnull String expression, @Nullable Object parameter) {
         this.asScalar = true;
         this.expressions = List.of(expression);
+        this.parameters = parameter == null ? null : List.of(parameter);
     }
 
-    private TemplateArgument(@Nonnull Collection<String> expressions) {
+    /**
+     * @since 3.2.3
+     */
+    private TemplateArgument(@Nonnull Collection<String> expressions, @Nullable List<Object> parameters) {
         this.asScalar = false;
         this.expressions = expressions;
+        this.parameters = parameters;
     }
 
     public static TemplateArgument forNull() {
@@ -32,7 +58,7 @@ public class TemplateArgument {
     }
 
     public static TemplateArgument forNumber(@Nonnull Number number) {
-        return forExpression(String.valueOf(number));
+        return new TemplateArgument(String.valueOf(number), number);
     }
 
     public static TemplateArgument forNumbers(@Nonnull Collection<? extends Number> numbers) {
@@ -40,7 +66,7 @@ public class TemplateArgument {
         numbers.forEach(number -> {
             list.add(String.valueOf(number));
         });
-        return forExpressions(list);
+        return new TemplateArgument(list, new ArrayList<>(numbers));
     }
 
     public static TemplateArgument forString(@Nonnull String string) {
@@ -48,7 +74,7 @@ public class TemplateArgument {
 //        System.out.println("S1 | "+s1);
         String s2 = Quoter.quoteEscapedString(s1);
 //        System.out.println("S2 | "+s2);
-        return forExpression(s2);
+        return new TemplateArgument(s2, string);
     }
 
     public static TemplateArgument forStrings(@Nonnull Collection<String> strings) {
@@ -56,7 +82,7 @@ public class TemplateArgument {
         strings.forEach(string -> {
             list.add(Quoter.quoteEscapedString(Quoter.escapeString(string)));
         });
-        return forExpressions(list);
+        return new TemplateArgument(list, new ArrayList<>(strings));
     }
 
     public static TemplateArgument forExpression(@Nonnull String string) {
@@ -71,6 +97,29 @@ public class TemplateArgument {
         return new TemplateArgument(strings);
     }
 
+    /**
+     * Append the placeholders {@code ?} for the values and add the values to the parameters,
+     * or the expressions as {@link TemplateArgument#toString()} if not bindable.
+     *
+     * @since 3.2.3
+     */
+    void appendParameterized(@Nonnull StringBuilder sql, @Nonnull Tuple parameters) {
+        if (this.parameters == null) {
+            sql.append(this);
+            return;
+        }
+        if (this.asScalar) {
+            sql.append('?');
+        } else {
+            sql.append('(');
+            for (int i = 0; i < this.parameters.size(); i++) {
+                sql.append(i == 0 ? "?" : ",?");
+            }
+            sql.append(')');
+        }
+        this.parameters.forEach(parameters::addValue);
+    }
+
     @Override
     public String toString() {
         if (this.asScalar) {
@@ -2,6 +2,7 @@ package io.github.sinri.keel.mysql.statement.templated;
 
 import io.github.sinri.keel.mysql.statement.AbstractModifyStatement;
 import io.vertx.core.Handler;
+import io.vertx.sqlclient.Tuple;
 
 import javax.annotation.Nonnull;
 
@@ -9,11 +10,18 @@ import javax.annotation.Nonnull;
  * @since 3.0.8
  */
 public class TemplatedModifyStatement extends AbstractModifyStatement implements TemplatedStatement {
-    private final String templateSql;
+    private final SqlTemplate sqlTemplate;
     private final TemplateArgumentMapping argumentMapping;
 
     public TemplatedModifyStatement(@Nonnull String templateSql) {
-        this.templateSql = templateSql;
+        this(SqlTemplate.parse(templateSql));
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    public TemplatedModifyStatement(@Nonnull SqlTemplate sqlTemplate) {
+        this.sqlTemplate = sqlTemplate;
         this.argumentMapping = new TemplateArgumentMapping();
     }
 
@@ -24,7 +32,25 @@ public class TemplatedModifyStatement extends AbstractModifyStatement implements
 
     @Override
     public String getSqlTemplate() {
-        return this.templateSql;
+        return sqlTemplate.getSource();
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    @Override
+    public SqlTemplate getCompiledTemplate() {
+        return sqlTemplate;
+    }
+
+    /**
+     * The string and number arguments are bound to placeholders, the expressions are kept.
+     *
+     * @since 3.2.3
+     */
+    @Override
+    public String toParameterizedString(@Nonnull Tuple parameters) {
+        return sqlTemplate.renderParameterized(argumentMapping, parameters);
     }
 
     @Override
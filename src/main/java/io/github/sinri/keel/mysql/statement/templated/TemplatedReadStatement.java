@@ -2,6 +2,7 @@ package io.github.sinri.keel.mysql.statement.templated;
 
 import io.github.sinri.keel.mysql.statement.AbstractReadStatement;
 import io.vertx.core.Handler;
+import io.vertx.sqlclient.Tuple;
 
 import javax.annotation.Nonnull;
 
@@ -10,11 +11,18 @@ import javax.annotation.Nonnull;
  */
 public class TemplatedReadStatement extends AbstractReadStatement implements TemplatedStatement {
 
-    private final String templateSql;
+    private final SqlTemplate sqlTemplate;
     private final TemplateArgumentMapping argumentMapping;
 
     public TemplatedReadStatement(@Nonnull String templateSql) {
-        this.templateSql = templateSql;
+        this(SqlTemplate.parse(templateSql));
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    public TemplatedReadStatement(@Nonnull SqlTemplate sqlTemplate) {
+        this.sqlTemplate = sqlTemplate;
         this.argumentMapping = new TemplateArgumentMapping();
     }
 
@@ -29,9 +37,37 @@ public class TemplatedReadStatement extends AbstractReadStatement implements Tem
         return this.build();
     }
 
+    /**
+     * @return false if the rendered SQL has a locking read clause, such as {@code FOR UPDATE},
+     *         from the template or from an expression argument.
+     * @since 3.2.3
+     */
+    @Override
+    public boolean isReadOnly() {
+        return !containsLockClause(toString());
+    }
+
     @Override
     public String getSqlTemplate() {
-        return templateSql;
+        return sqlTemplate.getSource();
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    @Override
+    public SqlTemplate getCompiledTemplate() {
+        return sqlTemplate;
+    }
+
+    /**
+     * The string and number arguments are bound to placeholders, the expressions are kept.
+     *
+     * @since 3.2.3
+     */
+    @Override
+    public String toParameterizedString(@Nonnull Tuple parameters) {
+        return sqlTemplate.renderParameterized(argumentMapping, parameters);
     }
 
     @Override
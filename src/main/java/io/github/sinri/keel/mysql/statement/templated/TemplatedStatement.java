@@ -1,48 +1,44 @@
 package io.github.sinri.keel.mysql.statement.templated;
 
-import javax.annotation.Nonnull;
-import java.io.IOException;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.regex.Matcher;
+import io.github.sinri.keel.mysql.statement.AbstractStatement;
 
-import static io.github.sinri.keel.helper.KeelHelpersInterface.KeelHelpers;
+import javax.annotation.Nonnull;
 
 /**
  * @since 3.0.8 Technical Preview
+ * @since 3.2.3 templates are parsed once into {@link SqlTemplate}, and executed with bound parameters when
+ *         {@link AbstractStatement#setParameterized(boolean)}.
  */
 public interface TemplatedStatement {
+    /**
+     * @since 3.2.3 the template is loaded once for each path, see {@link SqlTemplate#load(String)}.
+     */
     static TemplatedReadStatement loadTemplateToRead(@Nonnull String templatePath) {
-        try {
-            byte[] bytes = KeelHelpers.fileHelper().readFileAsByteArray(templatePath, true);
-            String sqlTemplate = new String(bytes);
-            return new TemplatedReadStatement(sqlTemplate);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        return new TemplatedReadStatement(SqlTemplate.load(templatePath));
     }
 
+    /**
+     * @since 3.2.3 the template is loaded once for each path, see {@link SqlTemplate#load(String)}.
+     */
     static TemplatedModifyStatement loadTemplateToModify(@Nonnull String templatePath) {
-        try {
-            byte[] bytes = KeelHelpers.fileHelper().readFileAsByteArray(templatePath, true);
-            String sqlTemplate = new String(bytes);
-            return new TemplatedModifyStatement(sqlTemplate);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        return new TemplatedModifyStatement(SqlTemplate.load(templatePath));
     }
 
     String getSqlTemplate();
 
     TemplateArgumentMapping getArguments();
 
-    default String build() {
-        AtomicReference<String> sqlRef = new AtomicReference<>(getSqlTemplate());
-
-        getArguments().forEach((argumentName, argumentValue) -> {
-            String s = sqlRef.get().replaceAll("\\{" + argumentName + "\\}", Matcher.quoteReplacement(argumentValue.toString()));
-            sqlRef.set(s);
-        });
+    /**
+     * @since 3.2.3
+     */
+    default SqlTemplate getCompiledTemplate() {
+        return SqlTemplate.parse(getSqlTemplate());
+    }
 
-        return sqlRef.get();
+    /**
+     * @since 3.2.3 render in one pass.
+     */
+    default String build() {
+        return getCompiledTemplate().render(getArguments());
     }
 }
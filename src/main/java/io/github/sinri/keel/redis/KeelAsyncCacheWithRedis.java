@@ -1,10 +1,13 @@
 package io.github.sinri.keel.redis;
 
 import io.github.sinri.keel.cache.KeelAsyncCacheInterface;
+import io.github.sinri.keel.cache.ValueWrapper;
 import io.vertx.core.Future;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.Response;
 
 import javax.annotation.Nonnull;
-import java.util.Objects;
+import java.util.*;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
@@ -57,6 +60,78 @@ public class KeelAsyncCacheWithRedis implements KeelAsyncCacheInterface<String,
                 });
     }
 
+    /**
+     * Read the cached items of the keys with one MGET.
+     *
+     * @return a map of keys found to their values; keys not found are absent.
+     * @since 3.2.3
+     */
+    public Future<Map<String, String>> readAll(@Nonnull Collection<String> keys) {
+        List<String> keyList = new ArrayList<>(keys);
+        return this.redisKit.getStrings(keyList)
+                .compose(values -> {
+                    Map<String, String> map = new HashMap<>();
+                    for (int i = 0; i < keyList.size(); i++) {
+                        String value = values.get(i);
+                        if (value != null) {
+                            map.put(keyList.get(i), value);
+                        }
+                    }
+                    return Future.succeededFuture(map);
+                });
+    }
+
+    /**
+     * Read the cached item and its remaining life with one pipeline of {@code GET} and {@code PTTL}.
+     *
+     * @return the value wrapper dying when the key expires in Redis (in whole seconds, rounded down),
+     *         or null if not found; a key without expiration is taken to live for {@link Integer#MAX_VALUE} seconds.
+     * @since 3.2.3
+     */
+    public Future<ValueWrapper<String>> readWithRemainingLife(@Nonnull String key) {
+        RedisPipeline pipeline = this.redisKit.pipeline();
+        pipeline.queue(Command.GET, key);
+        pipeline.queue(Command.PTTL, key);
+        return pipeline.flush()
+                .compose(responses -> {
+                    Response valueResponse = responses.get(0);
+                    Response ttlResponse = responses.get(1);
+                    if (valueResponse == null || ttlResponse == null) {
+                        return Future.succeededFuture(null);
+                    }
+                    long ttl = ttlResponse.toLong();
+                    if (ttl == -2) {
+                        // expired between the two commands
+                        return Future.succeededFuture(null);
+                    }
+                    long lifeInSeconds = ttl < 0 ? Integer.MAX_VALUE : ttl / 1000L;
+                    return Future.succeededFuture(new ValueWrapper<>(valueResponse.toString(), lifeInSeconds));
+                });
+    }
+
+    /**
+     * Save the items with the same lifetime, as one pipeline of {@code SET key value EX seconds},
+     * so each key gets its value and expiration atomically, with one round trip for all.
+     *
+     * @since 3.2.3
+     */
+    public Future<Void> saveAll(@Nonnull Map<String, String> entries, long lifeInSeconds) {
+        if (entries.isEmpty()) {
+            return Future.succeededFuture();
+        }
+        RedisPipeline pipeline = this.redisKit.pipeline();
+        entries.forEach((key, value) -> pipeline.queue(Command.SET, key, value, "EX", lifeInSeconds));
+        return pipeline.flush()
+                .compose(responses -> {
+                    for (Response response : responses) {
+                        if (response == null || !"OK".equals(response.toString())) {
+                            return Future.failedFuture(new RuntimeException("SET Response is not OK but " + response));
+                        }
+                    }
+                    return Future.succeededFuture();
+                });
+    }
+
     @Override
     public Future<Void> remove(@Nonnull String key) {
         return redisKit.deleteKey(key).compose(x -> {
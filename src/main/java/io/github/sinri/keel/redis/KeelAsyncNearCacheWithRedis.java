@@ -0,0 +1,362 @@
+package io.github.sinri.keel.redis;
+
+import io.github.sinri.keel.cache.KeelAsyncCacheInterface;
+import io.github.sinri.keel.cache.KeelCacheSingleFlightLoader;
+import io.github.sinri.keel.cache.ValueWrapper;
+import io.github.sinri.keel.cache.impl.KeelCacheDalet;
+import io.vertx.core.Future;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+
+import javax.annotation.Nonnull;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static io.github.sinri.keel.facade.KeelInstance.Keel;
+
+/**
+ * A two-tier cache: a bounded in-process L1 ({@link KeelCacheDalet}) in front of a remote L2,
+ * by default {@link KeelAsyncCacheWithRedis}.
+ * <p>
+ * Reads are served by L1 when found, otherwise by L2 and then kept in L1.
+ * Writes go to L2 first, then L1, and an invalidation is published on the event bus,
+ * so that the other instances sharing the same address (in this node, or other nodes of the Vert.x cluster)
+ * drop their L1 entry of the key.
+ * An L1 entry lives at most {@code localLifeInSeconds}, and no longer than the remaining life in L2 when it is
+ * {@link KeelAsyncCacheWithRedis}; which bounds the staleness if an invalidation is lost.
+ * <p>
+ * Each key maps to a generation, bumped by every invalidation, write and removal in this instance;
+ * a value read from L2 is kept in L1 only if the generation of its key did not change during the reading,
+ * so that a reading in flight never puts back a value invalidated meanwhile.
+ * <p>
+ * The hits, misses and latency of each tier are counted in {@link TierStatistics}.
+ *
+ * @since 3.2.3
+ */
+public class KeelAsyncNearCacheWithRedis implements KeelAsyncCacheInterface<String, String> {
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final String instanceId;
+    private final KeelAsyncCacheInterface<String, String> remoteCache;
+    private final KeelCacheDalet<String, String> localCache;
+    private final long localLifeInSeconds;
+    private final String invalidationAddress;
+    private final MessageConsumer<JsonObject> invalidationConsumer;
+    private final KeelCacheSingleFlightLoader<String, String> singleFlightLoader;
+    private final TierStatistics localStatistics = new TierStatistics();
+    private final TierStatistics remoteStatistics = new TierStatistics();
+    /**
+     * Generations of keys by stripe of hash, and the one of all keys; both only increase.
+     */
+    private final AtomicLongArray keyGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong allKeysGeneration = new AtomicLong(0);
+
+    /**
+     * @param redisInstanceKey   the key of redis configuration, i.e. {@code redis.<key>.url}
+     * @param localMaximumSize   the maximum count of entries kept in L1
+     * @param localLifeInSeconds the maximum life of entries in L1
+     */
+    public KeelAsyncNearCacheWithRedis(@Nonnull String redisInstanceKey, long localMaximumSize, long localLifeInSeconds) {
+        this(
+                new KeelAsyncCacheWithRedis(redisInstanceKey),
+                KeelAsyncNearCacheWithRedis.class.getName() + ":" + redisInstanceKey,
+                localMaximumSize,
+                localLifeInSeconds
+        );
+    }
+
+    /**
+     * @param remoteCache         the L2 cache, shared by all instances
+     * @param invalidationAddress the event bus address to publish and receive invalidations
+     * @param localMaximumSize    the maximum count of entries kept in L1
+     * @param localLifeInSeconds  the maximum life of entries in L1
+     */
+    public KeelAsyncNearCacheWithRedis(
+            @Nonnull KeelAsyncCacheInterface<String, String> remoteCache,
+            @Nonnull String invalidationAddress,
+            long localMaximumSize,
+            long localLifeInSeconds
+    ) {
+        this.instanceId = UUID.randomUUID().toString();
+        this.remoteCache = remoteCache;
+        this.localCache = new KeelCacheDalet<>(localMaximumSize);
+        this.localLifeInSeconds = localLifeInSeconds;
+        this.invalidationAddress = invalidationAddress;
+        this.singleFlightLoader = new KeelCacheSingleFlightLoader<>();
+        this.invalidationConsumer = Keel.getVertx().eventBus().consumer(invalidationAddress, this::handleInvalidation);
+    }
+
+    public TierStatistics getLocalStatistics() {
+        return localStatistics;
+    }
+
+    public TierStatistics getRemoteStatistics() {
+        return remoteStatistics;
+    }
+
+    public KeelCacheSingleFlightLoader<String, String> getSingleFlightLoader() {
+        return singleFlightLoader;
+    }
+
+    private void handleInvalidation(Message<JsonObject> message) {
+        JsonObject body = message.body();
+        if (body == null || instanceId.equals(body.getString("sender"))) {
+            return;
+        }
+        String key = body.getString("key");
+        if (key == null) {
+            removeAllLocal();
+        } else {
+            removeLocal(key);
+        }
+    }
+
+    private static int stripeOf(@Nonnull String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    private long generationOf(@Nonnull String key) {
+        return keyGenerations.get(stripeOf(key)) + allKeysGeneration.get();
+    }
+
+    /**
+     * Bump the generation before touching L1, so that the readings in flight do not keep their values.
+     */
+    private void removeLocal(@Nonnull String key) {
+        keyGenerations.incrementAndGet(stripeOf(key));
+        localCache.remove(key);
+    }
+
+    private void saveLocal(@Nonnull String key, String value, long lifeInSeconds) {
+        keyGenerations.incrementAndGet(stripeOf(key));
+        localCache.save(key, value, lifeInSeconds);
+    }
+
+    /**
+     * @param key the key to invalidate, or null for all.
+     */
+    private void publishInvalidation(String key) {
+        Keel.getVertx().eventBus().publish(invalidationAddress, new JsonObject()
+                .put("sender", instanceId)
+                .put("key", key));
+    }
+
+    private long localLifeOf(long lifeInSeconds) {
+        return Math.min(lifeInSeconds, localLifeInSeconds);
+    }
+
+    /**
+     * @return the value found in L1, or null.
+     */
+    private String readLocal(@Nonnull String key) {
+        long start = System.nanoTime();
+        String value = localCache.read(key);
+        if (value != null) {
+            localStatistics.recordHit(System.nanoTime() - start);
+        } else {
+            localStatistics.recordMiss(System.nanoTime() - start);
+        }
+        return value;
+    }
+
+    /**
+     * Read from L2, and keep the value in L1 when found, unless the key was invalidated meanwhile.
+     */
+    private Future<String> readRemote(@Nonnull String key) {
+        long start = System.nanoTime();
+        long generation = generationOf(key);
+        return Future.succeededFuture()
+                .compose(v -> readRemoteWithLife(key))
+                .andThen(ar -> {
+                    if (ar.succeeded() && ar.result() != null) {
+                        remoteStatistics.recordHit(System.nanoTime() - start);
+                        keepLocal(key, ar.result(), generation);
+                    } else {
+                        remoteStatistics.recordMiss(System.nanoTime() - start);
+                    }
+                })
+                .map(valueWrapper -> valueWrapper == null ? null : valueWrapper.getValue());
+    }
+
+    /**
+     * @return the value with its remaining life in L2 if known, otherwise with the local life; or null if not found.
+     */
+    private Future<ValueWrapper<String>> readRemoteWithLife(@Nonnull String key) {
+        if (remoteCache instanceof KeelAsyncCacheWithRedis) {
+            return ((KeelAsyncCacheWithRedis) remoteCache).readWithRemainingLife(key);
+        }
+        return remoteCache.read(key)
+                .map(value -> value == null ? null : new ValueWrapper<>(value, localLifeInSeconds));
+    }
+
+    private void keepLocal(@Nonnull String key, @Nonnull ValueWrapper<String> valueWrapper, long generation) {
+        long lifeInSeconds = Math.min(localLifeInSeconds, (valueWrapper.getDeath() - System.currentTimeMillis()) / 1000L);
+        if (lifeInSeconds <= 0 || generationOf(key) != generation) {
+            return;
+        }
+        localCache.save(key, valueWrapper.getValue(), lifeInSeconds);
+        // an invalidation came between the check and the saving, which might have removed nothing.
+        if (generationOf(key) != generation) {
+            localCache.remove(key);
+        }
+    }
+
+    @Override
+    public Future<Void> save(@Nonnull String key, String value, long lifeInSeconds) {
+        return remoteCache.save(key, value, lifeInSeconds)
+                .compose(saved -> {
+                    saveLocal(key, value, localLifeOf(lifeInSeconds));
+                    publishInvalidation(key);
+                    return Future.succeededFuture();
+                });
+    }
+
+    @Override
+    public Future<String> read(@Nonnull String key) {
+        String value = readLocal(key);
+        if (value != null) {
+            return Future.succeededFuture(value);
+        }
+        return readRemote(key);
+    }
+
+    @Override
+    public Future<String> read(@Nonnull String key, String fallbackValue) {
+        return this.read(key).compose(s -> {
+            return Future.succeededFuture(Objects.requireNonNullElse(s, fallbackValue));
+        }, throwable -> {
+            return Future.succeededFuture(fallbackValue);
+        });
+    }
+
+    /**
+     * Concurrent misses of one key in this instance share one reading of L2 and generating.
+     */
+    @Override
+    public Future<String> read(@Nonnull String key, Function<String, Future<String>> generator, long lifeInSeconds) {
+        String value = readLocal(key);
+        if (value != null) {
+            return Future.succeededFuture(value);
+        }
+        return singleFlightLoader.load(
+                key,
+                k -> readRemote(k)
+                        .compose(s -> {
+                            Objects.requireNonNull(s);
+                            return Future.succeededFuture(s);
+                        })
+                        .recover(throwable -> generator.apply(k)
+                                .compose(v -> save(k, v, lifeInSeconds)
+                                        .recover(saveFailed -> Future.succeededFuture())
+                                        .map(anyway -> v))),
+                v -> Future.succeededFuture()
+        );
+    }
+
+    @Override
+    public Future<Void> remove(@Nonnull String key) {
+        return remoteCache.remove(key)
+                .compose(removed -> {
+                    removeLocal(key);
+                    publishInvalidation(key);
+                    return Future.succeededFuture();
+                });
+    }
+
+    /**
+     * Only works when L2 supports it; {@link KeelAsyncCacheWithRedis} does not.
+     */
+    @Override
+    public Future<Void> removeAll() {
+        return Future.succeededFuture()
+                .compose(v -> remoteCache.removeAll())
+                .compose(removed -> {
+                    removeAllLocal();
+                    publishInvalidation(null);
+                    return Future.succeededFuture();
+                });
+    }
+
+    /**
+     * Drop all the entries in L1 of this instance only.
+     */
+    public void removeAllLocal() {
+        allKeysGeneration.incrementAndGet();
+        localCache.removeAll();
+    }
+
+    @Override
+    public Future<Void> cleanUp() {
+        localCache.cleanUp();
+        return remoteCache.cleanUp();
+    }
+
+    @Override
+    public Future<ConcurrentMap<String, String>> getSnapshotMap() {
+        return remoteCache.getSnapshotMap();
+    }
+
+    /**
+     * Stop receiving invalidations; the L1 should not be used any more.
+     */
+    public Future<Void> close() {
+        localCache.removeAll();
+        return invalidationConsumer.unregister();
+    }
+
+    /**
+     * Counters of one tier.
+     */
+    public static class TierStatistics {
+        private final LongAdder hitCount = new LongAdder();
+        private final LongAdder missCount = new LongAdder();
+        private final LongAdder totalLatencyNanos = new LongAdder();
+
+        void recordHit(long latencyNanos) {
+            hitCount.increment();
+            totalLatencyNanos.add(latencyNanos);
+        }
+
+        void recordMiss(long latencyNanos) {
+            missCount.increment();
+            totalLatencyNanos.add(latencyNanos);
+        }
+
+        public long getHitCount() {
+            return hitCount.sum();
+        }
+
+        public long getMissCount() {
+            return missCount.sum();
+        }
+
+        public double getHitRate() {
+            long hit = getHitCount();
+            long total = hit + getMissCount();
+            return total == 0 ? 0 : 1.0 * hit / total;
+        }
+
+        /**
+         * @return the average latency of one read in this tier, in nanoseconds.
+         */
+        public double getAverageLatencyNanos() {
+            long total = getHitCount() + getMissCount();
+            return total == 0 ? 0 : 1.0 * totalLatencyNanos.sum() / total;
+        }
+
+        public JsonObject toJsonObject() {
+            return new JsonObject()
+                    .put("hit", getHitCount())
+                    .put("miss", getMissCount())
+                    .put("hit_rate", getHitRate())
+                    .put("average_latency_ns", getAverageLatencyNanos());
+        }
+    }
+}
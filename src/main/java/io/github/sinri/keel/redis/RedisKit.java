@@ -2,23 +2,69 @@ package io.github.sinri.keel.redis;
 
 import io.github.sinri.keel.redis.mixin.*;
 import io.vertx.core.Future;
-import io.vertx.redis.client.Redis;
-import io.vertx.redis.client.RedisAPI;
-import io.vertx.redis.client.RedisConnection;
-import io.vertx.redis.client.RedisOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.redis.client.*;
+import io.vertx.redis.client.impl.PooledRedisConnection;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import static io.github.sinri.keel.facade.KeelInstance.Keel;
 
 /**
+ * Configuration under {@code redis.<key>}:
+ * <ul>
+ *     <li>{@code url}: redis://[:password@]host[:port][/db-number]</li>
+ *     <li>{@code poolMode}: {@code pinned} (by default) to run all commands on one connection,
+ *     reconnected once it ends, throws or fails the health check;
+ *     or {@code pooled} to send each command through the connection pool of the Vert.x Redis client (since 3.2.3),
+ *     which discards the broken connections and recycles the idle ones.</li>
+ *     <li>{@code poolMaxSize}, {@code poolMaxWaiting}, {@code poolIdleTimeout} (ms), {@code poolCleanerInterval} (ms):
+ *     the options of the client pool (since 3.2.3).</li>
+ *     <li>{@code healthCheckInterval} (ms, 30000 by default, 0 to disable): in the pinned mode,
+ *     the period to PING the pinned connection, which is dropped and reconnected once the PING fails (since 3.2.3).</li>
+ * </ul>
+ * Call {@link RedisKit#close()} once no longer used.
+ *
  * @since 3.0.5
  */
 public class RedisKit implements RedisApiMixin, RedisScalarMixin, RedisListMixin, RedisBitMixin, RedisHashMixin, RedisSetMixin, RedisOrderedSetMixin {
     private final Redis client;
     private final AtomicReference<RedisConnection> redisConnectionRef = new AtomicReference<>();
+    /**
+     * @since 3.2.3
+     */
+    private final boolean pooled;
+    /**
+     * @since 3.2.3
+     */
+    private final RedisOptions redisOptions;
+    /**
+     * Count of the callers waiting for a connection from the client pool, in the pooled mode.
+     *
+     * @since 3.2.3
+     */
+    private final AtomicInteger waitingCounter = new AtomicInteger(0);
+    /**
+     * Count of the connections leased from the client pool and not returned yet, in the pooled mode.
+     *
+     * @since 3.2.3
+     */
+    private final AtomicInteger leasedCounter = new AtomicInteger(0);
+    /**
+     * @since 3.2.3
+     */
+    private final AtomicLong healthCheckFailedCounter = new AtomicLong(0);
+    /**
+     * @since 3.2.3
+     */
+    private final long healthCheckTimerId;
 
     public RedisKit(String redisInstanceKey) {
         /*
@@ -26,30 +72,229 @@ public class RedisKit implements RedisApiMixin, RedisScalarMixin, RedisListMixin
          */
         String url = Keel.getConfiguration().readString(List.of("redis", redisInstanceKey, "url"), null);
         Objects.requireNonNull(url);
-        this.client = Redis.createClient(Keel.getVertx(), new RedisOptions()
+        String poolMode = Keel.getConfiguration().readString(List.of("redis", redisInstanceKey, "poolMode"), "pinned");
+        int poolMaxSize = Keel.getConfiguration().readInteger(List.of("redis", redisInstanceKey, "poolMaxSize"), 16);
+        int poolMaxWaiting = Keel.getConfiguration().readInteger(List.of("redis", redisInstanceKey, "poolMaxWaiting"), 24);
+        long poolIdleTimeout = Keel.getConfiguration().readLong(List.of("redis", redisInstanceKey, "poolIdleTimeout"), 60_000L);
+        long poolCleanerInterval = Keel.getConfiguration().readLong(List.of("redis", redisInstanceKey, "poolCleanerInterval"), 5000L);
+        long healthCheckInterval = Keel.getConfiguration().readLong(List.of("redis", redisInstanceKey, "healthCheckInterval"), 30_000L);
+
+        this.pooled = "pooled".equalsIgnoreCase(poolMode);
+        this.redisOptions = new RedisOptions()
                 .setConnectionString(url)
-                .setMaxPoolSize(16)
+                .setMaxPoolSize(poolMaxSize)
                 .setMaxWaitingHandlers(32)
-                .setMaxPoolWaiting(24)
-                .setPoolCleanerInterval(5000)
-        );
+                .setMaxPoolWaiting(poolMaxWaiting)
+                .setPoolRecycleTimeout((int) poolIdleTimeout)
+                .setPoolCleanerInterval((int) poolCleanerInterval);
+        this.client = Redis.createClient(Keel.getVertx(), redisOptions);
+        if (!pooled && healthCheckInterval > 0) {
+            this.healthCheckTimerId = Keel.getVertx().setPeriodic(
+                    healthCheckInterval,
+                    timerID -> checkPinnedConnection(Math.min(healthCheckInterval, 5000L))
+            );
+        } else {
+            this.healthCheckTimerId = -1;
+        }
     }
 
     public Redis getClient() {
         return client;
     }
 
+    /**
+     * @return with {@code mode} as {@code pinned} or {@code pooled};
+     *         in the pooled mode, {@code active} as the connections leased by this kit and not returned,
+     *         {@code waiting} as the callers waiting for a connection,
+     *         and {@code idle} as the rest of {@code max_size} not leased;
+     *         in the pinned mode, {@code connected} as 1 or 0, and {@code health_check_failed} as the count of failed PINGs.
+     * @since 3.2.3
+     */
+    public JsonObject getConnectionStatistics() {
+        if (pooled) {
+            int active = leasedCounter.get();
+            return new JsonObject()
+                    .put("mode", "pooled")
+                    .put("max_size", redisOptions.getMaxPoolSize())
+                    .put("max_waiting", redisOptions.getMaxPoolWaiting())
+                    .put("active", active)
+                    .put("idle", Math.max(0, redisOptions.getMaxPoolSize() - active))
+                    .put("waiting", waitingCounter.get());
+        }
+        return new JsonObject()
+                .put("mode", "pinned")
+                .put("connected", redisConnectionRef.get() == null ? 0 : 1)
+                .put("health_check_failed", healthCheckFailedCounter.get());
+    }
+
+    /**
+     * PING the pinned connection, and drop it once the PING fails or times out;
+     * reconnect on the next check if no connection is pinned.
+     *
+     * @since 3.2.3
+     */
+    private void checkPinnedConnection(long timeout) {
+        RedisConnection pinned = redisConnectionRef.get();
+        if (pinned == null) {
+            // reconnected a tick later, for the client pool to evict the dropped one first.
+            connection().onFailure(throwable -> Keel.getLogger().exception(throwable, "RedisKit failed to reconnect the pinned connection"));
+            return;
+        }
+        pinned.send(Request.cmd(Command.PING))
+                .timeout(timeout, TimeUnit.MILLISECONDS)
+                .onFailure(throwable -> {
+                    healthCheckFailedCounter.incrementAndGet();
+                    Keel.getLogger().exception(throwable, "RedisKit pinned connection failed the health check, to reconnect");
+                    if (redisConnectionRef.compareAndSet(pinned, null)) {
+                        // close the socket, or the client pool would lease the same connection again.
+                        if (pinned instanceof PooledRedisConnection) {
+                            ((PooledRedisConnection) pinned).actual().forceClose();
+                        }
+                        pinned.close();
+                    }
+                });
+    }
+
+    /**
+     * Lease a connection from the client pool, counted as waiting till connected and as active till returned.
+     *
+     * @since 3.2.3
+     */
+    private <T> Future<T> withLeasedConnection(Function<RedisConnection, Future<T>> function) {
+        waitingCounter.incrementAndGet();
+        return getClient().connect()
+                .andThen(ar -> waitingCounter.decrementAndGet())
+                .compose(redisConnection -> {
+                    leasedCounter.incrementAndGet();
+                    return Future.succeededFuture()
+                            .compose(v -> function.apply(redisConnection))
+                            // closing a leased connection returns it to the pool.
+                            .andThen(ar -> {
+                                leasedCounter.decrementAndGet();
+                                redisConnection.close();
+                            });
+                });
+    }
+
+    /**
+     * The pinned connection, connected when absent, and dropped once it ends or throws so that the next call
+     * reconnects.
+     * In the pooled mode, use {@link RedisKit#withConnection(Function)} instead.
+     *
+     * @since 3.2.3 extracted from api().
+     */
+    public Future<RedisConnection> connection() {
+        if (pooled) {
+            return Future.failedFuture(new IllegalStateException("RedisKit in pooled mode has no pinned connection."));
+        }
+        // since 20230901, try to resolve pool max over issue
+        RedisConnection pinned = redisConnectionRef.get();
+        if (pinned != null) {
+            return Future.succeededFuture(pinned);
+        }
+        return getClient().connect()
+                .compose(redisConnection -> {
+                    redisConnection.exceptionHandler(throwable -> unpin(redisConnection));
+                    redisConnection.endHandler(v -> unpin(redisConnection));
+                    if (!redisConnectionRef.compareAndSet(null, redisConnection)) {
+                        // another caller pinned one meanwhile
+                        redisConnection.close();
+                        return connection();
+                    }
+                    return Future.succeededFuture(redisConnection);
+                });
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    private void unpin(RedisConnection redisConnection) {
+        if (redisConnectionRef.compareAndSet(redisConnection, null)) {
+            redisConnection.close();
+        }
+    }
+
+    /**
+     * Run the function on one connection, such as for MULTI and EXEC;
+     * the one leased from the client pool is returned when the future of the function completed.
+     *
+     * @since 3.2.3
+     */
+    public <T> Future<T> withConnection(Function<RedisConnection, Future<T>> function) {
+        if (pooled) {
+            return withLeasedConnection(function);
+        }
+        return connection().compose(function);
+    }
+
     @Override
     public Future<RedisAPI> api() {
-        // since 20230901, try to resolve pool max over issue
-        if (redisConnectionRef.get() == null) {
-            return getClient().connect()
-                    .compose(redisConnection -> {
-                        redisConnectionRef.set(redisConnection);
-                        return Future.succeededFuture(RedisAPI.api(redisConnectionRef.get()));
-                    });
-        } else {
-            return Future.succeededFuture(RedisAPI.api(redisConnectionRef.get()));
+        if (pooled) {
+            // each command leases a connection from the client pool.
+            return Future.succeededFuture(RedisAPI.api(new LeasingRedis()));
+        }
+        return connection().map(RedisAPI::api);
+    }
+
+    /**
+     * Close the pinned connection and the client with its pool.
+     *
+     * @since 3.2.3
+     */
+    public void close() {
+        if (healthCheckTimerId >= 0) {
+            Keel.getVertx().cancelTimer(healthCheckTimerId);
+        }
+        RedisConnection pinned = redisConnectionRef.getAndSet(null);
+        if (pinned != null) {
+            pinned.close();
+        }
+        getClient().close();
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    @Override
+    public Future<List<Response>> batch(List<Request> requests) {
+        if (requests.isEmpty()) {
+            return Future.succeededFuture(new ArrayList<>());
+        }
+        return withConnection(redisConnection -> redisConnection.batch(requests));
+    }
+
+    /**
+     * @return a new pipeline to queue commands and flush them in one write.
+     * @since 3.2.3
+     */
+    public RedisPipeline pipeline() {
+        return new RedisPipeline(this);
+    }
+
+    /**
+     * The client pool seen by {@link RedisAPI} in the pooled mode, leasing a counted connection for each command.
+     *
+     * @since 3.2.3
+     */
+    private final class LeasingRedis implements Redis {
+        @Override
+        public Future<RedisConnection> connect() {
+            return getClient().connect();
+        }
+
+        @Override
+        public void close() {
+            RedisKit.this.close();
+        }
+
+        @Override
+        public Future<Response> send(Request request) {
+            return withLeasedConnection(redisConnection -> redisConnection.send(request));
+        }
+
+        @Override
+        public Future<List<Response>> batch(List<Request> requests) {
+            return withLeasedConnection(redisConnection -> redisConnection.batch(requests));
         }
     }
 }
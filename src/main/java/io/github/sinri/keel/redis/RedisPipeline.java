@@ -0,0 +1,62 @@
+package io.github.sinri.keel.redis;
+
+import io.vertx.core.Future;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Queue Redis commands and flush them as one write, to pay the network latency once for N commands.
+ * <p>
+ * Not thread-safe; create one for each batch with {@link RedisKit#pipeline()}.
+ *
+ * @since 3.2.3
+ */
+public class RedisPipeline {
+    private final RedisKit redisKit;
+    private final List<Request> requests;
+
+    RedisPipeline(@Nonnull RedisKit redisKit) {
+        this.redisKit = redisKit;
+        this.requests = new ArrayList<>();
+    }
+
+    /**
+     * @return the index of the response of this command in the flushed list.
+     */
+    public int queue(@Nonnull Request request) {
+        requests.add(request);
+        return requests.size() - 1;
+    }
+
+    /**
+     * @param args the arguments, each converted with {@code String.valueOf}.
+     * @return the index of the response of this command in the flushed list.
+     */
+    public int queue(@Nonnull Command command, Object... args) {
+        Request request = Request.cmd(command);
+        for (Object arg : args) {
+            request.arg(String.valueOf(arg));
+        }
+        return queue(request);
+    }
+
+    public int size() {
+        return requests.size();
+    }
+
+    /**
+     * Send the queued commands, and clear the queue.
+     *
+     * @return the responses in the order of queued commands.
+     */
+    public Future<List<Response>> flush() {
+        List<Request> toSend = new ArrayList<>(requests);
+        requests.clear();
+        return redisKit.batch(toSend);
+    }
+}
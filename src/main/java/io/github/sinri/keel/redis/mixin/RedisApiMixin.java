@@ -3,6 +3,8 @@ package io.github.sinri.keel.redis.mixin;
 import io.vertx.core.Future;
 import io.vertx.redis.client.Redis;
 import io.vertx.redis.client.RedisAPI;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +18,22 @@ public interface RedisApiMixin {
 
     Future<RedisAPI> api();
 
+    /**
+     * Send the requests in one write (pipelining), and receive the responses in order.
+     * Commands in a batch are not atomic; other clients' commands may be executed between them.
+     * <p>
+     * By default, the batch is sent by the client, on one connection leased from its pool;
+     * override it to send on a pinned connection.
+     *
+     * @since 3.2.3
+     */
+    default Future<List<Response>> batch(List<Request> requests) {
+        if (requests.isEmpty()) {
+            return Future.succeededFuture(new ArrayList<>());
+        }
+        return getClient().batch(requests);
+    }
+
     /**
      * EXISTS key [key ...]
      * 从 Redis 3.0.3 起可以一次检查多个 key 是否存在。这种情况下，返回待检查 key 中存在的 key 的个数。检查单个 key 返回 1 或 0 。
@@ -4,6 +4,7 @@ import io.vertx.core.Future;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -293,9 +294,56 @@ public interface RedisScalarMixin extends RedisApiMixin {
         });
     }
 
+    /**
+     * MGET key [key ...]
+     * 返回所有(一个或多个)给定 key 的值。 如果给定的 key 里面，有某个 key 不存在，那么这个 key 返回特殊值 nil 。
+     *
+     * @return 一个列表，按 keys 的顺序包含对应的值，不存在的 key 对应 null。
+     * @since 3.2.3
+     */
+    default Future<List<String>> getStrings(List<String> keys) {
+        if (keys.isEmpty()) {
+            return Future.succeededFuture(new ArrayList<>());
+        }
+        return api().compose(api -> {
+            return api.mget(keys).compose(response -> {
+                List<String> list = new ArrayList<>(keys.size());
+                for (int i = 0; i < response.size(); i++) {
+                    var item = response.get(i);
+                    list.add(item == null ? null : item.toString());
+                }
+                return Future.succeededFuture(list);
+            });
+        });
+    }
+
+    /**
+     * MSET key value [key value ...]
+     * 同时设置一个或多个 key-value 对，覆盖已存在的值，且清除原有的过期时间。MSET 是原子性的。
+     *
+     * @since 3.2.3
+     */
+    default Future<Void> setScalars(Map<String, String> keyValueMap) {
+        if (keyValueMap.isEmpty()) {
+            return Future.succeededFuture();
+        }
+        List<String> args = new ArrayList<>(keyValueMap.size() * 2);
+        keyValueMap.forEach((k, v) -> {
+            args.add(k);
+            args.add(v);
+        });
+        return api().compose(api -> {
+            return api.mset(args).compose(response -> {
+                if (Objects.equals(response.toString(), "OK")) {
+                    return Future.succeededFuture();
+                } else {
+                    return Future.failedFuture(new RuntimeException("MSET Response is not OK but " + response));
+                }
+            });
+        });
+    }
+
     // TODO
-    //  MGET key [key ...]
-    //  MSET key value [key value ...]
     //  MSETNX key value [key value ...]
     //  SETEX key seconds value
     //  PSETEX key milliseconds value
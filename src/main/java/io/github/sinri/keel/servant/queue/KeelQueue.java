@@ -2,11 +2,17 @@ package io.github.sinri.keel.servant.queue;
 
 import io.github.sinri.keel.facade.async.KeelAsyncKit;
 import io.github.sinri.keel.verticles.KeelVerticleImplWithIssueRecorder;
-import io.vertx.core.DeploymentOptions;
-import io.vertx.core.Future;
-import io.vertx.core.ThreadingModel;
+import io.vertx.core.*;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.impl.VertxInternal;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static io.github.sinri.keel.facade.KeelInstance.Keel;
 
@@ -14,6 +20,11 @@ import static io.github.sinri.keel.facade.KeelInstance.Keel;
  * 标准的队列服务实现。
  * <p>
  * 仅用于单节点模式。
+ * <p>
+ * 自 3.2.3 起，任务派发由事件驱动：
+ * 工作者满员时，等待某个任务结束即刻寻找下一个任务，而不是睡眠一秒；
+ * 找不到任务时，按 {@link KeelQueueNextTaskSeeker#minWaitingMs()} 至 {@link KeelQueueNextTaskSeeker#waitingMs()} 倍增退避，
+ * 期间如在 {@link KeelQueue#getTaskNotificationAddress()} 上收到新任务通知（见 {@link KeelQueue#notifyNewTasks(String)}），立即开始下一轮。
  *
  * @since 2.1
  */
@@ -22,6 +33,38 @@ public abstract class KeelQueue extends KeelVerticleImplWithIssueRecorder<QueueM
     private QueueWorkerPoolManager queueWorkerPoolManager;
     private SignalReader signalReader;
     private QueueStatus queueStatus = QueueStatus.INIT;
+    /**
+     * @since 3.2.3
+     */
+    private final AtomicReference<Promise<Void>> workerEndWaitRef = new AtomicReference<>();
+    /**
+     * @since 3.2.3
+     */
+    private final AtomicReference<Promise<Void>> idleWaitRef = new AtomicReference<>();
+    /**
+     * @since 3.2.3
+     */
+    private final AtomicBoolean newTasksNotified = new AtomicBoolean(false);
+    /**
+     * Count of the rounds in a row finding no task, for backoff.
+     *
+     * @since 3.2.3
+     */
+    private final AtomicInteger emptyRoundCounter = new AtomicInteger(0);
+    private Context queueContext;
+    private MessageConsumer<Object> notificationConsumer;
+    /**
+     * For {@link TaskExecutionMode#POOLED}, created with the first worker pool manager.
+     *
+     * @since 3.2.3
+     */
+    private WorkerExecutor taskWorkerExecutor;
+    /**
+     * Set when the verticle stops, then the routine seeks no more tasks and is not scheduled again.
+     *
+     * @since 3.2.3
+     */
+    private volatile boolean closed = false;
 
     public QueueStatus getQueueStatus() {
         return queueStatus;
@@ -54,8 +97,65 @@ public abstract class KeelQueue extends KeelVerticleImplWithIssueRecorder<QueueM
      */
     abstract protected @Nonnull SignalReader getSignalReader();
 
+    /**
+     * Publish a notification of new tasks to the queues listening on the address,
+     * so that they seek at once instead of waiting.
+     *
+     * @since 3.2.3
+     */
+    public static void notifyNewTasks(@Nonnull String address) {
+        Keel.getVertx().eventBus().publish(address, null);
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    @Nonnull
+    protected TaskExecutionMode getTaskExecutionMode() {
+        return TaskExecutionMode.VERTICLE;
+    }
+
+    /**
+     * @return the size of the worker pool for {@link TaskExecutionMode#POOLED}:
+     *         the max worker count of {@link QueueWorkerPoolManager} if limited,
+     *         or the worker pool size of the running Vert.x instance.
+     * @since 3.2.3
+     */
+    protected int getTaskWorkerPoolSize(@Nonnull QueueWorkerPoolManager queueWorkerPoolManager) {
+        int maxWorkerCount = queueWorkerPoolManager.getMaxWorkerCount();
+        if (maxWorkerCount > 0) {
+            return maxWorkerCount;
+        }
+        Vertx vertx = Keel.getVertx();
+        if (vertx instanceof VertxInternal) {
+            ExecutorService executor = ((VertxInternal) vertx).getWorkerPool().executor();
+            if (executor instanceof ThreadPoolExecutor) {
+                return ((ThreadPoolExecutor) executor).getMaximumPoolSize();
+            }
+        }
+        return VertxOptions.DEFAULT_WORKER_POOL_SIZE;
+    }
+
+    /**
+     * @return the event bus address to listen for notifications of new tasks; null not to listen.
+     * @since 3.2.3
+     */
+    @Nullable
+    protected String getTaskNotificationAddress() {
+        return null;
+    }
+
     public void start() {
         this.queueStatus = QueueStatus.RUNNING;
+        this.queueContext = Keel.getVertx().getOrCreateContext();
+
+        String notificationAddress = getTaskNotificationAddress();
+        if (notificationAddress != null) {
+            this.notificationConsumer = Keel.getVertx().eventBus().consumer(notificationAddress, message -> {
+                newTasksNotified.set(true);
+                wake(idleWaitRef);
+            });
+        }
 
         try {
             routine();
@@ -66,9 +166,20 @@ public abstract class KeelQueue extends KeelVerticleImplWithIssueRecorder<QueueM
     }
 
     protected final void routine() {
+        if (closed) {
+            getIssueRecorder().debug(r -> r.message("KeelQueue::routine ends as the queue is closed"));
+            return;
+        }
         getIssueRecorder().debug(r -> r.message("KeelQueue::routine start"));
         this.signalReader = getSignalReader();
         this.queueWorkerPoolManager = getQueueWorkerPoolManager();
+        this.queueWorkerPoolManager.setWorkerEndListener(() -> wake(workerEndWaitRef));
+        if (getTaskExecutionMode() == TaskExecutionMode.POOLED && this.taskWorkerExecutor == null) {
+            this.taskWorkerExecutor = Keel.getVertx().createSharedWorkerExecutor(
+                    "KeelQueue-" + getClass().getName() + "-" + deploymentID(),
+                    getTaskWorkerPoolSize(this.queueWorkerPoolManager)
+            );
+        }
         this.nextTaskSeeker = getNextTaskSeeker();
 
         Future.succeededFuture()
@@ -93,14 +204,87 @@ public abstract class KeelQueue extends KeelVerticleImplWithIssueRecorder<QueueM
                     }
                 })
                 .eventually(() -> {
-                    long waitingMs = nextTaskSeeker.waitingMs();
-                    getIssueRecorder().debug(r -> r.message("set timer for next routine after " + waitingMs + " ms"));
-                    Keel.getVertx().setTimer(waitingMs, timerID -> routine());
+                    if (closed) {
+                        return Future.succeededFuture();
+                    }
+                    long waitingMs = computeWaitingMs();
+                    getIssueRecorder().debug(r -> r.message("wait for next routine up to " + waitingMs + " ms"));
+                    waitForNextRoutine(waitingMs).onComplete(ar -> routine());
                     return Future.succeededFuture();
                 })
         ;
     }
 
+    /**
+     * @since 3.2.3
+     */
+    private long computeWaitingMs() {
+        long maxWaitingMs = nextTaskSeeker.waitingMs();
+        if (getQueueStatus() != QueueStatus.RUNNING) {
+            return maxWaitingMs;
+        }
+        long waitingMs = Math.max(1L, nextTaskSeeker.minWaitingMs());
+        int emptyRounds = emptyRoundCounter.get();
+        for (int i = 0; i < emptyRounds && waitingMs < maxWaitingMs; i++) {
+            waitingMs *= 2;
+        }
+        return Math.min(waitingMs, maxWaitingMs);
+    }
+
+    /**
+     * Wait for the time, or until new tasks are notified.
+     *
+     * @since 3.2.3
+     */
+    private Future<Void> waitForNextRoutine(long waitingMs) {
+        Promise<Void> interrupter = Promise.promise();
+        idleWaitRef.set(interrupter);
+        // the notification arriving before the promise was set would not wake it up.
+        if (newTasksNotified.getAndSet(false)) {
+            idleWaitRef.compareAndSet(interrupter, null);
+            return Future.succeededFuture();
+        }
+        return KeelAsyncKit.sleep(waitingMs, interrupter)
+                .andThen(ar -> {
+                    idleWaitRef.compareAndSet(interrupter, null);
+                    newTasksNotified.set(false);
+                });
+    }
+
+    /**
+     * Wait for a worker to end, or a second at most in case the ending is missed.
+     *
+     * @since 3.2.3
+     */
+    private Future<Void> waitForWorkerEnd() {
+        Promise<Void> interrupter = Promise.promise();
+        workerEndWaitRef.set(interrupter);
+        // the worker ending before the promise was set would not wake it up.
+        if (!this.queueWorkerPoolManager.isBusy()) {
+            workerEndWaitRef.compareAndSet(interrupter, null);
+            return Future.succeededFuture();
+        }
+        return KeelAsyncKit.sleep(1_000L, interrupter)
+                .andThen(ar -> workerEndWaitRef.compareAndSet(interrupter, null));
+    }
+
+    /**
+     * Complete the waiting promise if any, on the context of the queue.
+     *
+     * @since 3.2.3
+     */
+    private void wake(@Nonnull AtomicReference<Promise<Void>> waitRef) {
+        Promise<Void> interrupter = waitRef.getAndSet(null);
+        if (interrupter == null) {
+            return;
+        }
+        if (queueContext == null || Vertx.currentContext() == queueContext) {
+            interrupter.tryComplete();
+        } else {
+            queueContext.runOnContext(v -> interrupter.tryComplete());
+        }
+    }
+
     private Future<Void> whenSignalStopCame() {
         if (getQueueStatus() == QueueStatus.RUNNING) {
             this.queueStatus = QueueStatus.STOPPED;
@@ -111,10 +295,17 @@ public abstract class KeelQueue extends KeelVerticleImplWithIssueRecorder<QueueM
 
     private Future<Void> whenSignalRunCame(KeelQueueNextTaskSeeker nextTaskSeeker) {
         this.queueStatus = QueueStatus.RUNNING;
+        AtomicBoolean anyTaskFound = new AtomicBoolean(false);
 
         return KeelAsyncKit.repeatedlyCall(routineResult -> {
+                    if (closed) {
+                        // since 3.2.3 seek no more once the verticle stopped
+                        routineResult.stop();
+                        return Future.succeededFuture();
+                    }
                     if (this.queueWorkerPoolManager.isBusy()) {
-                        return KeelAsyncKit.sleep(1_000L);
+                        // since 3.2.3 seek again once a worker ends
+                        return waitForWorkerEnd();
                     }
 
                     return Future.succeededFuture()
@@ -128,6 +319,7 @@ public abstract class KeelQueue extends KeelVerticleImplWithIssueRecorder<QueueM
                                     return Future.succeededFuture();
                                 }
 
+                                anyTaskFound.set(true);
                                 // 队列里找出来一个task, deploy it (至于能不能跑起来有没有锁就不管了)
                                 getIssueRecorder().info(r -> r.message("To run task: " + task.getTaskReference()));
                                 getIssueRecorder().info(r -> r.message("Trusted that task is already locked by seeker: " + task.getTaskReference()));
@@ -135,6 +327,14 @@ public abstract class KeelQueue extends KeelVerticleImplWithIssueRecorder<QueueM
                                 // since 3.0.9
                                 task.setQueueWorkerPoolManager(this.queueWorkerPoolManager);
 
+                                if (this.taskWorkerExecutor != null && !closed) {
+                                    // since 3.2.3 run in the pool, not waiting for its end;
+                                    // a task seeked while the verticle stopped is deployed below instead, as the pool is closed.
+                                    task.runInPool(this.taskWorkerExecutor);
+                                    getIssueRecorder().info(r -> r.message("TASK [" + task.getTaskReference() + "] RUNNING IN POOL"));
+                                    return Future.succeededFuture();
+                                }
+
                                 return Future.succeededFuture()
                                         .compose(v -> task.deployMe(new DeploymentOptions().setThreadingModel(ThreadingModel.WORKER)))
                                         .compose(
@@ -155,12 +355,45 @@ public abstract class KeelQueue extends KeelVerticleImplWithIssueRecorder<QueueM
                 .recover(throwable -> {
                     getIssueRecorder().exception(throwable, r -> r.message("KeelQueue 递归找活干里出现了奇怪的故障"));
                     return Future.succeededFuture();
+                })
+                .andThen(ar -> {
+                    if (anyTaskFound.get()) {
+                        emptyRoundCounter.set(0);
+                    } else {
+                        emptyRoundCounter.incrementAndGet();
+                    }
                 });
     }
 
     @Override
     public void stop() {
+        this.closed = true;
         this.queueStatus = QueueStatus.STOPPED;
+        if (this.notificationConsumer != null) {
+            this.notificationConsumer.unregister();
+            this.notificationConsumer = null;
+        }
+        wake(idleWaitRef);
+        wake(workerEndWaitRef);
+        if (this.taskWorkerExecutor != null) {
+            // the tasks running in the pool are not interrupted
+            this.taskWorkerExecutor.close();
+        }
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    public enum TaskExecutionMode {
+        /**
+         * Each task is deployed as a worker verticle, and undeployed after run.
+         */
+        VERTICLE,
+        /**
+         * Each task runs on a long-lived worker pool of the queue, sized by the max worker count of
+         * {@link QueueWorkerPoolManager} (see {@link KeelQueue#getTaskWorkerPoolSize(QueueWorkerPoolManager)}), without deployment.
+         */
+        POOLED
     }
 
     public enum QueueSignal {
@@ -21,9 +21,21 @@ public interface KeelQueueNextTaskSeeker extends Supplier<Future<KeelQueueTask>>
     Future<KeelQueueTask> get();
 
     /**
+     * 找不到任务后，下一轮寻找前等待的最长时间。
+     *
      * @since 2.8 default to 10s
+     * @since 3.2.3 连续找不到任务时，等待时间从 {@link KeelQueueNextTaskSeeker#minWaitingMs()} 起倍增至此为止。
      */
     default long waitingMs() {
         return 1000 * 10;
     }
+
+    /**
+     * 找不到任务后，下一轮寻找前等待的最短时间，即刚刚还有任务时的等待时间。
+     *
+     * @since 3.2.3
+     */
+    default long minWaitingMs() {
+        return Math.min(100L, waitingMs());
+    }
 }
@@ -2,11 +2,14 @@ package io.github.sinri.keel.servant.queue;
 
 import io.github.sinri.keel.verticles.KeelVerticleImplWithIssueRecorder;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.WorkerExecutor;
 
 import javax.annotation.Nonnull;
 
 /**
  * @since 2.1
+ * @since 3.2.3 Also run in the worker pool of the queue without deployment, see {@link KeelQueue.TaskExecutionMode#POOLED}.
  */
 public abstract class KeelQueueTask extends KeelVerticleImplWithIssueRecorder<QueueTaskIssueRecord> {
     QueueWorkerPoolManager queueWorkerPoolManager;
@@ -38,18 +41,81 @@ public abstract class KeelQueueTask extends KeelVerticleImplWithIssueRecorder<Qu
                 .eventually(() -> {
                     getIssueRecorder().info(r -> r.message("KeelQueueTask to undeploy"));
                     notifyBeforeUndeploy();
-                    return undeployMe().onSuccess(done -> {
+                    // since 3.2.3 undeploy on the next tick:
+                    // if run completed synchronously, the deployment is not registered until start returns.
+                    Promise<Void> undeployPromise = Promise.promise();
+                    context.runOnContext(v -> undeployMe().onComplete(undeployPromise));
+                    return undeployPromise.future().onSuccess(done -> {
                         this.queueWorkerPoolManager.whenOneWorkerEnds();
                     });
                 });
     }
 
+    /**
+     * Run as {@link KeelQueueTask#start()} does, but on a thread of the worker pool, without deployment;
+     * the hooks are called in the same order, both on the worker pool,
+     * and the verticle properties such as deployment ID are not available.
+     *
+     * @since 3.2.3
+     */
+    final Future<Void> runInPool(@Nonnull WorkerExecutor workerExecutor) {
+        this.queueWorkerPoolManager.whenOneWorkerStarts();
+
+        return workerExecutor.executeBlocking(() -> {
+                    notifyAfterDeployed();
+                    return run();
+                }, false)
+                .compose(runFuture -> runFuture)
+                .recover(throwable -> {
+                    getIssueRecorder().exception(throwable, r -> r.message("KeelQueueTask Caught throwable from Method run"));
+                    return Future.succeededFuture();
+                })
+                .eventually(() -> {
+                    getIssueRecorder().info(r -> r.message("KeelQueueTask to end in pool"));
+                    // the future of run may complete on an event loop, so the hook is dispatched to the pool again.
+                    return Future.succeededFuture()
+                            .compose(v -> workerExecutor.executeBlocking(() -> {
+                                callNotifyBeforeUndeploy();
+                                return null;
+                            }, false))
+                            .recover(throwable -> {
+                                // the pool is closed once the queue stopped; the hook still runs, here.
+                                getIssueRecorder().exception(throwable, r -> r.message("KeelQueueTask cannot end in pool, to end here"));
+                                callNotifyBeforeUndeploy();
+                                return Future.succeededFuture();
+                            })
+                            .andThen(ar -> this.queueWorkerPoolManager.whenOneWorkerEnds());
+                });
+    }
+
+    /**
+     * @since 3.2.3
+     */
+    private void callNotifyBeforeUndeploy() {
+        try {
+            notifyBeforeUndeploy();
+        } catch (Throwable throwable) {
+            getIssueRecorder().exception(throwable, r -> r.message("KeelQueueTask Caught throwable from Method notifyBeforeUndeploy"));
+        }
+    }
+
+    /**
+     * In mode {@link KeelQueue.TaskExecutionMode#POOLED}, only the synchronous part of this method runs on the worker thread,
+     * so the blocking code should not be put in the callbacks of futures.
+     */
     abstract protected Future<Void> run();
 
+    /**
+     * Called before run; in mode {@link KeelQueue.TaskExecutionMode#POOLED}, on a thread of the worker pool.
+     */
     protected void notifyAfterDeployed() {
         // do nothing by default
     }
 
+    /**
+     * Called after run ended; in mode {@link KeelQueue.TaskExecutionMode#POOLED}, on a thread of the worker pool,
+     * or on the thread completing run if the pool is closed as the queue stopped.
+     */
     protected void notifyBeforeUndeploy() {
         // do nothing by default
     }
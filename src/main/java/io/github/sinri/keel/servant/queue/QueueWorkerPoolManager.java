@@ -1,5 +1,6 @@
 package io.github.sinri.keel.servant.queue;
 
+import javax.annotation.Nullable;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -8,6 +9,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class QueueWorkerPoolManager {
     private final AtomicInteger maxWorkerCountRef;
     private final AtomicInteger runningWorkerCounter;
+    private volatile Runnable workerEndListener;
 
     /**
      * @param maxWorkerCount If zero, unlimited workers would be thought.
@@ -25,6 +27,14 @@ public class QueueWorkerPoolManager {
         this.maxWorkerCountRef.set(maxWorkerCount);
     }
 
+    /**
+     * @return zero for unlimited.
+     * @since 3.2.3
+     */
+    public int getMaxWorkerCount() {
+        return maxWorkerCountRef.get();
+    }
+
     public boolean isBusy() {
         if (maxWorkerCountRef.get() <= 0) {
             return false;
@@ -38,5 +48,17 @@ public class QueueWorkerPoolManager {
 
     public void whenOneWorkerEnds() {
         this.runningWorkerCounter.decrementAndGet();
+        Runnable listener = this.workerEndListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * @param workerEndListener called on the thread of the ended worker, such as to dispatch the next task at once.
+     * @since 3.2.3
+     */
+    public void setWorkerEndListener(@Nullable Runnable workerEndListener) {
+        this.workerEndListener = workerEndListener;
     }
 }
@@ -0,0 +1,106 @@
+package io.github.sinri.keel.test.lab.async;
+
+import io.github.sinri.keel.facade.async.KeelAsyncKit;
+import io.github.sinri.keel.facade.async.KeelAsyncLocks;
+import io.github.sinri.keel.tesuto.KeelTest;
+import io.github.sinri.keel.tesuto.TestUnit;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static io.github.sinri.keel.facade.KeelInstance.Keel;
+
+public class AsyncLocksTest extends KeelTest {
+    private static final int CALLS = 200_000;
+
+    private int guarded = 0;
+
+    @TestUnit
+    public Future<Void> testUncontended() {
+        long start = System.nanoTime();
+        return KeelAsyncKit.stepwiseCall(CALLS, i -> KeelAsyncKit.exclusivelyCallLocally("uncontended",
+                        (Supplier<Future<Void>>) Future::succeededFuture))
+                .compose(v -> {
+                    long localCost = System.nanoTime() - start;
+                    long clusterStart = System.nanoTime();
+                    return KeelAsyncKit.stepwiseCall(CALLS, i -> KeelAsyncKit.exclusivelyCall("uncontended",
+                                    (Supplier<Future<Void>>) Future::succeededFuture))
+                            .compose(vv -> {
+                                long clusterCost = System.nanoTime() - clusterStart;
+                                getLogger().info(r -> r.message(CALLS + " uncontended calls: local lock "
+                                        + localCost / 1_000_000 + " ms, shared data lock " + clusterCost / 1_000_000 + " ms"));
+                                return Future.succeededFuture();
+                            });
+                });
+    }
+
+    @TestUnit
+    public Future<Void> testContended() {
+        guarded = 0;
+        List<Integer> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tasks.add(i);
+        }
+        return KeelAsyncKit.parallelForAllSuccess(tasks, i -> KeelAsyncKit.exclusivelyCallLocally("contended", 10_000L, () -> {
+                    int before = guarded;
+                    return KeelAsyncKit.sleep(1L).compose(v -> {
+                        guarded = before + 1;
+                        return Future.succeededFuture();
+                    });
+                }))
+                .compose(v -> {
+                    getLogger().info(r -> r.message("guarded " + guarded + ", " + KeelAsyncLocks.getStatistics()));
+                    if (guarded != tasks.size()) {
+                        return Future.failedFuture("lost updates: " + guarded);
+                    }
+                    return Future.succeededFuture();
+                });
+    }
+
+    @TestUnit
+    public Future<Void> testTimeout() {
+        return KeelAsyncLocks.acquire(KeelAsyncLocks.Scope.LOCAL, "held", 100L)
+                .compose(lock -> KeelAsyncLocks.acquire(KeelAsyncLocks.Scope.LOCAL, "held", 50L)
+                        .transform(ar -> {
+                            lock.release();
+                            getLogger().info(r -> r.message("second acquisition: " + ar.cause()));
+                            if (ar.succeeded()) {
+                                return Future.failedFuture("got the held lock");
+                            }
+                            return KeelAsyncLocks.acquire(KeelAsyncLocks.Scope.LOCAL, "held", 50L);
+                        }))
+                .compose(lock -> {
+                    lock.release();
+                    getLogger().info(r -> r.message(KeelAsyncLocks.getStatistics().toString()));
+                    return Future.succeededFuture();
+                });
+    }
+
+    @TestUnit
+    public Future<Void> testClusterContended() {
+        JsonObject before = KeelAsyncLocks.getStatistics().getJsonObject("cluster");
+        return KeelAsyncLocks.acquire(KeelAsyncLocks.Scope.CLUSTER, "cluster-held", 100L)
+                .compose(lock -> {
+                    Keel.getVertx().setTimer(50L, id -> lock.release());
+                    return KeelAsyncLocks.acquire(KeelAsyncLocks.Scope.CLUSTER, "cluster-held", 1000L);
+                })
+                .compose(lock -> KeelAsyncLocks.acquire(KeelAsyncLocks.Scope.CLUSTER, "cluster-held", 50L)
+                        .transform(ar -> {
+                            lock.release();
+                            return ar.succeeded() ? Future.failedFuture("got the held lock") : Future.<Void>succeededFuture();
+                        }))
+                .compose(v -> {
+                    JsonObject after = KeelAsyncLocks.getStatistics().getJsonObject("cluster");
+                    getLogger().info(r -> r.message("cluster before " + before + ", after " + after));
+                    if (after.getLong("contended") - before.getLong("contended") != 2
+                            || after.getLong("timed_out") - before.getLong("timed_out") != 1
+                            || after.getLong("failed") - before.getLong("failed") != 0) {
+                        return Future.failedFuture("cluster contention not counted");
+                    }
+                    return Future.succeededFuture();
+                });
+    }
+}
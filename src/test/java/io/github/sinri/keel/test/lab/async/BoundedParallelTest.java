@@ -0,0 +1,80 @@
+package io.github.sinri.keel.test.lab.async;
+
+import io.github.sinri.keel.facade.async.KeelAsyncKit;
+import io.github.sinri.keel.tesuto.KeelTest;
+import io.github.sinri.keel.tesuto.TestUnit;
+import io.vertx.core.Future;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 50k items taking a few milliseconds each, at most 64 running at the same time.
+ */
+public class BoundedParallelTest extends KeelTest {
+    private static final int ITEMS = 50_000;
+    private static final int MAX_IN_FLIGHT = 64;
+
+    private static List<Integer> items() {
+        List<Integer> list = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @TestUnit
+    public Future<Void> testAllResult() {
+        AtomicInteger running = new AtomicInteger(0);
+        AtomicInteger peak = new AtomicInteger(0);
+        long start = System.nanoTime();
+        return KeelAsyncKit.parallelForAllResult(items(), MAX_IN_FLIGHT, i -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    return KeelAsyncKit.sleep(1L + i % 3)
+                            .map(v -> {
+                                running.decrementAndGet();
+                                return i * 2;
+                            });
+                })
+                .compose(parallelResult -> {
+                    long cost = System.nanoTime() - start;
+                    List<Integer> results = parallelResult.getResultList();
+                    for (int i = 0; i < ITEMS; i++) {
+                        if (results.get(i) != i * 2) {
+                            return Future.failedFuture("result " + i + " out of order: " + results.get(i));
+                        }
+                    }
+                    getLogger().info(r -> r.message(ITEMS + " items in " + cost / 1_000_000 + " ms, peak in flight "
+                            + peak.get() + ", all successful " + parallelResult.isAllSuccessful()));
+                    if (peak.get() > MAX_IN_FLIGHT) {
+                        return Future.failedFuture("peak " + peak.get() + " beyond " + MAX_IN_FLIGHT);
+                    }
+                    return Future.succeededFuture();
+                });
+    }
+
+    @TestUnit
+    public Future<Void> testFailFast() {
+        AtomicInteger startedCount = new AtomicInteger(0);
+        return KeelAsyncKit.parallelForAllSuccess(items(), MAX_IN_FLIGHT, i -> {
+                    startedCount.incrementAndGet();
+                    if (i == 1000) {
+                        return Future.failedFuture("item 1000 failed");
+                    }
+                    return KeelAsyncKit.sleep(1L);
+                })
+                .transform(ar -> {
+                    getLogger().info(r -> r.message("failed: " + ar.cause() + ", started " + startedCount.get() + " of " + ITEMS));
+                    if (ar.succeeded() || startedCount.get() > 1000 + MAX_IN_FLIGHT) {
+                        return Future.failedFuture("not failed fast");
+                    }
+                    return KeelAsyncKit.parallelForAnySuccess(items(), MAX_IN_FLIGHT, i -> {
+                        if (i < 500) {
+                            return Future.failedFuture("item " + i + " failed");
+                        }
+                        return Future.succeededFuture();
+                    });
+                });
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.sinri.keel.test.lab.async;
+
+import io.github.sinri.keel.facade.async.KeelAsyncKit;
+import io.github.sinri.keel.tesuto.KeelTest;
+import io.github.sinri.keel.tesuto.TestUnit;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.github.sinri.keel.facade.KeelInstance.Keel;
+
+/**
+ * Iterate items processed synchronously and asynchronously, to see the cost of the iteration itself;
+ * ITEMS set to a few thousands when measuring the implementation with a timer between the routines.
+ */
+public class FutureRepeatThroughputTest extends KeelTest {
+    private static final int ITEMS = 1_000_000;
+
+    @TestUnit
+    public Future<Void> testCompletedItems() {
+        List<Integer> list = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            list.add(i);
+        }
+        AtomicLong sum = new AtomicLong(0);
+        long start = System.nanoTime();
+        return KeelAsyncKit.iterativelyCall(list, item -> {
+                    sum.addAndGet(item);
+                    return Future.succeededFuture();
+                })
+                .compose(v -> {
+                    long cost = System.nanoTime() - start;
+                    getLogger().info(r -> r.message("iterativelyCall over " + ITEMS + " completed items in "
+                            + cost / 1_000_000 + " ms, sum " + sum.get()));
+                    long stepStart = System.nanoTime();
+                    return KeelAsyncKit.stepwiseCall(ITEMS, i -> Future.succeededFuture())
+                            .compose(vv -> {
+                                long stepCost = System.nanoTime() - stepStart;
+                                getLogger().info(r -> r.message("stepwiseCall over " + ITEMS + " steps in "
+                                        + stepCost / 1_000_000 + " ms"));
+                                return Future.succeededFuture();
+                            });
+                });
+    }
+
+    @TestUnit
+    public Future<Void> testAsyncItems() {
+        int items = ITEMS / 10;
+        AtomicLong count = new AtomicLong(0);
+        long start = System.nanoTime();
+        return KeelAsyncKit.stepwiseCall(items, i -> {
+                    Promise<Void> promise = Promise.promise();
+                    Keel.getVertx().runOnContext(v -> {
+                        count.incrementAndGet();
+                        promise.complete();
+                    });
+                    return promise.future();
+                })
+                .compose(v -> {
+                    long cost = System.nanoTime() - start;
+                    getLogger().info(r -> r.message("stepwiseCall over " + items + " items completed later in "
+                            + cost / 1_000_000 + " ms, count " + count.get()));
+                    return Future.succeededFuture();
+                });
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.sinri.keel.test.lab.cache;
+
+import io.github.sinri.keel.cache.KeelAsyncEverlastingCacheInterface;
+import io.github.sinri.keel.cache.KeelEverlastingCacheInterface;
+import io.github.sinri.keel.cache.impl.KeelCacheGimel;
+import io.github.sinri.keel.cache.impl.KeelCacheHe;
+import io.github.sinri.keel.cache.impl.KeelCacheVav;
+import io.github.sinri.keel.cache.impl.KeelCacheVet;
+import io.github.sinri.keel.tesuto.KeelTest;
+import io.github.sinri.keel.tesuto.TestUnit;
+import io.vertx.core.Future;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+import static io.github.sinri.keel.facade.KeelInstance.Keel;
+
+/**
+ * Compare the read throughput of everlasting caches with 1/4/16/64 reader threads.
+ */
+public class EverlastingCacheReadBenchmarkTest extends KeelTest {
+    private static final int KEYS = 1000;
+    private static final long DURATION_MS = 500;
+
+    private static long measure(int threads, IntConsumer reader) throws InterruptedException {
+        LongAdder counter = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> list = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                int i = 0;
+                while (running.get()) {
+                    reader.accept(i++ % KEYS);
+                    counter.increment();
+                }
+            });
+            list.add(thread);
+            thread.start();
+        }
+        Thread.sleep(DURATION_MS);
+        running.set(false);
+        for (Thread thread : list) {
+            thread.join();
+        }
+        return counter.sum() * 1000 / DURATION_MS;
+    }
+
+    @TestUnit
+    public Future<Void> compareReadThroughput() {
+        Map<Integer, String> entries = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            entries.put(i, "v" + i);
+        }
+        KeelEverlastingCacheInterface<Integer, String> vet = new KeelCacheVet<>();
+        KeelEverlastingCacheInterface<Integer, String> he = new KeelCacheHe<>();
+        KeelAsyncEverlastingCacheInterface<Integer, String> gimel = new KeelCacheGimel<>();
+        KeelAsyncEverlastingCacheInterface<Integer, String> vav = new KeelCacheVav<>();
+        vet.replaceAll(entries);
+        he.replaceAll(entries);
+
+        return gimel.replaceAll(entries)
+                .compose(v -> vav.replaceAll(entries))
+                .compose(v -> Keel.getVertx().executeBlocking(() -> {
+                    for (int threads : new int[]{1, 4, 16, 64}) {
+                        long vetOps = measure(threads, i -> vet.read(i));
+                        long heOps = measure(threads, i -> he.read(i));
+                        long gimelOps = measure(threads, i -> gimel.read(i));
+                        long vavOps = measure(threads, i -> vav.read(i));
+                        getLogger().notice(r -> r.message("threads=" + threads + " reads/s:"
+                                + " Vet=" + vetOps + " He=" + heOps
+                                + " Gimel=" + gimelOps + " Vav=" + vavOps));
+                    }
+                    return null;
+                }))
+                .compose(v -> Future.succeededFuture());
+    }
+}
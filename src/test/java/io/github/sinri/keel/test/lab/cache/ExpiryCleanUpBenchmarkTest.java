@@ -0,0 +1,106 @@
+package io.github.sinri.keel.test.lab.cache;
+
+import io.github.sinri.keel.cache.ValueWrapper;
+import io.github.sinri.keel.cache.impl.KeelCacheAlef;
+import io.github.sinri.keel.cache.impl.KeelCacheDalet;
+import io.github.sinri.keel.facade.async.KeelAsyncKit;
+import io.github.sinri.keel.tesuto.KeelTest;
+import io.github.sinri.keel.tesuto.TestUnit;
+import io.vertx.core.Future;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compare the legacy full-scan clean up with the one driven by the expiry timing wheel,
+ * on a cache of one million entries where only a few thousand are expiring;
+ * and check that overwritten or evicted entries are not retained by the wheel when no clean up runs.
+ */
+public class ExpiryCleanUpBenchmarkTest extends KeelTest {
+    private static final int LONG_LIVED = 1_000_000;
+    private static final int SHORT_LIVED = 5_000;
+
+    private static <K, V> void legacyCleanUp(ConcurrentMap<K, ValueWrapper<V>> map) {
+        map.keySet().forEach(key -> {
+            ValueWrapper<V> vw = map.get(key);
+            if (vw != null) {
+                if (!vw.isAliveNow()) {
+                    map.remove(key, vw);
+                }
+            }
+        });
+    }
+
+    @TestUnit
+    public Future<Void> compareCleanUp() {
+        ConcurrentMap<Integer, ValueWrapper<String>> legacyMap = new ConcurrentHashMap<>();
+        KeelCacheAlef<Integer, String> cache = new KeelCacheAlef<>();
+        for (int i = 0; i < LONG_LIVED; i++) {
+            legacyMap.put(i, new ValueWrapper<>("v", 3600));
+            cache.save(i, "v", 3600);
+        }
+        for (int i = LONG_LIVED; i < LONG_LIVED + SHORT_LIVED; i++) {
+            legacyMap.put(i, new ValueWrapper<>("v", 1));
+            cache.save(i, "v", 1);
+        }
+
+        return KeelAsyncKit.sleep(2100L)
+                .compose(slept -> {
+                    long t0 = System.nanoTime();
+                    legacyCleanUp(legacyMap);
+                    long t1 = System.nanoTime();
+                    cache.cleanUp();
+                    long t2 = System.nanoTime();
+                    getLogger().notice(r -> r.message("first round with " + SHORT_LIVED + " expiring: legacy scan "
+                            + (t1 - t0) / 1000 + " μs, timing wheel " + (t2 - t1) / 1000 + " μs"));
+
+                    long t3 = System.nanoTime();
+                    for (int i = 0; i < 10; i++) {
+                        legacyCleanUp(legacyMap);
+                    }
+                    long t4 = System.nanoTime();
+                    for (int i = 0; i < 10; i++) {
+                        cache.cleanUp();
+                    }
+                    long t5 = System.nanoTime();
+                    getLogger().notice(r -> r.message("10 idle rounds: legacy scan "
+                            + (t4 - t3) / 1000 + " μs, timing wheel " + (t5 - t4) / 1000 + " μs"));
+
+                    if (legacyMap.size() != LONG_LIVED || cache.getSnapshotMap().size() != LONG_LIVED) {
+                        return Future.failedFuture("size mismatched after clean up");
+                    }
+                    return Future.succeededFuture();
+                });
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @TestUnit
+    public Future<Void> retentionWithoutCleanUp() {
+        long before = usedHeap();
+        KeelCacheAlef<String, byte[]> alef = new KeelCacheAlef<>();
+        for (int i = 0; i < 200_000; i++) {
+            alef.save("one", new byte[1024], 3600);
+        }
+        long alefRetained = usedHeap() - before;
+
+        before = usedHeap();
+        KeelCacheDalet<Integer, byte[]> dalet = new KeelCacheDalet<>(100);
+        for (int i = 0; i < 200_000; i++) {
+            dalet.save(i, new byte[1024], 3600);
+        }
+        long daletRetained = usedHeap() - before;
+
+        getLogger().notice(r -> r.message("retained without clean up: one Alef key saved 200k times "
+                + alefRetained / 1024 + " KB (" + alef.getSnapshotMap().size() + " kept), Dalet of 100 entries after 200k saves "
+                + daletRetained / 1024 + " KB (" + dalet.estimatedSize() + " kept)"));
+        if (alefRetained > 16 * 1024 * 1024 || daletRetained > 16 * 1024 * 1024) {
+            return Future.failedFuture("overwritten or evicted entries retained");
+        }
+        return Future.succeededFuture();
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.sinri.keel.test.lab.cache;
+
+import io.github.sinri.keel.cache.KeelCacheInterface;
+import io.github.sinri.keel.cache.impl.KeelCacheDalet;
+import io.github.sinri.keel.facade.async.KeelAsyncKit;
+import io.github.sinri.keel.tesuto.KeelTest;
+import io.github.sinri.keel.tesuto.TestUnit;
+import io.vertx.core.Future;
+
+public class KeelCacheDaletTest extends KeelTest {
+    @TestUnit
+    public Future<Void> testSizeBound() {
+        KeelCacheDalet<Integer, String> cache = new KeelCacheDalet<>(1000);
+        for (int i = 0; i < 100_000; i++) {
+            cache.save(i, "v" + i, 60);
+        }
+        getLogger().info(r -> r.message("after 100k saves, size: " + cache.estimatedSize()));
+        if (cache.estimatedSize() > 1000) {
+            return Future.failedFuture("size exceeded: " + cache.estimatedSize());
+        }
+        return Future.succeededFuture();
+    }
+
+    @TestUnit
+    public Future<Void> testHotKeysSurvive() {
+        KeelCacheDalet<Integer, String> cache = new KeelCacheDalet<>(1000);
+        for (int i = 0; i < 100; i++) {
+            cache.save(i, "hot" + i, 60);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 100; i++) {
+                cache.read(i);
+            }
+        }
+        // a scan of one-hit keys should not flush the frequently read ones
+        for (int i = 1000; i < 50_000; i++) {
+            cache.save(i, "cold" + i, 60);
+        }
+        int survived = 0;
+        for (int i = 0; i < 100; i++) {
+            if (cache.read(i) != null) survived++;
+        }
+        int finalSurvived = survived;
+        getLogger().info(r -> r.message("hot keys survived: " + finalSurvived + " / 100"));
+        if (survived < 90) {
+            return Future.failedFuture("too many hot keys evicted");
+        }
+        return Future.succeededFuture();
+    }
+
+    @TestUnit
+    public Future<Void> testWeightBound() {
+        KeelCacheInterface<String, byte[]> cache = KeelCacheInterface.createBoundedInstance(
+                10_000, 1024 * 1024, (key, value) -> value.length
+        );
+        for (int i = 0; i < 1000; i++) {
+            cache.save("k" + i, new byte[10 * 1024], 60);
+        }
+        long weight = ((KeelCacheDalet<String, byte[]>) cache).weightedSize();
+        getLogger().info(r -> r.message("weighted size: " + weight));
+        if (weight > 1024 * 1024) {
+            return Future.failedFuture("weight exceeded: " + weight);
+        }
+        return Future.succeededFuture();
+    }
+
+    @TestUnit
+    public Future<Void> testExpiry() {
+        KeelCacheDalet<String, String> cache = new KeelCacheDalet<>(10);
+        cache.save("a", "A", 0);
+        cache.save("b", "B", 60);
+        if (cache.read("a") != null || !"B".equals(cache.read("b"))) {
+            return Future.failedFuture("expiry not honored");
+        }
+        return KeelAsyncKit.sleep(1100L)
+                .compose(slept -> {
+                    cache.cleanUp();
+                    if (cache.estimatedSize() != 1) {
+                        return Future.failedFuture("clean up not done");
+                    }
+                    return Future.succeededFuture();
+                });
+    }
+}
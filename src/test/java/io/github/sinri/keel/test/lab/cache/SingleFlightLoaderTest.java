@@ -0,0 +1,82 @@
+package io.github.sinri.keel.test.lab.cache;
+
+import io.github.sinri.keel.cache.impl.KeelCacheBet;
+import io.github.sinri.keel.facade.async.KeelAsyncKit;
+import io.github.sinri.keel.tesuto.KeelTest;
+import io.github.sinri.keel.tesuto.TestUnit;
+import io.vertx.core.Future;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class SingleFlightLoaderTest extends KeelTest {
+    @TestUnit
+    public Future<Void> testCoalescing() {
+        KeelCacheBet<String, String> cache = new KeelCacheBet<>();
+        AtomicInteger generated = new AtomicInteger();
+        Function<String, Future<String>> generator = key -> {
+            generated.incrementAndGet();
+            return KeelAsyncKit.sleep(200L).map(slept -> "V-" + key);
+        };
+
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(cache.read("hot", generator, 60));
+        }
+        return Future.all(futures)
+                .compose(all -> {
+                    getLogger().info(r -> r.message("100 concurrent misses, generated " + generated.get() + " time(s)"));
+                    if (generated.get() != 1) {
+                        return Future.failedFuture("not coalesced");
+                    }
+                    return Future.succeededFuture();
+                });
+    }
+
+    @TestUnit
+    public Future<Void> testFailureNotCached() {
+        KeelCacheBet<String, String> cache = new KeelCacheBet<>();
+        AtomicInteger generated = new AtomicInteger();
+        return cache.read("k", key -> {
+                    generated.incrementAndGet();
+                    return Future.failedFuture("db down");
+                }, 60)
+                .compose(v -> Future.failedFuture("should fail"), failure -> cache.read("k", key -> {
+                    generated.incrementAndGet();
+                    return Future.succeededFuture("recovered");
+                }, 60))
+                .compose(v -> {
+                    if (!"recovered".equals(v) || generated.get() != 2) {
+                        return Future.failedFuture("failure was cached");
+                    }
+                    return Future.succeededFuture();
+                });
+    }
+
+    @TestUnit
+    public Future<Void> testRefreshAhead() {
+        KeelCacheBet<String, Integer> cache = new KeelCacheBet<>();
+        cache.getSingleFlightLoader().setRefreshAheadRatio(0.5);
+        AtomicInteger generated = new AtomicInteger();
+        Function<String, Future<Integer>> generator = key -> Future.succeededFuture(generated.incrementAndGet());
+
+        return cache.read("k", generator, 2)
+                .compose(first -> KeelAsyncKit.sleep(1200L))
+                .compose(slept -> cache.read("k", generator, 2))
+                .compose(stale -> {
+                    // the stale value is served, while a background refresh has been done.
+                    if (stale != 1) {
+                        return Future.failedFuture("stale value not served: " + stale);
+                    }
+                    return KeelAsyncKit.sleep(100L).compose(v -> cache.read("k"));
+                })
+                .compose(refreshed -> {
+                    if (refreshed != 2) {
+                        return Future.failedFuture("not refreshed: " + refreshed);
+                    }
+                    return Future.succeededFuture();
+                });
+    }
+}
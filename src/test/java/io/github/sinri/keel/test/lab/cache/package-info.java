@@ -0,0 +1 @@
+package io.github.sinri.keel.test.lab.cache;
\ No newline at end of file
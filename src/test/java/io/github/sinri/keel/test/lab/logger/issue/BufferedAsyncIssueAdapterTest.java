@@ -0,0 +1,92 @@
+package io.github.sinri.keel.test.lab.logger.issue;
+
+import io.github.sinri.keel.facade.async.KeelAsyncKit;
+import io.github.sinri.keel.logger.KeelLogLevel;
+import io.github.sinri.keel.logger.issue.record.KeelIssueRecord;
+import io.github.sinri.keel.logger.issue.recorder.adapter.BufferedAsyncIssueAdapter;
+import io.github.sinri.keel.logger.issue.recorder.render.KeelIssueRecordRender;
+import io.github.sinri.keel.tesuto.KeelTest;
+import io.github.sinri.keel.tesuto.TestUnit;
+import io.vertx.core.Future;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A storm of records into a small buffer drained slowly, under each overflow policy.
+ */
+public class BufferedAsyncIssueAdapterTest extends KeelTest {
+    private static final int RECORDS = 20_000;
+
+    @TestUnit
+    public Future<Void> testOverflowPolicies() {
+        List<BufferedAsyncIssueAdapter.OverflowPolicy> policies = List.of(
+                BufferedAsyncIssueAdapter.OverflowPolicy.block(0),
+                BufferedAsyncIssueAdapter.OverflowPolicy.dropOldest(),
+                BufferedAsyncIssueAdapter.OverflowPolicy.dropBelowLevel(KeelLogLevel.WARNING),
+                BufferedAsyncIssueAdapter.OverflowPolicy.sample(0.1)
+        );
+        return KeelAsyncKit.iterativelyCall(policies, policy -> {
+            SlowAdapter adapter = new SlowAdapter(policy);
+            adapter.start();
+            long start = System.nanoTime();
+            for (int i = 0; i < RECORDS; i++) {
+                adapter.record("storm", new AlefIssueRecord()
+                        .level(i % 10 == 0 ? KeelLogLevel.ERROR : KeelLogLevel.INFO)
+                        .message("record " + i));
+            }
+            long recordCost = System.nanoTime() - start;
+            getLogger().info(r -> r.message(policy + ": " + RECORDS + " recorded in " + recordCost / 1_000_000 + " ms, "
+                    + adapter.getStatistics()));
+            return adapter.gracefullyClose()
+                    .compose(v -> {
+                        getLogger().info(r -> r.message(policy + " closed: " + adapter.getStatistics()
+                                + ", handled " + adapter.handled.get() + " of which errors " + adapter.handledErrors.get()));
+                        return Future.succeededFuture();
+                    });
+        });
+    }
+
+    private static class SlowAdapter extends BufferedAsyncIssueAdapter {
+        private final OverflowPolicy overflowPolicy;
+        private final AtomicLong handled = new AtomicLong(0);
+        private final AtomicLong handledErrors = new AtomicLong(0);
+
+        SlowAdapter(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        @Override
+        protected int bufferCapacity() {
+            return 500;
+        }
+
+        @Override
+        protected int bufferSize() {
+            return 100;
+        }
+
+        @Nonnull
+        @Override
+        protected OverflowPolicy overflowPolicy() {
+            return overflowPolicy;
+        }
+
+        @Override
+        protected Future<Void> handleIssueRecordsForTopic(@Nonnull String topic, @Nonnull List<KeelIssueRecord<?>> buffer) {
+            handled.addAndGet(buffer.size());
+            buffer.forEach(issueRecord -> {
+                if (issueRecord.level() == KeelLogLevel.ERROR) {
+                    handledErrors.incrementAndGet();
+                }
+            });
+            return KeelAsyncKit.sleep(5L);
+        }
+
+        @Override
+        public KeelIssueRecordRender<?> issueRecordRender() {
+            return KeelIssueRecordRender.renderForString();
+        }
+    }
+}
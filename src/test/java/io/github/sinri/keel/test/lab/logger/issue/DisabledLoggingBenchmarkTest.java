@@ -0,0 +1,50 @@
+package io.github.sinri.keel.test.lab.logger.issue;
+
+import io.github.sinri.keel.logger.KeelLogLevel;
+import io.github.sinri.keel.logger.event.KeelEventLogger;
+import io.github.sinri.keel.logger.issue.center.KeelIssueRecordCenter;
+import io.github.sinri.keel.logger.issue.recorder.KeelIssueRecorder;
+import io.github.sinri.keel.tesuto.KeelTest;
+import io.github.sinri.keel.tesuto.TestUnit;
+import io.github.sinri.keel.web.http.receptionist.ReceptionistIssueRecord;
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpMethod;
+
+/**
+ * The cost of the logging hidden by the visible level, in the way of KeelWebReceptionist on each request.
+ */
+public class DisabledLoggingBenchmarkTest extends KeelTest {
+    private static final int ROUNDS = 5;
+    private static final int CALLS = 1_000_000;
+
+    @TestUnit
+    public Future<Void> testHiddenLevels() {
+        KeelIssueRecorder<ReceptionistIssueRecord> issueRecorder = KeelIssueRecordCenter.outputCenter()
+                .generateIssueRecorder(ReceptionistIssueRecord.TopicReceptionist, () -> new ReceptionistIssueRecord("request-id"));
+        issueRecorder.setVisibleLevel(KeelLogLevel.WARNING);
+        KeelEventLogger eventLogger = KeelIssueRecordCenter.outputCenter().generateEventLogger("bench");
+        eventLogger.setVisibleLevel(KeelLogLevel.INFO);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < CALLS; i++) {
+                String path = "/api/" + (i & 15);
+                issueRecorder.info(r -> r.setRequest(HttpMethod.GET, path, DisabledLoggingBenchmarkTest.class, null, null));
+                issueRecorder.info(r -> r.message("SUCCESS, TO RESPOND."));
+            }
+            long recorderCost = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < CALLS; i++) {
+                int x = i;
+                eventLogger.debug("handling", context -> context.put("i", x));
+            }
+            long loggerCost = System.nanoTime() - start;
+
+            int r = round;
+            getLogger().info(log -> log.message("round " + r + ": " + CALLS + " hidden receptionist info pairs in "
+                    + recorderCost / 1_000_000 + " ms, " + CALLS + " hidden event debug in " + loggerCost / 1_000_000 + " ms"));
+        }
+        return Future.succeededFuture();
+    }
+}
@@ -0,0 +1,165 @@
+package io.github.sinri.keel.test.lab.logger.issue;
+
+import io.github.sinri.keel.facade.async.KeelAsyncKit;
+import io.github.sinri.keel.logger.issue.recorder.adapter.LocalFileIssueAdapter;
+import io.github.sinri.keel.tesuto.KeelTest;
+import io.github.sinri.keel.tesuto.TestUnit;
+import io.vertx.core.Future;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Write a million records from plain threads into files rotated by 16 MB, and list the segments.
+ * The producers are held back by the blocking overflow policy instead of losing records.
+ * A record with a lone surrogate should not fail its batch.
+ * A failed rotation should not wedge the topic.
+ */
+public class LocalFileIssueAdapterTest extends KeelTest {
+    private static final int RECORDS = 1_000_000;
+    private static final int PRODUCERS = 4;
+
+    @TestUnit
+    public Future<Void> testWriteAndRotate() throws IOException {
+        Path directory = Files.createTempDirectory("keel-issue-file");
+        LocalFileIssueAdapter adapter = new LocalFileIssueAdapter(directory) {
+            @Override
+            protected long rotateSize() {
+                return 16L * 1024 * 1024;
+            }
+
+            @Nonnull
+            @Override
+            protected OverflowPolicy overflowPolicy() {
+                return OverflowPolicy.block(1000L);
+            }
+        };
+        adapter.start();
+
+        long start = System.nanoTime();
+        return KeelAsyncKit.executeBlocking(promise -> {
+                    Thread[] producers = new Thread[PRODUCERS];
+                    for (int p = 0; p < PRODUCERS; p++) {
+                        int producer = p;
+                        producers[p] = new Thread(() -> {
+                            for (int i = 0; i < RECORDS / PRODUCERS; i++) {
+                                adapter.record("file-test", new AlefIssueRecord().message("record " + producer + "-" + i));
+                            }
+                        });
+                        producers[p].start();
+                    }
+                    try {
+                        for (Thread thread : producers) {
+                            thread.join();
+                        }
+                        promise.complete();
+                    } catch (InterruptedException e) {
+                        promise.fail(e);
+                    }
+                })
+                .compose(v -> adapter.gracefullyClose())
+                .compose(v -> KeelAsyncKit.sleep(1000L))
+                .compose(v -> {
+                    long cost = System.nanoTime() - start;
+                    getLogger().info(r -> r.message(RECORDS + " records written in " + cost / 1_000_000 + " ms: "
+                            + adapter.getStatistics()));
+                    try (Stream<Path> files = Files.list(directory)) {
+                        files.sorted().forEach(path -> {
+                            try {
+                                long size = Files.size(path);
+                                getLogger().info(r -> r.message(path.getFileName() + " " + size));
+                            } catch (IOException e) {
+                                throw new RuntimeException(e);
+                            }
+                        });
+                    } catch (IOException e) {
+                        return Future.failedFuture(e);
+                    }
+                    return Future.succeededFuture();
+                });
+    }
+
+    @TestUnit
+    public Future<Void> testMalformedChars() throws IOException {
+        Path directory = Files.createTempDirectory("keel-issue-file");
+        LocalFileIssueAdapter adapter = new LocalFileIssueAdapter(directory);
+        adapter.start();
+        adapter.record("malformed", new AlefIssueRecord().message("before"));
+        adapter.record("malformed", new AlefIssueRecord().message("truncated emoji \uD83D"));
+        adapter.record("malformed", new AlefIssueRecord().message("after"));
+        return adapter.gracefullyClose()
+                .compose(v -> {
+                    String content;
+                    try {
+                        content = Files.readString(directory.resolve("malformed.log"));
+                    } catch (IOException e) {
+                        return Future.failedFuture(e);
+                    }
+                    getLogger().info(r -> r.message(content.length() + " chars written: " + adapter.getStatistics()));
+                    if (!content.contains("before") || !content.contains("truncated emoji ?") || !content.contains("after")) {
+                        return Future.failedFuture("batch with malformed chars lost");
+                    }
+                    return Future.succeededFuture();
+                });
+    }
+
+    /**
+     * The live file is deleted outside, so moving it for rotation fails;
+     * the later batches should still be written into a reopened file.
+     */
+    @TestUnit
+    public Future<Void> testFailedRotation() throws IOException {
+        Path directory = Files.createTempDirectory("keel-issue-file");
+        Path live = directory.resolve("rotation.log");
+        LocalFileIssueAdapter adapter = new LocalFileIssueAdapter(directory) {
+            @Override
+            protected long rotateSize() {
+                return 1L;
+            }
+
+            @Override
+            protected boolean compressRotated() {
+                return false;
+            }
+
+            @Override
+            protected long maxFlushLatency() {
+                return 50L;
+            }
+        };
+        adapter.start();
+        adapter.record("rotation", new AlefIssueRecord().message("first"));
+        return KeelAsyncKit.sleep(500L)
+                .compose(v -> {
+                    try {
+                        Files.delete(live);
+                    } catch (IOException e) {
+                        return Future.failedFuture(e);
+                    }
+                    adapter.record("rotation", new AlefIssueRecord().message("second"));
+                    return KeelAsyncKit.sleep(500L);
+                })
+                .compose(v -> {
+                    adapter.record("rotation", new AlefIssueRecord().message("third"));
+                    return adapter.gracefullyClose();
+                })
+                .compose(v -> {
+                    StringBuilder content = new StringBuilder();
+                    try (Stream<Path> files = Files.list(directory)) {
+                        for (Path path : (Iterable<Path>) files.sorted()::iterator) {
+                            content.append(Files.readString(path));
+                        }
+                    } catch (IOException e) {
+                        return Future.failedFuture(e);
+                    }
+                    getLogger().info(r -> r.message("after a failed rotation: " + adapter.getStatistics()));
+                    if (!content.toString().contains("second") || !content.toString().contains("third")) {
+                        return Future.failedFuture("records lost after a failed rotation");
+                    }
+                    return Future.succeededFuture();
+                });
+    }
+}
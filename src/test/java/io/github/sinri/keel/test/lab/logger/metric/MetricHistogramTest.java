@@ -0,0 +1,45 @@
+package io.github.sinri.keel.test.lab.logger.metric;
+
+import io.github.sinri.keel.facade.async.KeelAsyncKit;
+import io.github.sinri.keel.logger.metric.KeelMetricHistogram;
+import io.github.sinri.keel.logger.metric.KeelMetricRecord;
+import io.github.sinri.keel.logger.metric.KeelMetricRecorder;
+import io.github.sinri.keel.tesuto.KeelTest;
+import io.github.sinri.keel.tesuto.TestUnit;
+import io.vertx.core.Future;
+
+import java.util.List;
+import java.util.Map;
+
+public class MetricHistogramTest extends KeelTest {
+    @TestUnit
+    public Future<Void> testDrain() {
+        KeelMetricRecorder recorder = new KeelMetricRecorder() {
+            @Override
+            protected Future<Void> handleForTopic(String topic, List<KeelMetricRecord> buffer) {
+                buffer.forEach(metricRecord -> getLogger().info(r -> r.message(topic + " " + metricRecord.toJsonObject())));
+                return Future.succeededFuture();
+            }
+        };
+        recorder.start();
+
+        KeelMetricHistogram histogram = new KeelMetricHistogram();
+        for (int i = 0; i < 1000; i++) {
+            histogram.observe(i % 100);
+        }
+        List<KeelMetricRecord> records = histogram.drain("test", "latency", Map.of("case", "drain"));
+        records.forEach(recorder::recordMetric);
+        if (histogram.drain("test", "latency", Map.of()).size() != 0) {
+            return Future.failedFuture("not reset after drain");
+        }
+        KeelMetricRecord count = records.get(records.size() - 3);
+        if (count.value() != 1000) {
+            return Future.failedFuture("count " + count.value());
+        }
+        return KeelAsyncKit.sleep(1500L)
+                .compose(v -> {
+                    recorder.end();
+                    return Future.succeededFuture();
+                });
+    }
+}
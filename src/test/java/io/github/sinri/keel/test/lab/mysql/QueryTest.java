@@ -1,8 +1,17 @@
 package io.github.sinri.keel.test.lab.mysql;
 
+import io.github.sinri.keel.facade.async.KeelAsyncKit;
+import io.github.sinri.keel.mysql.KeelMySQLDataSourceProvider;
+import io.github.sinri.keel.mysql.matrix.SimpleResultRow;
+import io.github.sinri.keel.mysql.statement.AnyStatement;
+import io.github.sinri.keel.mysql.statement.SelectStatement;
 import io.vertx.core.Future;
 import io.vertx.core.VertxOptions;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static io.github.sinri.keel.facade.KeelInstance.Keel;
 
 public class QueryTest {
@@ -18,4 +27,99 @@ public class QueryTest {
         return Future.succeededFuture();
     }
 
+    /**
+     * Table: {@code CREATE TABLE bulk_test (id INT PRIMARY KEY, name VARCHAR(64), created_at DATETIME)}
+     */
+    private static Future<Void> testBatchWrite() {
+        var dataSource = KeelMySQLDataSourceProvider.initializeDynamicNamedMySQLDataSource(
+                KeelMySQLDataSourceProvider.defaultMySQLDataSourceName()
+        );
+        List<List<Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            rows.add(List.of(i, "name-" + i));
+        }
+        return AnyStatement.replace(statement -> statement
+                        .intoTable("bulk_test")
+                        .columns(List.of("id", "name")))
+                .batchExecutor()
+                .setChunkSize(2000)
+                .setMaxChunksInFlight(4)
+                .writeDataRows(dataSource, rows)
+                .compose(report -> {
+                    System.out.println(report.toJsonObject());
+                    return dataSource.close();
+                });
+    }
+
+    private static Future<Void> testStreamRead() {
+        var dataSource = KeelMySQLDataSourceProvider.initializeDynamicNamedMySQLDataSource(
+                KeelMySQLDataSourceProvider.defaultMySQLDataSourceName()
+        );
+        return dataSource.withTransaction(namedMySQLConnection -> AnyStatement
+                        .select(statement -> statement.from("bulk_test").orderByAsc("id"))
+                        .queryForStream(namedMySQLConnection, SimpleResultRow.class, 1000, batch -> {
+                            System.out.println("batch of " + batch.size() + " from " + batch.get(0).readLong("id"));
+                            return Future.succeededFuture();
+                        }))
+                .compose(total -> {
+                    System.out.println("streamed " + total + " rows");
+                    return dataSource.close();
+                });
+    }
+
+    private static Future<Void> testColumnarRead() {
+        var dataSource = KeelMySQLDataSourceProvider.initializeDynamicNamedMySQLDataSource(
+                KeelMySQLDataSourceProvider.defaultMySQLDataSourceName()
+        );
+        return dataSource.withConnection(namedMySQLConnection -> {
+                    long start = System.nanoTime();
+                    return AnyStatement.select(statement -> statement.from("bulk_test").columnWithAlias("id", "id").columnWithAlias("name", "name"))
+                            .execute(namedMySQLConnection.getSqlConnection())
+                            .compose(resultMatrix -> {
+                                long sum = 0;
+                                for (Long id : resultMatrix.getOneColumnAsLong("id")) {
+                                    sum += id;
+                                }
+                                System.out.println("boxed sum " + sum + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+                                long columnarStart = System.nanoTime();
+                                return AnyStatement.select(statement -> statement.from("bulk_test").columnWithAlias("id", "id").columnWithAlias("name", "name"))
+                                        .queryForColumnarMatrix(namedMySQLConnection)
+                                        .compose(columnarResultMatrix -> {
+                                            System.out.println("columnar sum " + columnarResultMatrix.sumAsLong("id")
+                                                    + " max " + columnarResultMatrix.max("id")
+                                                    + " names " + columnarResultMatrix.groupCount("name").size()
+                                                    + " in " + (System.nanoTime() - columnarStart) / 1_000_000 + " ms");
+                                            return Future.succeededFuture();
+                                        });
+                            });
+                })
+                .compose(v -> dataSource.close());
+    }
+
+    private static Future<Void> testKeysetPagination() {
+        var dataSource = KeelMySQLDataSourceProvider.initializeDynamicNamedMySQLDataSource(
+                KeelMySQLDataSourceProvider.defaultMySQLDataSourceName()
+        );
+        SelectStatement selectStatement = new SelectStatement()
+                .from("bulk_test")
+                .orderByDesc("name")
+                .orderByAsc("id");
+        AtomicReference<List<Object>> cursorRef = new AtomicReference<>();
+        return dataSource.withConnection(namedMySQLConnection -> KeelAsyncKit.repeatedlyCall(routineResult -> {
+                    return selectStatement.queryForKeysetPage(namedMySQLConnection, cursorRef.get(), 1000)
+                            .compose(page -> {
+                                System.out.println("page of " + page.getResultMatrix().getTotalFetchedRows() + " rows, next cursor " + page.getNextCursor());
+                                cursorRef.set(page.getNextCursor());
+                                if (!page.hasNextPage()) {
+                                    routineResult.stop();
+                                }
+                                return Future.succeededFuture();
+                            });
+                }))
+                .compose(v -> selectStatement.queryForPagination(dataSource, 3, 1000))
+                .compose(paginationResult -> {
+                    System.out.println("page 3 of total " + paginationResult.getTotal() + ": " + paginationResult.getResultMatrix().getTotalFetchedRows() + " rows");
+                    return dataSource.close();
+                });
+    }
 }
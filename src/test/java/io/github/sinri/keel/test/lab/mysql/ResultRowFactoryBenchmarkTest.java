@@ -0,0 +1,67 @@
+package io.github.sinri.keel.test.lab.mysql;
+
+import io.github.sinri.keel.mysql.matrix.AbstractTableRow;
+import io.github.sinri.keel.mysql.matrix.ResultRowFactory;
+import io.github.sinri.keel.tesuto.KeelTest;
+import io.github.sinri.keel.tesuto.TestUnit;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compare building 100k table rows by reflection and by the compiled constructor.
+ */
+public class ResultRowFactoryBenchmarkTest extends KeelTest {
+    private static final int ROWS = 100_000;
+
+    @TestUnit
+    public Future<Void> testBuild() throws Exception {
+        List<JsonObject> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new JsonObject().put("id", i).put("name", "n" + i));
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            long sum = 0;
+            for (JsonObject row : rows) {
+                sum += SampleRow.class.getConstructor(JsonObject.class).newInstance(row).id();
+            }
+            long reflection = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Function<JsonObject, SampleRow> constructor = ResultRowFactory.of(SampleRow.class);
+            for (JsonObject row : rows) {
+                sum -= constructor.apply(row).id();
+            }
+            long compiled = System.nanoTime() - start;
+
+            if (sum != 0) {
+                return Future.failedFuture("rows differ");
+            }
+            int r = round;
+            getLogger().info(r2 -> r2.message("round " + r + ": reflection " + reflection / 1000 + " μs, compiled " + compiled / 1000 + " μs"));
+        }
+        return Future.succeededFuture();
+    }
+
+    public static class SampleRow extends AbstractTableRow {
+        public SampleRow(@Nonnull JsonObject tableRow) {
+            super(tableRow);
+        }
+
+        public long id() {
+            return readLong("id");
+        }
+
+        @Nonnull
+        @Override
+        public String sourceTableName() {
+            return "sample";
+        }
+    }
+}
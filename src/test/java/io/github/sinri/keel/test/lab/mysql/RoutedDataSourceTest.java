@@ -0,0 +1,68 @@
+package io.github.sinri.keel.test.lab.mysql;
+
+import io.github.sinri.keel.facade.async.KeelAsyncKit;
+import io.github.sinri.keel.facade.configuration.KeelConfigElement;
+import io.github.sinri.keel.mysql.DynamicNamedMySQLConnection;
+import io.github.sinri.keel.mysql.KeelMySQLConfiguration;
+import io.github.sinri.keel.mysql.RoutedMySQLDataSource;
+import io.github.sinri.keel.mysql.statement.UnionStatement;
+import io.github.sinri.keel.mysql.statement.templated.TemplatedReadStatement;
+import io.github.sinri.keel.tesuto.KeelTest;
+import io.github.sinri.keel.tesuto.TestUnit;
+import io.vertx.core.Future;
+
+import java.util.Objects;
+
+/**
+ * No server is listening on the configured ports; the replicas are expected to be ejected by the health check,
+ * and the reads to fall back to the primary.
+ */
+public class RoutedDataSourceTest extends KeelTest {
+    @TestUnit
+    public Future<Void> testEjection() {
+        KeelConfigElement config = new KeelConfigElement("root").loadPropertiesFileContent(
+                "mysql.routed.host=127.0.0.1\n" +
+                        "mysql.routed.port=1\n" +
+                        "mysql.routed.username=test\n" +
+                        "mysql.routed.password=test\n" +
+                        "mysql.routed.connectionTimeout=500\n" +
+                        "mysql.routed.replicaHealthCheckInterval=200\n" +
+                        "mysql.routed.replicas.r1.port=2\n" +
+                        "mysql.routed.replicas.r2.port=3\n"
+        );
+        var dataSource = new RoutedMySQLDataSource<>(
+                new KeelMySQLConfiguration(Objects.requireNonNull(config.extract("mysql", "routed"))),
+                sqlConnection -> new DynamicNamedMySQLConnection(sqlConnection, "routed")
+        );
+        getLogger().info(r -> r.message("replicas: " + dataSource.getReplicaCount() + ", " + dataSource.getStatistics()));
+        return KeelAsyncKit.sleep(2000L)
+                .compose(v -> {
+                    getLogger().info(r -> r.message("after health check: " + dataSource.getStatistics()));
+                    if (dataSource.getHealthyReplicaCount() != 0) {
+                        return Future.failedFuture("replicas not ejected");
+                    }
+                    return dataSource.withReadConnection(c -> Future.succeededFuture())
+                            .transform(ar -> {
+                                getLogger().info(r -> r.message("read fell back to the primary: " + ar.cause()));
+                                return Future.succeededFuture();
+                            });
+                })
+                .compose(v -> dataSource.close());
+    }
+
+    @TestUnit
+    public Future<Void> testLockingReadsStayOnPrimary() {
+        var plain = new TemplatedReadStatement("select * from t where id = {id}")
+                .bindArguments(m -> m.bindNumber("id", 1));
+        var locking = new TemplatedReadStatement("select * from t where id = {id}\n for  update")
+                .bindArguments(m -> m.bindNumber("id", 1));
+        var sharing = new TemplatedReadStatement("select * from t lock in share mode");
+        var union = new UnionStatement("select 1").union("select id from t for share");
+        getLogger().info(r -> r.message("plain " + plain.isReadOnly() + ", locking " + locking.isReadOnly()
+                + ", sharing " + sharing.isReadOnly() + ", union " + union.isReadOnly()));
+        if (!plain.isReadOnly() || locking.isReadOnly() || sharing.isReadOnly() || union.isReadOnly()) {
+            return Future.failedFuture("locking reads not detected");
+        }
+        return Future.succeededFuture();
+    }
+}
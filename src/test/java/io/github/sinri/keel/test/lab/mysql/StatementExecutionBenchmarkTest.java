@@ -0,0 +1,97 @@
+package io.github.sinri.keel.test.lab.mysql;
+
+import io.github.sinri.keel.mysql.statement.SelectStatement;
+import io.github.sinri.keel.tesuto.KeelTest;
+import io.github.sinri.keel.tesuto.TestUnit;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.PreparedQuery;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowIterator;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlConnection;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Build and execute SelectStatement against a stub connection returning empty row sets,
+ * to measure the overhead out of the database with the silent audit recorder.
+ */
+public class StatementExecutionBenchmarkTest extends KeelTest {
+    private static final int ROUNDS = 5;
+    private static final int STATEMENTS = 200_000;
+
+    @SuppressWarnings("unchecked")
+    private static SqlConnection stubConnection() {
+        RowIterator<Row> emptyIterator = (RowIterator<Row>) Proxy.newProxyInstance(
+                RowIterator.class.getClassLoader(), new Class[]{RowIterator.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("hasNext")) return false;
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        RowSet<Row> emptyRowSet = (RowSet<Row>) Proxy.newProxyInstance(
+                RowSet.class.getClassLoader(), new Class[]{RowSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "iterator":
+                            return emptyIterator;
+                        case "size":
+                        case "rowCount":
+                            return 0;
+                        case "property":
+                            return null;
+                        case "columnsNames":
+                        case "columnDescriptors":
+                            return List.of();
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        PreparedQuery<RowSet<Row>> preparedQuery = (PreparedQuery<RowSet<Row>>) Proxy.newProxyInstance(
+                PreparedQuery.class.getClassLoader(), new Class[]{PreparedQuery.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("execute") && args != null && args.length == 1) {
+                        return Future.succeededFuture(emptyRowSet);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        return (SqlConnection) Proxy.newProxyInstance(
+                SqlConnection.class.getClassLoader(), new Class[]{SqlConnection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("preparedQuery") && args != null && args.length == 1) {
+                        return preparedQuery;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @TestUnit
+    public Future<Void> testBuildAndExecute() {
+        SqlConnection sqlConnection = stubConnection();
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < STATEMENTS; i++) {
+                UUID.randomUUID().toString();
+            }
+            long uuidCost = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < STATEMENTS; i++) {
+                long id = i;
+                new SelectStatement()
+                        .from("orders")
+                        .where(conditions -> conditions.expressionEqualsNumericValue("id", id))
+                        .limit(10)
+                        .execute(sqlConnection);
+            }
+            long executeCost = System.nanoTime() - start;
+
+            int r = round;
+            getLogger().info(log -> log.message("round " + r + ": " + STATEMENTS + " statements built and executed in "
+                    + executeCost / 1_000_000 + " ms; "
+                    + STATEMENTS + " random UUIDs alone in " + uuidCost / 1_000_000 + " ms"));
+        }
+        return Future.succeededFuture();
+    }
+}
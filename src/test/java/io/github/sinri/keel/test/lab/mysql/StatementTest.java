@@ -1,6 +1,10 @@
 package io.github.sinri.keel.test.lab.mysql;
 
+import io.github.sinri.keel.mysql.condition.CompareCondition;
+import io.github.sinri.keel.mysql.condition.RawCondition;
+import io.github.sinri.keel.mysql.statement.AnyStatement;
 import io.github.sinri.keel.mysql.statement.UpdateStatement;
+import io.github.sinri.keel.mysql.statement.WriteIntoStatement;
 import io.github.sinri.keel.mysql.statement.component.CaseOperator;
 import io.github.sinri.keel.mysql.statement.component.CaseOperatorPair;
 import io.github.sinri.keel.mysql.statement.component.UpdateSetAssignmentComponent;
@@ -8,6 +12,7 @@ import io.github.sinri.keel.tesuto.KeelTest;
 import io.github.sinri.keel.tesuto.TestUnit;
 import io.github.sinri.keel.tesuto.TestUnitResult;
 import io.vertx.core.Future;
+import io.vertx.sqlclient.Tuple;
 
 import javax.annotation.Nonnull;
 import java.util.List;
@@ -51,4 +56,55 @@ public class StatementTest extends KeelTest {
         System.out.println(sql);
         return Future.succeededFuture();
     }
+
+    @TestUnit
+    public Future<Void> testParameterizedStatements() {
+        var select = AnyStatement.select(statement -> statement
+                .from("t")
+                .where(conditionsComponent -> conditionsComponent
+                        .expressionEqualsLiteralValue("a", "b'c")
+                        .expressionAmongNumericValues("id", List.of(1, 2, 3))
+                        .comparison(compareCondition -> compareCondition.compareExpression("name").contains("50%_off"))
+                        .union(groupCondition -> groupCondition
+                                .add(new CompareCondition().expressionEqualsNumericValue("x", 9))
+                                .add(new RawCondition("y IS NULL"))
+                        )
+                )
+                .limit(10)
+        );
+        Tuple selectParameters = Tuple.tuple();
+        String selectSql = select.toParameterizedString(selectParameters);
+        getLogger().info(r -> r.message("inline: " + select));
+        getLogger().info(r -> r.message("parameterized: " + selectSql + " with " + selectParameters.deepToString()));
+        if (selectParameters.size() != 6 || selectSql.contains("b\\'c")) {
+            return Future.failedFuture("select not parameterized");
+        }
+
+        var insert = AnyStatement.insert(statement -> statement
+                .intoTable("t")
+                .macroWriteRows(List.of(
+                        new WriteIntoStatement.RowToWrite().put("a", "x'y").put("b", 1).putNow("c"),
+                        new WriteIntoStatement.RowToWrite().put("a", "z").put("b", null).putNow("c")
+                ))
+        );
+        Tuple insertParameters = Tuple.tuple();
+        String insertSql = insert.toParameterizedString(insertParameters);
+        getLogger().info(r -> r.message("parameterized: " + insertSql + " with " + insertParameters.deepToString()));
+        if (insertParameters.size() != 3) {
+            return Future.failedFuture("insert not parameterized");
+        }
+
+        var update = new UpdateStatement()
+                .table("t")
+                .setWithValue("a", "v")
+                .setWithExpression("b", "now()")
+                .where(conditionsComponent -> conditionsComponent.expressionEqualsNumericValue("id", 7));
+        Tuple updateParameters = Tuple.tuple();
+        String updateSql = update.toParameterizedString(updateParameters);
+        getLogger().info(r -> r.message("parameterized: " + updateSql + " with " + updateParameters.deepToString()));
+        if (updateParameters.size() != 2) {
+            return Future.failedFuture("update not parameterized");
+        }
+        return Future.succeededFuture();
+    }
 }
@@ -1,7 +1,10 @@
 package io.github.sinri.keel.test.lab.mysql;
 
+import io.github.sinri.keel.mysql.statement.templated.TemplatedReadStatement;
 import io.github.sinri.keel.mysql.statement.templated.TemplatedStatement;
 
+import io.vertx.sqlclient.Tuple;
+
 import java.util.List;
 
 public class TemplateTest {
@@ -19,5 +22,30 @@ public class TemplateTest {
         );
         System.out.println("BUILT");
         System.out.println(readStatement);
+
+        Tuple parameters = Tuple.tuple();
+        System.out.println("PARAMETERIZED");
+        System.out.println(readStatement.toParameterizedString(parameters));
+        System.out.println(parameters.deepToString());
+
+        var namedStatement = new TemplatedReadStatement("select * from t where a = {名称} and b = {ns:key} and c = '{\"k\":1}'");
+        namedStatement.bindArguments(templateArgumentMapping -> templateArgumentMapping
+                .bindString("名称", "x")
+                .bindNumber("ns:key", 1)
+        );
+        System.out.println("NAMED");
+        System.out.println(namedStatement);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 100_000; i++) {
+            TemplatedStatement.loadTemplateToRead("SqlTemplate/read-1.sql")
+                    .bindArguments(templateArgumentMapping -> templateArgumentMapping
+                            .bindExpression("p_expression", "Martin")
+                            .bindString("p_string", "x")
+                            .bindNumbers("p_array_if_int", List.of(5, 6))
+                    )
+                    .toString();
+        }
+        System.out.println("100k loads and builds in " + (System.nanoTime() - start) / 1_000_000 + " ms");
     }
 }
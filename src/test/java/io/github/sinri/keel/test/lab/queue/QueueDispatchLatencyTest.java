@@ -0,0 +1,155 @@
+package io.github.sinri.keel.test.lab.queue;
+
+import io.github.sinri.keel.facade.async.KeelAsyncKit;
+import io.github.sinri.keel.logger.issue.center.KeelIssueRecordCenter;
+import io.github.sinri.keel.logger.issue.recorder.KeelIssueRecorder;
+import io.github.sinri.keel.servant.queue.*;
+import io.github.sinri.keel.tesuto.KeelTest;
+import io.github.sinri.keel.tesuto.TestUnit;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tasks of 20 ms through a queue of 2 workers: the pickup latency after a worker ends,
+ * the seeks while idle, and the pickup latency of a task notified while idle.
+ */
+public class QueueDispatchLatencyTest extends KeelTest {
+    private static final String ADDRESS = "QueueDispatchLatencyTest";
+    private static final int TASKS = 50;
+
+    private final Queue<LatencyTask> pendingTasks = new ConcurrentLinkedQueue<>();
+    private final List<Long> pickupLatencies = new CopyOnWriteArrayList<>();
+    private final AtomicInteger seekCounter = new AtomicInteger(0);
+    private final AtomicInteger doneCounter = new AtomicInteger(0);
+    /**
+     * When a worker slot was freed last; the pickup latency counts from it if later than the task is ready.
+     */
+    private final AtomicLong lastEndAt = new AtomicLong(0);
+
+    @TestUnit
+    public Future<Void> testDispatch() {
+        LatencyQueue queue = new LatencyQueue();
+        return queue.deployMe(new DeploymentOptions())
+                .compose(deploymentId -> {
+                    for (int i = 0; i < TASKS; i++) {
+                        pendingTasks.add(new LatencyTask("task-" + i));
+                    }
+                    KeelQueue.notifyNewTasks(ADDRESS);
+                    long start = System.currentTimeMillis();
+                    return KeelAsyncKit.repeatedlyCall(routineResult -> {
+                                if (doneCounter.get() >= TASKS) {
+                                    routineResult.stop();
+                                    return Future.succeededFuture();
+                                }
+                                return KeelAsyncKit.sleep(5L);
+                            })
+                            .compose(v -> {
+                                long cost = System.currentTimeMillis() - start;
+                                getLogger().info(r -> r.message(TASKS + " tasks of 20 ms by 2 workers done in " + cost + " ms, "
+                                        + "pickup latency max " + pickupLatencies.stream().mapToLong(x -> x).max().orElse(0)
+                                        + " ms, average " + pickupLatencies.stream().mapToLong(x -> x).average().orElse(0) + " ms"));
+                                int seeksBefore = seekCounter.get();
+                                return KeelAsyncKit.sleep(3000L).compose(slept -> {
+                                    getLogger().info(r -> r.message("seeks while idle for 3 s: " + (seekCounter.get() - seeksBefore)));
+                                    pickupLatencies.clear();
+                                    pendingTasks.add(new LatencyTask("task-notified"));
+                                    KeelQueue.notifyNewTasks(ADDRESS);
+                                    return KeelAsyncKit.sleep(500L);
+                                });
+                            })
+                            .compose(v -> {
+                                getLogger().info(r -> r.message("pickup latency of the task notified while idle: " + pickupLatencies + " ms"));
+                                return queue.undeployMe();
+                            });
+                });
+    }
+
+    private class LatencyQueue extends KeelQueue {
+        @Nonnull
+        @Override
+        protected KeelQueueNextTaskSeeker getNextTaskSeeker() {
+            return new KeelQueueNextTaskSeeker() {
+                @Override
+                public Future<KeelQueueTask> get() {
+                    seekCounter.incrementAndGet();
+                    return Future.succeededFuture(pendingTasks.poll());
+                }
+
+                @Override
+                public long waitingMs() {
+                    return 2000L;
+                }
+            };
+        }
+
+        @Nonnull
+        @Override
+        protected SignalReader getSignalReader() {
+            return () -> Future.succeededFuture(QueueSignal.RUN);
+        }
+
+        @Nonnull
+        @Override
+        protected QueueWorkerPoolManager getQueueWorkerPoolManager() {
+            return new QueueWorkerPoolManager(2);
+        }
+
+        @Override
+        protected String getTaskNotificationAddress() {
+            return ADDRESS;
+        }
+
+        @Nonnull
+        @Override
+        protected KeelIssueRecorder<QueueManageIssueRecord> buildIssueRecorder() {
+            return KeelIssueRecordCenter.silentCenter().generateIssueRecorder(QueueManageIssueRecord.TopicQueue, QueueManageIssueRecord::new);
+        }
+    }
+
+    private class LatencyTask extends KeelQueueTask {
+        private final String id;
+        private final long readyAt;
+
+        LatencyTask(String id) {
+            this.id = id;
+            this.readyAt = System.currentTimeMillis();
+        }
+
+        @Nonnull
+        @Override
+        public String getTaskReference() {
+            return id;
+        }
+
+        @Nonnull
+        @Override
+        public String getTaskCategory() {
+            return "LATENCY";
+        }
+
+        @Override
+        protected Future<Void> run() {
+            pickupLatencies.add(System.currentTimeMillis() - Math.max(readyAt, lastEndAt.get()));
+            return KeelAsyncKit.sleep(20L).andThen(ar -> doneCounter.incrementAndGet());
+        }
+
+        @Override
+        protected void notifyBeforeUndeploy() {
+            lastEndAt.set(System.currentTimeMillis());
+        }
+
+        @Nonnull
+        @Override
+        protected KeelIssueRecorder<QueueTaskIssueRecord> buildIssueRecorder() {
+            return KeelIssueRecordCenter.silentCenter().generateIssueRecorder(QueueTaskIssueRecord.TopicQueue, () -> new QueueTaskIssueRecord(getTaskReference(), getTaskCategory()));
+        }
+    }
+}
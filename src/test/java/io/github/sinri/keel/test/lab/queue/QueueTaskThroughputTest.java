@@ -0,0 +1,221 @@
+package io.github.sinri.keel.test.lab.queue;
+
+import io.github.sinri.keel.facade.async.KeelAsyncKit;
+import io.github.sinri.keel.logger.issue.center.KeelIssueRecordCenter;
+import io.github.sinri.keel.logger.issue.recorder.KeelIssueRecorder;
+import io.github.sinri.keel.servant.queue.*;
+import io.github.sinri.keel.tesuto.KeelTest;
+import io.github.sinri.keel.tesuto.TestUnit;
+import io.vertx.core.Context;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Trivial tasks through a queue of 16 workers, deployed as verticles or run in the pool;
+ * and the blocking calls via {@link KeelAsyncKit#executeBlocking(io.vertx.core.Handler)}.
+ */
+public class QueueTaskThroughputTest extends KeelTest {
+    private static final String ADDRESS = "QueueTaskThroughputTest";
+    private static final int TASKS = 5_000;
+    private static final int BLOCKING_CALLS = 5_000;
+
+    private final Queue<TrivialTask> pendingTasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger doneCounter = new AtomicInteger(0);
+    private final AtomicInteger seekCounter = new AtomicInteger(0);
+    private final AtomicInteger hookOnEventLoopCounter = new AtomicInteger(0);
+
+    @TestUnit
+    public Future<Void> testTaskThroughput() {
+        return KeelAsyncKit.iterativelyCall(
+                List.of(KeelQueue.TaskExecutionMode.VERTICLE, KeelQueue.TaskExecutionMode.POOLED),
+                mode -> {
+                    doneCounter.set(0);
+                    hookOnEventLoopCounter.set(0);
+                    ThroughputQueue queue = new ThroughputQueue(mode);
+                    return queue.deployMe(new DeploymentOptions())
+                            .compose(deploymentId -> {
+                                for (int i = 0; i < TASKS; i++) {
+                                    pendingTasks.add(new TrivialTask("task-" + i));
+                                }
+                                long start = System.nanoTime();
+                                KeelQueue.notifyNewTasks(ADDRESS);
+                                return KeelAsyncKit.repeatedlyCall(routineResult -> {
+                                            if (doneCounter.get() >= TASKS) {
+                                                routineResult.stop();
+                                                return Future.succeededFuture();
+                                            }
+                                            return KeelAsyncKit.sleep(5L);
+                                        })
+                                        .compose(v -> {
+                                            long cost = System.nanoTime() - start;
+                                            getLogger().info(r -> r.message(mode + ": " + TASKS + " tasks in " + cost / 1_000_000 + " ms, "
+                                                    + (TASKS * 1_000_000_000L / cost) + " tasks/s, "
+                                                    + hookOnEventLoopCounter.get() + " hooks on event loop"));
+                                            if (hookOnEventLoopCounter.get() > 0) {
+                                                return Future.failedFuture("notifyBeforeUndeploy ran on the event loop");
+                                            }
+                                            return queue.undeployMe();
+                                        });
+                            });
+                });
+    }
+
+    /**
+     * Once undeployed, the queue should seek no more, so that no task is claimed while its pool is closed.
+     */
+    @TestUnit
+    public Future<Void> testNoSeekAfterStop() {
+        ThroughputQueue queue = new ThroughputQueue(KeelQueue.TaskExecutionMode.POOLED);
+        return queue.deployMe(new DeploymentOptions())
+                .compose(deploymentId -> KeelAsyncKit.sleep(100L))
+                .compose(v -> {
+                    getLogger().info(r -> r.message("task worker pool size for unlimited workers: "
+                            + queue.getTaskWorkerPoolSize(new QueueWorkerPoolManager(0))));
+                    return queue.undeployMe();
+                })
+                .compose(v -> {
+                    seekCounter.set(0);
+                    pendingTasks.clear();
+                    pendingTasks.add(new TrivialTask("after-stop"));
+                    KeelQueue.notifyNewTasks(ADDRESS);
+                    return KeelAsyncKit.sleep(500L);
+                })
+                .compose(v -> {
+                    getLogger().info(r -> r.message("seeks after stop: " + seekCounter.get() + ", pending: " + pendingTasks.size()));
+                    if (seekCounter.get() != 0 || pendingTasks.size() != 1) {
+                        return Future.failedFuture("the stopped queue still seeks");
+                    }
+                    pendingTasks.clear();
+                    return Future.succeededFuture();
+                });
+    }
+
+    @TestUnit
+    public Future<Void> testExecuteBlocking() {
+        long start = System.nanoTime();
+        return KeelAsyncKit.parallelForAllSuccess(
+                        IntStream.range(0, BLOCKING_CALLS).boxed().collect(Collectors.toList()),
+                        64,
+                        i -> KeelAsyncKit.<Void>executeBlocking(promise -> promise.complete())
+                )
+                .compose(v -> {
+                    long cost = System.nanoTime() - start;
+                    getLogger().info(r -> r.message(BLOCKING_CALLS + " executeBlocking calls in " + cost / 1_000_000 + " ms"));
+                    return Future.succeededFuture();
+                });
+    }
+
+    /**
+     * The callbacks chained inside the handler should resume on a worker thread, as in a worker verticle.
+     */
+    @TestUnit
+    public Future<Void> testExecuteBlockingContinuation() {
+        return KeelAsyncKit.<Boolean>executeBlocking(promise -> KeelAsyncKit.sleep(10L)
+                        .onComplete(ar -> promise.complete(Context.isOnWorkerThread())))
+                .compose(onWorkerThread -> {
+                    getLogger().info(r -> r.message("continuation inside executeBlocking on worker thread: " + onWorkerThread));
+                    if (!onWorkerThread) {
+                        return Future.failedFuture("continuation left the worker context");
+                    }
+                    return Future.succeededFuture();
+                });
+    }
+
+    private class ThroughputQueue extends KeelQueue {
+        private final TaskExecutionMode taskExecutionMode;
+
+        ThroughputQueue(TaskExecutionMode taskExecutionMode) {
+            this.taskExecutionMode = taskExecutionMode;
+        }
+
+        @Nonnull
+        @Override
+        protected TaskExecutionMode getTaskExecutionMode() {
+            return taskExecutionMode;
+        }
+
+        @Nonnull
+        @Override
+        protected KeelQueueNextTaskSeeker getNextTaskSeeker() {
+            return () -> {
+                seekCounter.incrementAndGet();
+                return Future.succeededFuture(pendingTasks.poll());
+            };
+        }
+
+        @Nonnull
+        @Override
+        protected SignalReader getSignalReader() {
+            return () -> Future.succeededFuture(QueueSignal.RUN);
+        }
+
+        @Nonnull
+        @Override
+        protected QueueWorkerPoolManager getQueueWorkerPoolManager() {
+            return new QueueWorkerPoolManager(16);
+        }
+
+        @Override
+        protected int getTaskWorkerPoolSize(@Nonnull QueueWorkerPoolManager queueWorkerPoolManager) {
+            return super.getTaskWorkerPoolSize(queueWorkerPoolManager);
+        }
+
+        @Override
+        protected String getTaskNotificationAddress() {
+            return ADDRESS;
+        }
+
+        @Nonnull
+        @Override
+        protected KeelIssueRecorder<QueueManageIssueRecord> buildIssueRecorder() {
+            return KeelIssueRecordCenter.silentCenter().generateIssueRecorder(QueueManageIssueRecord.TopicQueue, QueueManageIssueRecord::new);
+        }
+    }
+
+    private class TrivialTask extends KeelQueueTask {
+        private final String id;
+
+        TrivialTask(String id) {
+            this.id = id;
+        }
+
+        @Nonnull
+        @Override
+        public String getTaskReference() {
+            return id;
+        }
+
+        @Nonnull
+        @Override
+        public String getTaskCategory() {
+            return "TRIVIAL";
+        }
+
+        @Override
+        protected Future<Void> run() {
+            return Future.succeededFuture();
+        }
+
+        @Override
+        protected void notifyBeforeUndeploy() {
+            if (Context.isOnEventLoopThread()) {
+                hookOnEventLoopCounter.incrementAndGet();
+            }
+            doneCounter.incrementAndGet();
+        }
+
+        @Nonnull
+        @Override
+        protected KeelIssueRecorder<QueueTaskIssueRecord> buildIssueRecorder() {
+            return KeelIssueRecordCenter.silentCenter().generateIssueRecorder(QueueTaskIssueRecord.TopicQueue, () -> new QueueTaskIssueRecord(getTaskReference(), getTaskCategory()));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.sinri.keel.test.lab.redis;
+
+import io.github.sinri.keel.cache.impl.KeelCacheBet;
+import io.github.sinri.keel.facade.async.KeelAsyncKit;
+import io.github.sinri.keel.redis.KeelAsyncNearCacheWithRedis;
+import io.github.sinri.keel.tesuto.KeelTest;
+import io.github.sinri.keel.tesuto.TestUnit;
+import io.vertx.core.Future;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Two near caches in front of one stand-in remote cache, as two nodes sharing one Redis.
+ */
+public class NearCacheTest extends KeelTest {
+    @TestUnit
+    public Future<Void> testInvalidation() {
+        KeelCacheBet<String, String> standInRedis = new KeelCacheBet<>();
+        String address = "NearCacheTest";
+        KeelAsyncNearCacheWithRedis nodeA = new KeelAsyncNearCacheWithRedis(standInRedis, address, 1000, 60);
+        KeelAsyncNearCacheWithRedis nodeB = new KeelAsyncNearCacheWithRedis(standInRedis, address, 1000, 60);
+
+        return nodeA.save("k", "v1", 60)
+                .compose(saved -> nodeB.read("k"))
+                .compose(v -> {
+                    if (!"v1".equals(v)) return Future.<String>failedFuture("B read " + v);
+                    // now in L1 of B
+                    return nodeB.read("k");
+                })
+                .compose(v -> {
+                    if (nodeB.getLocalStatistics().getHitCount() != 1) {
+                        return Future.<Void>failedFuture("B L1 not hit");
+                    }
+                    return nodeA.save("k", "v2", 60);
+                })
+                .compose(saved -> KeelAsyncKit.sleep(100L))
+                .compose(slept -> nodeB.read("k"))
+                .compose(v -> {
+                    getLogger().info(r -> r.message("B after invalidation: " + v
+                            + " L1=" + nodeB.getLocalStatistics().toJsonObject()
+                            + " L2=" + nodeB.getRemoteStatistics().toJsonObject()));
+                    if (!"v2".equals(v)) return Future.<Void>failedFuture("B read stale " + v);
+                    return Future.<Void>succeededFuture();
+                })
+                .eventually(() -> nodeA.close().compose(v -> nodeB.close()));
+    }
+
+    /**
+     * A reading of L2 in flight when the key is invalidated should not put the stale value into L1.
+     */
+    @TestUnit
+    public Future<Void> testInvalidationDuringRemoteRead() {
+        KeelCacheBet<String, String> standInRedis = new KeelCacheBet<>() {
+            @Override
+            public Future<String> read(@Nonnull String key) {
+                // the value as read now, returned a while later
+                return super.read(key).compose(value -> KeelAsyncKit.sleep(200L).map(slept -> value));
+            }
+        };
+        String address = "NearCacheTest-InFlight";
+        KeelAsyncNearCacheWithRedis nodeA = new KeelAsyncNearCacheWithRedis(standInRedis, address, 1000, 60);
+        KeelAsyncNearCacheWithRedis nodeB = new KeelAsyncNearCacheWithRedis(standInRedis, address, 1000, 60);
+
+        return standInRedis.save("k", "v1", 60)
+                .compose(saved -> {
+                    Future<String> inFlight = nodeB.read("k");
+                    return KeelAsyncKit.sleep(50L)
+                            .compose(slept -> nodeA.save("k", "v2", 60))
+                            .compose(saved2 -> inFlight);
+                })
+                .compose(v -> {
+                    getLogger().info(r -> r.message("B read in flight: " + v));
+                    return nodeB.read("k");
+                })
+                .compose(v -> {
+                    getLogger().info(r -> r.message("B read after: " + v));
+                    if (!"v2".equals(v)) return Future.<Void>failedFuture("B kept stale " + v);
+                    return Future.<Void>succeededFuture();
+                })
+                .eventually(() -> nodeA.close().compose(v -> nodeB.close()));
+    }
+}
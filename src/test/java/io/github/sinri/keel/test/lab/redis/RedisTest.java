@@ -1,13 +1,13 @@
 package io.github.sinri.keel.test.lab.redis;
 
 import io.github.sinri.keel.facade.async.KeelAsyncKit;
+import io.github.sinri.keel.redis.KeelAsyncCacheWithRedis;
 import io.github.sinri.keel.redis.RedisKit;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.VertxOptions;
 
-import java.util.Date;
-import java.util.List;
+import java.util.*;
 
 import static io.github.sinri.keel.facade.KeelInstance.Keel;
 
@@ -54,6 +54,42 @@ public class RedisTest {
                 });
     }
 
+    private static Future<Void> t3() {
+        KeelAsyncCacheWithRedis cache = new KeelAsyncCacheWithRedis("test");
+        Map<String, String> entries = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            entries.put("bulk-" + i, "value-" + i);
+        }
+        long start = System.currentTimeMillis();
+        return cache.saveAll(entries, 60)
+                .compose(saved -> {
+                    System.out.println("saved 1000 keys in " + (System.currentTimeMillis() - start) + " ms");
+                    List<String> keys = new ArrayList<>(entries.keySet());
+                    keys.add("bulk-not-existed");
+                    return cache.readAll(keys);
+                })
+                .compose(map -> {
+                    System.out.println("read " + map.size() + " keys in " + (System.currentTimeMillis() - start) + " ms since start");
+                    return Future.succeededFuture();
+                });
+    }
+
+    /**
+     * Run with {@code redis.test.poolMode=pooled} to watch the pool.
+     */
+    private static Future<Void> t4(RedisKit kit) {
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(kit.getString("pool-" + i));
+        }
+        System.out.println("while running: " + kit.getConnectionStatistics());
+        return Future.all(futures)
+                .compose(all -> {
+                    System.out.println("after all: " + kit.getConnectionStatistics());
+                    return Future.succeededFuture();
+                });
+    }
+
     private static Future<Void> t1(RedisKit kit) {
         String key = "test1";
 